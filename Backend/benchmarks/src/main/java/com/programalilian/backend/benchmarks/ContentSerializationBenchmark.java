@@ -0,0 +1,55 @@
+package com.programalilian.backend.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.programalilian.backend.domain.Content;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Jackson serialization of content lists as the content endpoints
+ * return them. Image bytes are write-only, so items with and without images
+ * should cost the same.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentSerializationBenchmark {
+
+    @Param({ "10", "100" })
+    private int count;
+
+    /** Bytes per image; 0 leaves imageData null. */
+    @Param({ "0", "200000" })
+    private int imageBytes;
+
+    private ObjectMapper objectMapper;
+    private List<Content> contents;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the ObjectMapper Spring Boot configures for MVC
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        contents = Fixtures.contents(count, imageBytes);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(contents);
+    }
+}
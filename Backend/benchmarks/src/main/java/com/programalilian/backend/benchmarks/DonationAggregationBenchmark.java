@@ -0,0 +1,87 @@
+package com.programalilian.backend.benchmarks;
+
+import com.programalilian.backend.domain.Donation.DonationType;
+import com.programalilian.backend.dto.DonationAnalyticsSummary;
+import com.programalilian.backend.service.DonationColumnStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares ways of totalling donation amounts: a {@code BigDecimal} stream
+ * reduce, a plain {@code BigDecimal} loop, summing {@code long} cents, and the
+ * date-range summary of {@link DonationColumnStore} used by the analytics.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DonationAggregationBenchmark {
+
+    @Param({ "1000", "100000" })
+    private int donations;
+
+    private List<BigDecimal> amounts;
+    private DonationColumnStore columnStore;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(11);
+        LocalDate first = LocalDate.of(2020, 1, 1);
+        amounts = new ArrayList<>(donations);
+        columnStore = new DonationColumnStore();
+        for (int i = 0; i < donations; i++) {
+            BigDecimal amount = BigDecimal.valueOf(500 + random.nextInt(500_000), 2);
+            amounts.add(amount);
+            columnStore.append(first.plusDays(i % 1500), amount,
+                    i % 4 == 0 ? DonationType.SUBSCRIPTION : DonationType.ONE_TIME,
+                    "donante" + (i % 5000) + "@example.com");
+        }
+    }
+
+    @Benchmark
+    public BigDecimal streamReduce() {
+        return amounts.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal loopAdd() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : amounts) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long sumCents() {
+        long total = 0;
+        for (BigDecimal amount : amounts) {
+            total += amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public DonationAnalyticsSummary columnStoreSummary() {
+        return columnStore.summarize(null, null);
+    }
+}
@@ -0,0 +1,74 @@
+package com.programalilian.backend.benchmarks;
+
+import com.programalilian.backend.domain.Content;
+import com.programalilian.backend.dto.ContentListItem;
+import com.programalilian.backend.repository.ContentRepository;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic test data shared by the benchmarks.
+ */
+final class Fixtures {
+
+    private static final String[] SECTIONS = { "events", "talks", "social-posts" };
+
+    private Fixtures() {
+    }
+
+    /**
+     * Published content rows spread over the upcoming sections, created at
+     * random times within the last two years.
+     *
+     * @param imageBytes Size of each image, or 0 for content without image
+     */
+    static List<Content> contents(int count, int imageBytes) {
+        Random random = new Random(7);
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        List<Content> contents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] image = null;
+            if (imageBytes > 0) {
+                image = new byte[imageBytes];
+                random.nextBytes(image);
+            }
+            LocalDateTime createdAt = now.minusMinutes(random.nextInt(2 * 365 * 24 * 60));
+            contents.add(Content.builder()
+                    .id((long) i + 1)
+                    .section(SECTIONS[i % SECTIONS.length])
+                    .title("Charla sobre bienestar número " + i)
+                    .subtitle("Encuentro abierto a toda la comunidad")
+                    .content("Texto de la publicación ".repeat(20))
+                    .imageData(image)
+                    .imageType(image != null ? "image/jpeg" : null)
+                    .buttonText1("Inscribirse")
+                    .buttonUrl1("https://example.com/inscripcion/" + i)
+                    .date("2024-07-" + (1 + i % 28))
+                    .published(true)
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .build());
+        }
+        return contents;
+    }
+
+    /**
+     * A repository whose section query returns the given rows as list items
+     * and whose other methods are unsupported.
+     */
+    static ContentRepository contentRepository(List<Content> sectionRows) {
+        List<ContentListItem> items = sectionRows.stream().map(ContentListItem::from).toList();
+        return (ContentRepository) Proxy.newProxyInstance(ContentRepository.class.getClassLoader(),
+                new Class<?>[] { ContentRepository.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findPublishedListItemsBySectionIn")) {
+                        return items;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
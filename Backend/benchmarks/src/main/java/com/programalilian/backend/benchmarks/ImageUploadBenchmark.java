@@ -0,0 +1,76 @@
+package com.programalilian.backend.benchmarks;
+
+import com.programalilian.backend.service.ContentServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ContentServiceImpl#processImageUpload} (decode, resize to
+ * 800x600 and JPEG re-encode) for uploads from phone-thumbnail to
+ * 12-megapixel camera sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageUploadBenchmark {
+
+    @Param({ "640x480", "1920x1080", "4000x3000" })
+    private String size;
+
+    private ContentServiceImpl contentService;
+    private MockMultipartFile upload;
+
+    @Setup
+    public void setUp() throws Exception {
+        contentService = new ContentServiceImpl(null, new SimpleMeterRegistry());
+        String[] dimensions = size.split("x");
+        byte[] jpeg = photoLikeJpeg(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]));
+        upload = new MockMultipartFile("image", "upload.jpg", "image/jpeg", jpeg);
+    }
+
+    @Benchmark
+    public byte[] processImageUpload() throws Exception {
+        return contentService.processImageUpload(upload);
+    }
+
+    /**
+     * Smooth gradients with mild per-pixel noise, which compresses roughly
+     * like a photograph rather than like a flat or random image.
+     */
+    static byte[] photoLikeJpeg(int width, int height) throws Exception {
+        Random random = new Random(42);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int noise = random.nextInt(24);
+                int r = Math.min(255, 255 * x / width + noise);
+                int g = Math.min(255, 255 * y / height + noise);
+                int b = Math.min(255, 128 + (int) (64 * Math.sin((x + y) / 40.0)) + noise);
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+}
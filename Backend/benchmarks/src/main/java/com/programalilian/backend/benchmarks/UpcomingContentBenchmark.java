@@ -0,0 +1,49 @@
+package com.programalilian.backend.benchmarks;
+
+import com.programalilian.backend.dto.ContentListItem;
+import com.programalilian.backend.service.ContentServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the in-memory sort and limit of
+ * {@link ContentServiceImpl#getUpcomingContent()} once the repository has
+ * returned every published row of the upcoming sections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpcomingContentBenchmark {
+
+    @Param({ "50", "1000", "10000" })
+    private int rows;
+
+    private ContentServiceImpl contentService;
+
+    @Setup
+    public void setUp() {
+        contentService = new ContentServiceImpl(Fixtures.contentRepository(Fixtures.contents(rows, 0)),
+                new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public List<ContentListItem> getUpcomingContent() {
+        return contentService.getUpcomingContent();
+    }
+}
@@ -0,0 +1,351 @@
+package com.programalilian.backend.loadtest;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.imageio.ImageIO;
+import javax.sql.DataSource;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills a database with a large, realistic and reproducible dataset:
+ * members with and without subscriptions, donations spread over several
+ * years with more activity in recent ones and a long tail of repeat donors,
+ * the matching donor summaries, and published content with real JPEG images
+ * of the size uploads are stored at.
+ *
+ * The application is started once so Hibernate creates the schema, then rows
+ * are written over plain JDBC with {@link MultiRowInsert}. The same
+ * {@code --seed} always produces the same rows, and timestamps are relative
+ * to {@code --until}, not to the current date.
+ *
+ * <pre>
+ * java -cp target/loadtest.jar com.programalilian.backend.loadtest.DatasetGenerator \
+ *      --donations=10000000 --members=200000 --donors=300000
+ * java -jar target/loadtest.jar --db-url=jdbc:h2:file:./target/dataset/lilian;MODE=MySQL \
+ *      --content=0 --members=0 --donations=0
+ * </pre>
+ *
+ * Defaults to an H2 file database under {@code target/dataset}; pass
+ * {@code --db-url} for MySQL. The target tables must be empty.
+ */
+public final class DatasetGenerator {
+
+    /** H2 file database with a 256 MB page cache, so index pages stay in memory while loading. */
+    static final String DEFAULT_DB_URL =
+            "jdbc:h2:file:./target/dataset/lilian;MODE=MySQL;CACHE_SIZE=262144;DB_CLOSE_ON_EXIT=FALSE";
+
+    private static final String[] FIRST_NAMES = { "Ana", "Luis", "María", "José", "Lucía", "Carlos", "Sofía",
+            "Juan", "Valentina", "Diego", "Camila", "Martín", "Florencia", "Pablo", "Julieta", "Mateo", "Paula",
+            "Santiago", "Agustina", "Tomás" };
+    private static final String[] LAST_NAMES = { "González", "Rodríguez", "Gómez", "Fernández", "López", "Díaz",
+            "Martínez", "Pérez", "García", "Sánchez", "Romero", "Sosa", "Álvarez", "Torres", "Ruiz", "Ramírez",
+            "Flores", "Acosta", "Benítez", "Medina" };
+    private static final String[] PLANS = { "Mensual", "Mensual", "Mensual", "Trimestral", "Anual", "Anual" };
+    private static final String[] SUBSCRIPTION_STATUSES = { "authorized", "authorized", "authorized",
+            "authorized", "authorized", "authorized", "authorized", "authorized", "paused", "cancelled" };
+    private static final String[] LIST_SECTIONS = { "events", "talks", "social-posts" };
+    private static final int IMAGE_VARIANTS = 16;
+
+    /** Secondary indexes of Donation, rebuilt once after loading instead of row by row. */
+    private static final String[][] DONATION_INDEXES = {
+            { "idx_donations_email_created_id", "email, created_at, id" },
+            { "idx_donations_created_id", "created_at, id" },
+            { "idx_donations_type_created", "type, created_at" },
+            { "idx_donations_amount", "amount" } };
+
+    private final long seed;
+    private final int members;
+    private final int donors;
+    private final int donations;
+    private final int contents;
+    private final int rowsPerStatement;
+    private final LocalDateTime until;
+    private final LocalDateTime from;
+    private final long spanSeconds;
+
+    private DatasetGenerator(Options options) {
+        this.seed = Long.parseLong(options.get("seed", "42"));
+        this.members = options.intValue("members", 100_000);
+        this.donors = options.intValue("donors", 150_000);
+        this.donations = options.intValue("donations", 1_000_000);
+        this.contents = options.intValue("content", 200);
+        this.rowsPerStatement = options.intValue("rows-per-statement", 500);
+        this.until = LocalDate.parse(options.get("until", "2025-01-01")).atStartOfDay();
+        this.from = until.minusYears(options.intValue("years", 5));
+        this.spanSeconds = Duration.between(from, until).getSeconds();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        if (options.get("db-url") == null) {
+            options = new Options(append(args, "--db-url=" + DEFAULT_DB_URL));
+        }
+        DatasetGenerator generator = new DatasetGenerator(options);
+        try (ConfigurableApplicationContext application = LoadTest.boot(options)) {
+            generator.generate(application.getBean(DataSource.class), options.get("db-url"));
+        }
+        System.exit(0);
+    }
+
+    private void generate(DataSource dataSource, String dbUrl) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            for (String table : new String[] { "users", "donations", "donor_summaries", "contents" }) {
+                if (MultiRowInsert.count(connection, table) > 0) {
+                    throw new IllegalStateException("Table " + table + " is not empty; use a fresh database");
+                }
+            }
+            connection.setAutoCommit(false);
+            if (dbUrl.startsWith("jdbc:mysql:")) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET unique_checks = 0");
+                }
+            }
+            long started = System.nanoTime();
+            boolean mysql = dbUrl.startsWith("jdbc:mysql:");
+            insertMembers(connection);
+            dropDonationIndexes(connection, mysql);
+            insertDonations(connection);
+            createDonationIndexes(connection);
+            insertContents(connection);
+            System.out.printf("Generated %d members, %d donations, %d contents in %d s (seed %d)%n",
+                    members, donations, contents, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started), seed);
+        }
+    }
+
+    private void insertMembers(Connection connection) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed);
+        try (MultiRowInsert insert = new MultiRowInsert(connection, "users", rowsPerStatement,
+                "full_name", "email", "email_canonical", "phone", "birth_date", "subscription_plan",
+                "subscription_id", "subscription_status", "last_payment_at", "created_at", "updated_at")) {
+            for (int i = 0; i < members; i++) {
+                LocalDateTime createdAt = growingTimestamp(i, members);
+                boolean subscribed = random.nextInt(100) < 35;
+                String email = memberEmail(i);
+                insert.add(
+                        memberName(i),
+                        email,
+                        email,
+                        random.nextInt(100) < 70 ? String.format("+54 9 11 %08d", random.nextInt(100_000_000)) : null,
+                        LocalDate.of(1950 + random.nextInt(56), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                        subscribed ? PLANS[random.nextInt(PLANS.length)] : null,
+                        subscribed ? "GEN-SUB-" + seed + "-" + i : null,
+                        subscribed ? SUBSCRIPTION_STATUSES[random.nextInt(SUBSCRIPTION_STATUSES.length)] : null,
+                        subscribed ? until.minusDays(random.nextInt(40)).minusMinutes(random.nextInt(1440)) : null,
+                        createdAt,
+                        createdAt);
+            }
+        }
+        System.out.printf("  users: %d%n", members);
+    }
+
+    /**
+     * Donations in creation order. Donor choice is skewed so a few donors give
+     * often; one in ten donations is anonymous. Totals per donor are kept in
+     * arrays and written to donor_summaries afterwards.
+     */
+    private void insertDonations(Connection connection) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed + 1);
+        long[] counts = new long[donors];
+        long[] totalCents = new long[donors];
+        LocalDateTime[] first = new LocalDateTime[donors];
+        LocalDateTime[] last = new LocalDateTime[donors];
+        long started = System.nanoTime();
+        try (MultiRowInsert insert = new MultiRowInsert(connection, "donations", rowsPerStatement,
+                "donor_name", "email", "amount", "transaction_id", "type", "created_at", "updated_at")) {
+            for (int i = 0; i < donations; i++) {
+                LocalDateTime createdAt = growingTimestamp(i, donations);
+                long cents = amountCents(random);
+                boolean anonymous = random.nextInt(10) == 0;
+                int donor = (int) (donors * Math.pow(random.nextDouble(), 2));
+                String email = anonymous ? null : donorEmail(donor);
+                insert.add(
+                        anonymous ? null : donorName(donor),
+                        email,
+                        BigDecimal.valueOf(cents, 2),
+                        "GEN-" + seed + "-" + i,
+                        random.nextInt(5) == 0 ? "SUBSCRIPTION" : "ONE_TIME",
+                        createdAt,
+                        createdAt);
+                if (!anonymous) {
+                    counts[donor]++;
+                    totalCents[donor] += cents;
+                    if (first[donor] == null) {
+                        first[donor] = createdAt;
+                    }
+                    last[donor] = createdAt;
+                }
+                if ((i + 1) % 1_000_000 == 0) {
+                    double seconds = (System.nanoTime() - started) / 1e9;
+                    System.out.printf("  donations: %d (%.0f rows/s)%n", i + 1, (i + 1) / seconds);
+                }
+            }
+        }
+        System.out.printf("  donations: %d%n", donations);
+
+        int summaries = 0;
+        try (MultiRowInsert insert = new MultiRowInsert(connection, "donor_summaries", rowsPerStatement,
+                "email", "donation_count", "total_amount", "first_donation_at", "last_donation_at")) {
+            for (int donor = 0; donor < donors; donor++) {
+                if (counts[donor] > 0) {
+                    insert.add(donorEmail(donor), counts[donor], BigDecimal.valueOf(totalCents[donor], 2),
+                            first[donor], last[donor]);
+                    summaries++;
+                }
+            }
+        }
+        System.out.printf("  donor_summaries: %d%n", summaries);
+    }
+
+    private static void dropDonationIndexes(Connection connection, boolean mysql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String[] index : DONATION_INDEXES) {
+                statement.execute("DROP INDEX " + index[0] + (mysql ? " ON donations" : ""));
+            }
+        }
+        connection.commit();
+    }
+
+    private static void createDonationIndexes(Connection connection) throws SQLException {
+        long started = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            for (String[] index : DONATION_INDEXES) {
+                statement.execute("CREATE INDEX " + index[0] + " ON donations (" + index[1] + ")");
+            }
+        }
+        connection.commit();
+        System.out.printf("  donation indexes rebuilt in %d s%n",
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started));
+    }
+
+    /**
+     * One hero and one about item, the rest spread over the list sections;
+     * nine in ten are published.
+     */
+    private void insertContents(Connection connection) throws SQLException, IOException {
+        SplittableRandom random = new SplittableRandom(seed + 2);
+        byte[][] images = new byte[IMAGE_VARIANTS][];
+        for (int i = 0; i < IMAGE_VARIANTS; i++) {
+            images[i] = photoLikeJpeg(800, 600, seed + i);
+        }
+        // Images make these rows large, so fewer per statement
+        try (MultiRowInsert insert = new MultiRowInsert(connection, "contents", 20,
+                "section", "title", "subtitle", "content", "image_data", "image_type", "button_text1",
+                "button_url1", "date", "published", "created_at", "updated_at")) {
+            for (int i = 0; i < contents; i++) {
+                String section = i == 0 ? "hero" : i == 1 ? "about" : LIST_SECTIONS[i % LIST_SECTIONS.length];
+                LocalDateTime createdAt = growingTimestamp(i, contents);
+                insert.add(
+                        section,
+                        "Encuentro comunitario " + (i + 1),
+                        "Actividad abierta para socios y familias",
+                        "Compartimos novedades del programa y actividades. ".repeat(1 + random.nextInt(12)),
+                        images[i % IMAGE_VARIANTS],
+                        "image/jpeg",
+                        "Más información",
+                        "https://example.com/actividades/" + (i + 1),
+                        createdAt.toLocalDate().plusDays(random.nextInt(30)).toString(),
+                        i < 2 || random.nextInt(10) != 0,
+                        createdAt,
+                        createdAt);
+            }
+        }
+        System.out.printf("  contents: %d%n", contents);
+    }
+
+    /**
+     * Timestamps increase with the row index and get denser towards
+     * {@code until}, like an organization that grows over time.
+     */
+    private LocalDateTime growingTimestamp(int index, int total) {
+        double position = (index + 0.5) / total;
+        return from.plusSeconds((long) (Math.sqrt(position) * spanSeconds));
+    }
+
+    /**
+     * Mostly small one-time amounts with a few large gifts, in cents.
+     */
+    private static long amountCents(SplittableRandom random) {
+        int tier = random.nextInt(100);
+        long pesos;
+        if (tier < 60) {
+            pesos = 500 + random.nextInt(4_500);
+        } else if (tier < 90) {
+            pesos = 5_000 + random.nextInt(15_000);
+        } else {
+            pesos = 20_000 + random.nextInt(80_000);
+        }
+        // Most donors pick round amounts
+        return random.nextInt(4) == 0 ? pesos * 100 + random.nextInt(100) : (pesos / 100) * 10_000;
+    }
+
+    private String memberName(int member) {
+        int mixed = mix(member);
+        return FIRST_NAMES[mixed % FIRST_NAMES.length] + " " + LAST_NAMES[(mixed / FIRST_NAMES.length) % LAST_NAMES.length];
+    }
+
+    private String memberEmail(int member) {
+        String name = memberName(member).toLowerCase(Locale.ROOT).replace(' ', '.');
+        return stripAccents(name) + "." + member + "@example.com";
+    }
+
+    /**
+     * The first donors are members, the rest are donors without membership.
+     */
+    private String donorEmail(int donor) {
+        return donor < members ? memberEmail(donor) : "donante" + donor + "@example.org";
+    }
+
+    private String donorName(int donor) {
+        return donor < members ? memberName(donor) : "Donante " + donor;
+    }
+
+    private int mix(int value) {
+        long mixed = (value + seed) * 0x9E3779B97F4A7C15L;
+        return (int) ((mixed >>> 33) & Integer.MAX_VALUE);
+    }
+
+    private static String stripAccents(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+
+    /**
+     * Smooth gradients with mild noise, which compresses like a photograph.
+     */
+    private static byte[] photoLikeJpeg(int width, int height, long imageSeed) throws IOException {
+        SplittableRandom random = new SplittableRandom(imageSeed);
+        int phase = random.nextInt(360);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int noise = random.nextInt(24);
+                int r = Math.min(255, 255 * x / width + noise);
+                int g = Math.min(255, 255 * y / height + noise);
+                int b = Math.min(255, 128 + (int) (64 * Math.sin((x + y + phase) / 40.0)) + noise);
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+
+    private static String[] append(String[] args, String extra) {
+        String[] result = Arrays.copyOf(args, args.length + 1);
+        result[args.length] = extra;
+        return result;
+    }
+}
@@ -0,0 +1,69 @@
+package com.programalilian.backend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts keyed by endpoint or scenario name.
+ * Safe to record into from any number of threads.
+ */
+final class LatencyStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    void record(String name, long elapsedNanos, boolean ok) {
+        Entry entry = entries.computeIfAbsent(name, key -> new Entry());
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS);
+        entry.histogram.recordValue(micros);
+        if (!ok) {
+            entry.errors.increment();
+        }
+    }
+
+    long totalCount() {
+        return entries.values().stream().mapToLong(e -> e.histogram.getTotalCount()).sum();
+    }
+
+    long totalErrors() {
+        return entries.values().stream().mapToLong(e -> e.errors.sum()).sum();
+    }
+
+    /**
+     * Prints one row per name with throughput over the measured interval and
+     * latency percentiles in milliseconds.
+     */
+    void print(PrintStream out, String title, double seconds) {
+        out.printf("%n%-40s %9s %7s %9s %9s %9s %9s %9s%n",
+                title, "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map.Entry<String, Entry> row : new TreeMap<>(entries).entrySet()) {
+            Histogram histogram = row.getValue().histogram;
+            out.printf("%-40s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    row.getKey(),
+                    histogram.getTotalCount(),
+                    row.getValue().errors.sum(),
+                    histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class Entry {
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
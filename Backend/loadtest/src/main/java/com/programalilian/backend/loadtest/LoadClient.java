@@ -0,0 +1,109 @@
+package com.programalilian.backend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Sends requests to the instance under test and records each one under an
+ * endpoint name, so paths with ids are grouped together.
+ */
+final class LoadClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private volatile LatencyStats stats;
+
+    LoadClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Starts recording into the given stats; null stops recording, as during
+     * seeding and warm-up.
+     */
+    void recordInto(LatencyStats stats) {
+        this.stats = stats;
+    }
+
+    boolean get(String endpoint, String path) {
+        return send(endpoint, request(path).GET().build());
+    }
+
+    boolean post(String endpoint, String path) {
+        return send(endpoint, request(path).POST(HttpRequest.BodyPublishers.noBody()).build());
+    }
+
+    boolean postJson(String endpoint, String path, String json) {
+        return send(endpoint, request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build());
+    }
+
+    /**
+     * Posts JSON and returns the response body, or null on failure. Used
+     * while seeding, where the created ids are needed.
+     */
+    String postJsonForBody(String path, String json) {
+        return body(request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build());
+    }
+
+    /**
+     * Returns the response body, or null on failure, without recording.
+     */
+    String getBody(String path) {
+        return body(request(path).GET().build());
+    }
+
+    private String body(HttpRequest request) {
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() < 300 ? response.body() : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    /**
+     * Reads the whole body so transfer time is part of the latency, as it is
+     * for a browser. 4xx and 5xx responses and I/O failures count as errors.
+     */
+    private boolean send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            ok = response.statusCode() < 400;
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ok = false;
+        }
+        LatencyStats current = stats;
+        if (current != null) {
+            current.record(endpoint, System.nanoTime() - start, ok);
+        }
+        return ok;
+    }
+}
@@ -0,0 +1,259 @@
+package com.programalilian.backend.loadtest;
+
+import com.programalilian.backend.ProgramaLilianApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load generator for the backend.
+ *
+ * Boots the application in this JVM on a random port, backed by in-memory H2
+ * or by the local database given with {@code --db-url}, or targets a running
+ * instance with {@code --target}. It seeds content with images, members and
+ * donations through the API, then runs {@code --users} virtual users that
+ * each pick a weighted {@link Scenario} after the previous one finishes.
+ * After a warm-up, throughput and p50/p99/p99.9 latencies are reported per
+ * scenario and per endpoint.
+ *
+ * <pre>
+ * java -jar target/loadtest.jar --users=200 --duration=60 --warmup=15
+ * java -jar target/loadtest.jar --db-url=jdbc:mysql://localhost:3306/lilian_load?createDatabaseIfNotExist=true \
+ *      --db-username=lilian_user --db-password=lilian_password
+ * java -jar target/loadtest.jar --target=http://localhost:8080 --content=0
+ * </pre>
+ *
+ * To run against a large database, fill it first with {@link DatasetGenerator}
+ * and start with {@code --db-url} and {@code --content=0 --members=0 --donations=0}.
+ *
+ * Other {@code --name=value} arguments are passed to the in-process
+ * application, for example {@code --spring.threads.virtual.enabled=true}.
+ * Users run on virtual threads when the JVM supports them (Java 21+) and on
+ * platform threads otherwise. Since client and server share the machine, use
+ * {@code --target} with a separate host for absolute capacity numbers.
+ */
+public final class LoadTest {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final int SEED_CONCURRENCY = 16;
+    private static final String[] SINGLE_SECTIONS = { "hero", "about" };
+    private static final String[] LIST_SECTIONS = { "events", "talks", "social-posts" };
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        int users = options.intValue("users", 100);
+        int durationSeconds = options.intValue("duration", 60);
+        int warmupSeconds = options.intValue("warmup", 10);
+        long thinkMillis = options.intValue("think-ms", 0);
+
+        ConfigurableApplicationContext application = null;
+        String baseUrl = options.get("target");
+        if (baseUrl == null) {
+            application = boot(options);
+            baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+        }
+
+        ExecutorService executor = userExecutor();
+        ExecutorService seeders = Executors.newFixedThreadPool(SEED_CONCURRENCY);
+        try {
+            LoadClient client = new LoadClient(baseUrl);
+            Workload workload = seed(client, seeders, options);
+
+            System.out.printf("Running %d users (%s threads) against %s: %d s warm-up, %d s measured%n",
+                    users, isVirtual(executor) ? "virtual" : "platform", baseUrl, warmupSeconds, durationSeconds);
+            AtomicReference<LatencyStats> scenarioStats = new AtomicReference<>();
+            long start = System.nanoTime();
+            long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+            long deadline = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+            List<Future<?>> running = new ArrayList<>(users);
+            for (int u = 0; u < users; u++) {
+                running.add(executor.submit(() -> runUser(workload, scenarioStats, deadline, thinkMillis)));
+            }
+
+            sleepUntil(measureFrom);
+            LatencyStats endpoints = new LatencyStats();
+            LatencyStats scenarios = new LatencyStats();
+            client.recordInto(endpoints);
+            scenarioStats.set(scenarios);
+            sleepUntil(deadline);
+            for (Future<?> user : running) {
+                user.get();
+            }
+            client.recordInto(null);
+
+            scenarios.print(System.out, "scenario", durationSeconds);
+            endpoints.print(System.out, "endpoint", durationSeconds);
+            System.out.printf("%nTotal: %d requests, %d errors, %.1f req/s%n", endpoints.totalCount(),
+                    endpoints.totalErrors(), endpoints.totalCount() / (double) durationSeconds);
+        } finally {
+            executor.shutdownNow();
+            seeders.shutdownNow();
+            if (application != null) {
+                application.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private static void runUser(Workload workload, AtomicReference<LatencyStats> scenarioStats,
+            long deadline, long thinkMillis) {
+        Random random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            Scenario scenario = Scenario.pick(random);
+            long begin = System.nanoTime();
+            boolean ok = scenario.run(workload, random);
+            LatencyStats stats = scenarioStats.get();
+            if (stats != null) {
+                stats.record(scenario.name().toLowerCase(), System.nanoTime() - begin, ok);
+            }
+            if (thinkMillis > 0) {
+                try {
+                    Thread.sleep(thinkMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts the application on a random port. With {@code --db-url} the
+     * schema is updated in place, so existing data such as a generated
+     * dataset is kept.
+     */
+    static ConfigurableApplicationContext boot(Options options) {
+        List<String> args = new ArrayList<>();
+        args.add("--server.port=0");
+        String dbUrl = options.get("db-url");
+        if (dbUrl != null) {
+            args.add("--spring.datasource.url=" + dbUrl);
+            args.add("--spring.datasource.username=" + options.get("db-username", ""));
+            args.add("--spring.datasource.password=" + options.get("db-password", ""));
+            args.add("--spring.jpa.hibernate.ddl-auto=update");
+            if (dbUrl.startsWith("jdbc:mysql:")) {
+                args.add("--spring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver");
+                args.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect");
+            }
+        }
+        args.addAll(options.applicationArgs());
+        System.out.println("Starting application in-process" + (dbUrl != null ? " on " + dbUrl : " on H2"));
+        return new SpringApplicationBuilder(ProgramaLilianApplication.class)
+                .profiles("loadtest")
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Creates published content with images, one for each single-item section
+     * and the rest spread over the list sections of the homepage, then
+     * members and donations, sending the requests in parallel without
+     * recording them.
+     */
+    private static Workload seed(LoadClient client, ExecutorService executor, Options options)
+            throws Exception {
+        int contents = options.intValue("content", 40);
+        int imageKb = options.intValue("image-kb", 150);
+        int members = options.intValue("members", 500);
+        int donations = options.intValue("donations", 2000);
+        int donors = options.intValue("donors", 1000);
+        long started = System.nanoTime();
+
+        Random random = new Random(42);
+        String image = base64Image(random, imageKb * 1024);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<Future<String>> created = new ArrayList<>();
+        for (int i = 0; i < contents; i++) {
+            String section = i < SINGLE_SECTIONS.length ? SINGLE_SECTIONS[i] : LIST_SECTIONS[i % LIST_SECTIONS.length];
+            String json = "{\"section\":\"" + section + "\","
+                    + "\"title\":\"Contenido de prueba " + i + "\","
+                    + "\"content\":\"" + "Texto de la publicación. ".repeat(20) + "\","
+                    + "\"imageData\":\"" + image + "\",\"imageType\":\"image/jpeg\","
+                    + "\"published\":true,\"createdAt\":\"" + now.minusHours(i) + "\"}";
+            created.add(executor.submit(() -> client.postJsonForBody("/api/admin/content", json)));
+        }
+        List<Long> imageIds = new ArrayList<>();
+        for (Future<String> response : created) {
+            String body = response.get();
+            Matcher matcher = body != null ? ID.matcher(body) : null;
+            if (matcher != null && matcher.find()) {
+                imageIds.add(Long.parseLong(matcher.group(1)));
+            }
+        }
+        if (imageIds.isEmpty()) {
+            // Content already in the database: use the ids of published items
+            String published = client.getBody("/api/content/published");
+            Matcher matcher = ID.matcher(published != null ? published : "");
+            while (matcher.find()) {
+                imageIds.add(Long.parseLong(matcher.group(1)));
+            }
+        }
+        if (imageIds.isEmpty()) {
+            throw new IllegalStateException("No content to fetch images from; seed some with --content");
+        }
+
+        List<Future<?>> pending = new ArrayList<>();
+        for (int i = 0; i < members; i++) {
+            String json = "{\"fullName\":\"Socio " + i + "\",\"email\":\"socio" + i + "-" + now.toLocalDate()
+                    + "@example.com\"}";
+            pending.add(executor.submit(() -> client.postJson("seed", "/api/members", json)));
+        }
+        Workload workload = new Workload(client, imageIds.stream().mapToLong(Long::longValue).toArray(), donors);
+        for (int i = 0; i < donations; i++) {
+            pending.add(executor.submit(() -> Scenario.DONATION.run(workload, ThreadLocalRandom.current())));
+        }
+        for (Future<?> request : pending) {
+            request.get();
+        }
+        System.out.printf("Seeded %d contents, %d members and %d donations in %d ms%n", imageIds.size(), members,
+                donations, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return workload;
+    }
+
+    private static String base64Image(Random random, int bytes) {
+        byte[] data = new byte[bytes];
+        random.nextBytes(data);
+        // JPEG start-of-image marker so the bytes look like what is served
+        data[0] = (byte) 0xFF;
+        data[1] = (byte) 0xD8;
+        return Base64.getEncoder().encodeToString(data);
+    }
+
+    /**
+     * One virtual thread per user on Java 21+, looked up reflectively since
+     * the module targets Java 17.
+     */
+    private static ExecutorService userExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private static boolean isVirtual(ExecutorService executor) {
+        return !(executor instanceof java.util.concurrent.ThreadPoolExecutor);
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+}
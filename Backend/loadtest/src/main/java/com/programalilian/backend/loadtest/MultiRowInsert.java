@@ -0,0 +1,98 @@
+package com.programalilian.backend.loadtest;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Buffers rows and writes them as multi-row {@code INSERT ... VALUES (...), (...)}
+ * statements, one round trip and one commit per statement, which is much
+ * faster than single-row inserts on both MySQL and H2. Small transactions keep
+ * H2 from rewriting large index pages on commit.
+ */
+final class MultiRowInsert implements AutoCloseable {
+
+    private final Connection connection;
+    private final String table;
+    private final String[] columns;
+    private final int rowsPerStatement;
+    private final Object[] buffer;
+    private PreparedStatement fullStatement;
+    private int bufferedRows;
+    private long insertedRows;
+
+    MultiRowInsert(Connection connection, String table, int rowsPerStatement, String... columns) {
+        this.connection = connection;
+        this.table = table;
+        this.columns = columns;
+        this.rowsPerStatement = rowsPerStatement;
+        this.buffer = new Object[rowsPerStatement * columns.length];
+    }
+
+    void add(Object... values) throws SQLException {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException("Expected " + columns.length + " values for " + table);
+        }
+        System.arraycopy(values, 0, buffer, bufferedRows * columns.length, values.length);
+        bufferedRows++;
+        if (bufferedRows == rowsPerStatement) {
+            if (fullStatement == null) {
+                fullStatement = connection.prepareStatement(sql(rowsPerStatement));
+            }
+            execute(fullStatement, rowsPerStatement);
+        }
+    }
+
+    long insertedRows() {
+        return insertedRows;
+    }
+
+    /**
+     * Writes the remaining rows.
+     */
+    void flush() throws SQLException {
+        if (bufferedRows > 0) {
+            try (PreparedStatement statement = connection.prepareStatement(sql(bufferedRows))) {
+                execute(statement, bufferedRows);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        flush();
+        if (fullStatement != null) {
+            fullStatement.close();
+        }
+    }
+
+    private void execute(PreparedStatement statement, int rows) throws SQLException {
+        for (int i = 0; i < rows * columns.length; i++) {
+            statement.setObject(i + 1, buffer[i]);
+        }
+        statement.executeUpdate();
+        connection.commit();
+        insertedRows += rows;
+        bufferedRows = 0;
+    }
+
+    private String sql(int rows) {
+        String row = "(" + "?,".repeat(columns.length - 1) + "?)";
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                .append(" (").append(String.join(", ", columns)).append(") VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ",").append(row);
+        }
+        return sql.toString();
+    }
+
+    static long count(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
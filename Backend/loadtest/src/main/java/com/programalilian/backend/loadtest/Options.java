@@ -0,0 +1,61 @@
+package com.programalilian.backend.loadtest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code --name=value} command line of the load-test tools. Spring
+ * properties ({@code spring.*}, {@code app.*}, {@code server.*},
+ * {@code logging.*}, {@code management.*}) are kept apart and passed to the
+ * in-process application.
+ */
+final class Options {
+
+    private static final String[] APPLICATION_PREFIXES = { "spring.", "app.", "server.", "logging.", "management." };
+
+    private final Map<String, String> values = new HashMap<>();
+    private final List<String> applicationArgs = new ArrayList<>();
+
+    Options(String[] args) {
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value: " + arg);
+            }
+            String name = arg.substring(2, equals);
+            if (isApplicationProperty(name)) {
+                applicationArgs.add(arg);
+            } else {
+                values.put(name, arg.substring(equals + 1));
+            }
+        }
+    }
+
+    String get(String name) {
+        return values.get(name);
+    }
+
+    String get(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    int intValue(String name, int defaultValue) {
+        String value = values.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    List<String> applicationArgs() {
+        return applicationArgs;
+    }
+
+    private static boolean isApplicationProperty(String name) {
+        for (String prefix : APPLICATION_PREFIXES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,126 @@
+package com.programalilian.backend.loadtest;
+
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Weighted user journeys replayed by each virtual user. Weights are relative
+ * shares of scenario starts, not of requests.
+ */
+enum Scenario {
+
+    /** JSON requests the frontend makes to render the homepage. */
+    HOMEPAGE(40) {
+        @Override
+        boolean run(Workload workload, Random random) {
+            LoadClient client = workload.client();
+            boolean ok = client.get("GET /api/content/single/hero", "/api/content/single/hero");
+            ok &= client.get("GET /api/content/single/about", "/api/content/single/about");
+            ok &= client.get("GET /api/content/section/events", "/api/content/section/events");
+            ok &= client.get("GET /api/content/section/talks", "/api/content/section/talks");
+            ok &= client.get("GET /api/content/section/social-posts", "/api/content/section/social-posts");
+            ok &= client.get("GET /api/content/upcoming", "/api/content/upcoming");
+            return ok;
+        }
+    },
+
+    /** Images of the cards shown on the homepage. */
+    IMAGES(30) {
+        @Override
+        boolean run(Workload workload, Random random) {
+            int first = random.nextInt(1 << 16);
+            boolean ok = true;
+            for (int i = 0; i < IMAGES_PER_PAGE; i++) {
+                ok &= workload.client().get("GET /api/content/image/{id}",
+                        "/api/content/image/" + workload.imageContentId(first + i));
+            }
+            return ok;
+        }
+    },
+
+    /** One-time donation from the donation form. */
+    DONATION(15) {
+        @Override
+        boolean run(Workload workload, Random random) {
+            String transactionId = "LT-" + UUID.randomUUID();
+            int donor = random.nextInt(workload.donors());
+            String amount = (500 + random.nextInt(50_000)) / 100 + "." + String.format("%02d", random.nextInt(100));
+            boolean ok = workload.client().post("POST /api/donations",
+                    "/api/donations?donorName=Donante%20" + donor + "&email=donante" + donor + "%40example.com"
+                            + "&amount=" + amount + "&transactionId=" + transactionId);
+            if (ok) {
+                workload.addTransaction(transactionId);
+            }
+            return ok;
+        }
+    },
+
+    /**
+     * Payment notifications for recent donations, with the resends providers
+     * make for the same transaction.
+     */
+    WEBHOOK_BURST(10) {
+        @Override
+        boolean run(Workload workload, Random random) {
+            boolean ok = true;
+            String transactionId = null;
+            for (int i = 0; i < WEBHOOKS_PER_BURST; i++) {
+                if (transactionId == null || random.nextBoolean()) {
+                    transactionId = workload.recentTransaction(random.nextInt(64));
+                }
+                String id = transactionId != null ? transactionId : "LT-" + UUID.randomUUID();
+                ok &= workload.client().post("POST /api/donations/webhook/{id}",
+                        "/api/donations/webhook/" + id + "?status=approved");
+            }
+            return ok;
+        }
+    },
+
+    /** Admin panel pages of members and donations. */
+    ADMIN_LISTING(5) {
+        @Override
+        boolean run(Workload workload, Random random) {
+            LoadClient client = workload.client();
+            boolean ok = client.get("GET /api/admin/stats", "/api/admin/stats");
+            ok &= client.get("GET /api/admin/members", "/api/admin/members?size=50&page=" + random.nextInt(10));
+            ok &= client.get("GET /api/admin/donations", "/api/admin/donations?size=50&page=" + random.nextInt(10));
+            return ok;
+        }
+    };
+
+    private static final int IMAGES_PER_PAGE = 8;
+    private static final int WEBHOOKS_PER_BURST = 5;
+    private static final int TOTAL_WEIGHT = totalWeight();
+
+    private final int weight;
+
+    Scenario(int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * Runs the journey once.
+     *
+     * @return false if any request failed
+     */
+    abstract boolean run(Workload workload, Random random);
+
+    static Scenario pick(Random random) {
+        int ticket = random.nextInt(TOTAL_WEIGHT);
+        for (Scenario scenario : values()) {
+            ticket -= scenario.weight;
+            if (ticket < 0) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    private static int totalWeight() {
+        int total = 0;
+        for (Scenario scenario : values()) {
+            total += scenario.weight;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,55 @@
+package com.programalilian.backend.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * State shared by all virtual users: the client, the seeded content ids and
+ * the transactions of recent donations, which webhook bursts then confirm.
+ */
+final class Workload {
+
+    private static final int RECENT_TRANSACTIONS = 1024;
+
+    private final LoadClient client;
+    private final long[] imageContentIds;
+    private final int donors;
+    private final AtomicReferenceArray<String> recentTransactions = new AtomicReferenceArray<>(RECENT_TRANSACTIONS);
+    private final AtomicLong transactionCount = new AtomicLong();
+
+    Workload(LoadClient client, long[] imageContentIds, int donors) {
+        this.client = client;
+        this.imageContentIds = imageContentIds;
+        this.donors = donors;
+    }
+
+    LoadClient client() {
+        return client;
+    }
+
+    long imageContentId(int index) {
+        return imageContentIds[Math.floorMod(index, imageContentIds.length)];
+    }
+
+    int donors() {
+        return donors;
+    }
+
+    void addTransaction(String transactionId) {
+        long n = transactionCount.getAndIncrement();
+        recentTransactions.set((int) (n % RECENT_TRANSACTIONS), transactionId);
+    }
+
+    /**
+     * Returns one of the last recorded transactions, or null if no donation
+     * has been made yet.
+     */
+    String recentTransaction(int index) {
+        long count = transactionCount.get();
+        if (count == 0) {
+            return null;
+        }
+        int available = (int) Math.min(count, RECENT_TRANSACTIONS);
+        return recentTransactions.get((int) ((count - 1 - Math.floorMod(index, available)) % RECENT_TRANSACTIONS));
+    }
+}
@@ -2,14 +2,21 @@ package com.programalilian.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 /**
  * Main Spring Boot application class.
- * Initializes and runs the Programa Lilian backend application.
+ * Initializes and runs the Programa Lilian backend application, recording
+ * startup steps for the startup report and the actuator startup endpoint.
  */
 @SpringBootApplication
 public class ProgramaLilianApplication {
+
+    private static final int STARTUP_STEP_CAPACITY = 10_000;
+
     public static void main(String[] args) {
-        SpringApplication.run(ProgramaLilianApplication.class, args);
+        SpringApplication application = new SpringApplication(ProgramaLilianApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        application.run(args);
     }
 }
@@ -0,0 +1,98 @@
+package com.programalilian.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Enables asynchronous listeners and defines the bounded executors that run
+ * post-registration work and email campaigns off the request thread.
+ *
+ * With {@code spring.threads.virtual.enabled=true} on Java 21+, every task
+ * gets its own virtual thread instead of a pooled platform thread. The pool
+ * sizes then become concurrency limits, so each executor still bounds its use
+ * of database and SMTP connections; a full executor blocks the submitter, as
+ * the caller-runs policy does in platform mode.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    public static final String REGISTRATION_EXECUTOR = "registrationTaskExecutor";
+    public static final String CAMPAIGN_RUNNER_EXECUTOR = "campaignRunnerExecutor";
+    public static final String CAMPAIGN_SENDER_EXECUTOR = "campaignSenderExecutor";
+
+    /**
+     * When the queue is full the submitting thread runs the task itself, which
+     * slows registrations down instead of dropping welcome emails.
+     */
+    @Bean(name = REGISTRATION_EXECUTOR)
+    public TaskExecutor registrationTaskExecutor(Environment environment,
+            @Value("${app.registration.async.pool-size:4}") int poolSize,
+            @Value("${app.registration.async.queue-capacity:10000}") int queueCapacity) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return virtualExecutor("registration-", poolSize);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("registration-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Runs campaigns one at a time; each walks its recipients and hands
+     * batches to the sender executor.
+     */
+    @Bean(name = CAMPAIGN_RUNNER_EXECUTOR)
+    public TaskExecutor campaignRunnerExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return virtualExecutor("campaign-", 1);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("campaign-");
+        return executor;
+    }
+
+    /**
+     * One SMTP connection per thread at a time; when all are busy the
+     * campaign runner sends the batch itself, which throttles it.
+     */
+    @Bean(name = CAMPAIGN_SENDER_EXECUTOR)
+    public TaskExecutor campaignSenderExecutor(Environment environment,
+            @Value("${app.campaign.senders:4}") int senders) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return virtualExecutor("campaign-sender-", senders);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(senders);
+        executor.setMaxPoolSize(senders);
+        executor.setQueueCapacity(senders);
+        executor.setThreadNamePrefix("campaign-sender-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    private static TaskExecutor virtualExecutor(String threadNamePrefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+}
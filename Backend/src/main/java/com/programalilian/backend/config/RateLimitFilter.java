@@ -0,0 +1,185 @@
+package com.programalilian.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Per-client rate limiting for the write endpoints.
+ *
+ * Donation, registration, webhook and bulk POSTs each have their own token
+ * bucket limits per client, and every other POST falls back to a default
+ * limit. The client is the API key header when it is one of the configured
+ * keys, otherwise the remote address. Behind a reverse proxy the remote
+ * address comes from server.forward-headers-strategy, which only accepts
+ * X-Forwarded-For entries added by trusted proxies. Throttled requests get
+ * 429 with Retry-After.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String API_KEY_HEADER = "X-API-Key";
+
+    private final boolean enabled;
+    private final Set<String> apiKeys;
+    private final List<Route> routes;
+
+    public RateLimitFilter(MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.rate-limit.api-keys:}") List<String> apiKeys,
+            @Value("${app.rate-limit.max-clients:100000}") int maxClients,
+            @Value("${app.rate-limit.donations.per-minute:30}") int donationsPerMinute,
+            @Value("${app.rate-limit.donations.burst:10}") int donationsBurst,
+            @Value("${app.rate-limit.members.per-minute:10}") int membersPerMinute,
+            @Value("${app.rate-limit.members.burst:5}") int membersBurst,
+            @Value("${app.rate-limit.webhook.per-minute:600}") int webhookPerMinute,
+            @Value("${app.rate-limit.webhook.burst:100}") int webhookBurst,
+            @Value("${app.rate-limit.bulk.per-minute:6}") int bulkPerMinute,
+            @Value("${app.rate-limit.bulk.burst:2}") int bulkBurst,
+            @Value("${app.rate-limit.default.per-minute:120}") int defaultPerMinute,
+            @Value("${app.rate-limit.default.burst:30}") int defaultBurst) {
+        this.enabled = enabled;
+        this.apiKeys = apiKeys.stream().map(String::trim).filter(k -> !k.isEmpty()).collect(Collectors.toSet());
+        // First match wins, the catch-all default route has to stay last
+        this.routes = List.of(
+                new Route("webhook", List.of("/api/donations/webhook/"), true,
+                        new TokenBucketRateLimiter(webhookPerMinute, webhookBurst, maxClients), meterRegistry),
+                new Route("donations", List.of("/api/donations"), false,
+                        new TokenBucketRateLimiter(donationsPerMinute, donationsBurst, maxClients), meterRegistry),
+                new Route("members", List.of("/api/members"), false,
+                        new TokenBucketRateLimiter(membersPerMinute, membersBurst, maxClients), meterRegistry),
+                new Route("bulk", List.of("/api/donations/subscriptions/bulk", "/api/members/subscriptions/sync",
+                        "/api/admin/members/import"), false,
+                        new TokenBucketRateLimiter(bulkPerMinute, bulkBurst, maxClients), meterRegistry),
+                new Route("default", List.of("/"), true,
+                        new TokenBucketRateLimiter(defaultPerMinute, defaultBurst, maxClients), meterRegistry));
+        for (Route route : routes) {
+            meterRegistry.gauge("http.ratelimit.clients", List.of(Tag.of("route", route.name)),
+                    route.limiter, TokenBucketRateLimiter::trackedClients);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Route route = match(request.getRequestURI());
+        long waitNanos = route.limiter.tryAcquire(clientKey(request), System.nanoTime());
+        if (waitNanos > 0) {
+            route.throttled.increment();
+            long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+            response.setStatus(429);
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\": \"Demasiadas solicitudes, intente nuevamente más tarde\"}");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Drops buckets of clients that have been idle long enough to refill.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval:PT1M}")
+    public void evictIdleClients() {
+        long now = System.nanoTime();
+        for (Route route : routes) {
+            route.limiter.evictIdle(now);
+        }
+    }
+
+    private Route match(String requestUri) {
+        String uri = normalize(requestUri);
+        for (Route route : routes) {
+            if (route.matches(uri)) {
+                return route;
+            }
+        }
+        return routes.get(routes.size() - 1);
+    }
+
+    /**
+     * Drops path parameters, repeated slashes and trailing slashes, so
+     * variants such as {@code /api/donations/} map to the same route.
+     * Returns the URI itself when it is already normalized.
+     */
+    static String normalize(String uri) {
+        int semicolon = uri.indexOf(';');
+        int end = semicolon >= 0 ? semicolon : uri.length();
+        while (end > 1 && uri.charAt(end - 1) == '/') {
+            end--;
+        }
+        int repeated = uri.indexOf("//");
+        if (repeated < 0 || repeated >= end) {
+            return end == uri.length() ? uri : uri.substring(0, end);
+        }
+        StringBuilder path = new StringBuilder(end);
+        for (int i = 0; i < end; i++) {
+            char c = uri.charAt(i);
+            if (c != '/' || path.isEmpty() || path.charAt(path.length() - 1) != '/') {
+                path.append(c);
+            }
+        }
+        return path.toString();
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        // Unknown keys are ignored, otherwise a random key per request would never be limited
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        // Never read X-Forwarded-For here, its leftmost entry is whatever the client sent
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static final class Route {
+        private final String name;
+        private final List<String> paths;
+        private final boolean prefix;
+        private final TokenBucketRateLimiter limiter;
+        private final Counter throttled;
+
+        Route(String name, List<String> paths, boolean prefix, TokenBucketRateLimiter limiter,
+                MeterRegistry registry) {
+            this.name = name;
+            this.paths = paths;
+            this.prefix = prefix;
+            this.limiter = limiter;
+            this.throttled = Counter.builder("http.requests.throttled")
+                    .description("Requests rejected with 429 by the rate limiter")
+                    .tag("route", name)
+                    .register(registry);
+        }
+
+        boolean matches(String uri) {
+            for (String path : paths) {
+                if (prefix ? uri.startsWith(path) : uri.equals(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
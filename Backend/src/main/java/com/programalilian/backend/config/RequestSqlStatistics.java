@@ -0,0 +1,91 @@
+package com.programalilian.backend.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL activity of one HTTP request: statements executed, rows read, binary
+ * column bytes read and time spent in the driver, plus the most repeated
+ * statement text, which points at N+1 query patterns.
+ *
+ * Bound to the request thread by {@link SqlTrackingFilter} and filled in by
+ * {@link SqlTrackingDataSource}. Work done on other threads is not counted.
+ */
+public final class RequestSqlStatistics {
+
+    private static final ThreadLocal<RequestSqlStatistics> CURRENT = new ThreadLocal<>();
+    private static final int MAX_DISTINCT_STATEMENTS = 512;
+
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long binaryBytes;
+    private long nanos;
+    private String mostRepeatedSql;
+    private int mostRepeatedCount;
+
+    static RequestSqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    static void bind(RequestSqlStatistics statistics) {
+        CURRENT.set(statistics);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    void statement(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        Integer previous = executions.get(sql);
+        if (previous == null && executions.size() >= MAX_DISTINCT_STATEMENTS) {
+            return;
+        }
+        int count = previous == null ? 1 : previous + 1;
+        executions.put(sql, count);
+        if (count > mostRepeatedCount) {
+            mostRepeatedCount = count;
+            mostRepeatedSql = sql;
+        }
+    }
+
+    void row() {
+        rows++;
+    }
+
+    void binary(long bytes) {
+        binaryBytes += bytes;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    /**
+     * @return Bytes read from binary columns such as images
+     */
+    public long binaryBytes() {
+        return binaryBytes;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    /**
+     * @return Executions of the most repeated statement text, 0 if none ran
+     */
+    public int mostRepeatedCount() {
+        return mostRepeatedCount;
+    }
+
+    public String mostRepeatedSql() {
+        return mostRepeatedSql;
+    }
+}
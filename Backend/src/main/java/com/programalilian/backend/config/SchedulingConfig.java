@@ -0,0 +1,12 @@
+package com.programalilian.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background jobs such as the email outbox sender.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
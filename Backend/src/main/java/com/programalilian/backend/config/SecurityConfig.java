@@ -68,6 +68,10 @@ public class SecurityConfig {
                 configuration.setAllowedOriginPatterns(Arrays.asList("*"));
                 configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
                 configuration.setAllowedHeaders(Arrays.asList("*"));
+                configuration.setExposedHeaders(Arrays.asList("X-Total-Count", "X-Next-Cursor", "Retry-After",
+                                SqlTrackingFilter.STATEMENTS_HEADER, SqlTrackingFilter.ROWS_HEADER,
+                                SqlTrackingFilter.BINARY_BYTES_HEADER, SqlTrackingFilter.TIME_HEADER,
+                                SqlTrackingFilter.REPEATED_HEADER));
                 configuration.setAllowCredentials(true);
                 UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
                 source.registerCorsConfiguration("/**", configuration);
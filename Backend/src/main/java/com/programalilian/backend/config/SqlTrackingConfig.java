@@ -0,0 +1,30 @@
+package com.programalilian.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in a {@link SqlTrackingDataSource} so
+ * {@link SqlTrackingFilter} can attribute SQL to each request.
+ */
+@Configuration
+public class SqlTrackingConfig {
+
+    @Bean
+    static BeanPostProcessor sqlTrackingDataSourcePostProcessor(
+            @Value("${app.sql-tracking.enabled:true}") boolean enabled) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource dataSource && !(bean instanceof SqlTrackingDataSource)) {
+                    return new SqlTrackingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
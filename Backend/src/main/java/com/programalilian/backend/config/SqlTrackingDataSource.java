@@ -0,0 +1,132 @@
+package com.programalilian.backend.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource that reports every statement executed, its time in the driver,
+ * the rows read from its result sets and the bytes read from binary columns
+ * to the {@link RequestSqlStatistics} bound to the current thread.
+ *
+ * Sits above the pool, so it sees both Hibernate and JdbcTemplate SQL.
+ * Statements prepared while no request is being tracked, such as those of
+ * scheduled jobs and exports, are returned unwrapped.
+ */
+public class SqlTrackingDataSource extends DelegatingDataSource {
+
+    private static final ClassLoader LOADER = SqlTrackingDataSource.class.getClassLoader();
+
+    public SqlTrackingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection connection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(LOADER, new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    Object identity = identity(proxy, method, args);
+                    if (identity != null) {
+                        return identity;
+                    }
+                    Object result = invoke(target, method, args);
+                    if (result instanceof Statement statement && RequestSqlStatistics.current() != null) {
+                        // prepareStatement and prepareCall take the SQL first; createStatement passes it on execute
+                        String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                        return statement(statement, sql);
+                    }
+                    return result;
+                });
+    }
+
+    private static Statement statement(Statement target, String preparedSql) {
+        Class<?> type = target instanceof CallableStatement ? CallableStatement.class
+                : target instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return (Statement) Proxy.newProxyInstance(LOADER, new Class<?>[] { type }, (proxy, method, args) -> {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            RequestSqlStatistics statistics = RequestSqlStatistics.current();
+            if (statistics == null) {
+                return invoke(target, method, args);
+            }
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String sql = preparedSql != null ? preparedSql
+                        : args != null && args.length > 0 && args[0] instanceof String text ? text : "<batch>";
+                long start = System.nanoTime();
+                try {
+                    Object result = invoke(target, method, args);
+                    return result instanceof ResultSet resultSet ? resultSet(resultSet, statistics) : result;
+                } finally {
+                    statistics.statement(sql, System.nanoTime() - start);
+                }
+            }
+            Object result = invoke(target, method, args);
+            if ("getResultSet".equals(name) && result instanceof ResultSet resultSet) {
+                return resultSet(resultSet, statistics);
+            }
+            return result;
+        });
+    }
+
+    private static ResultSet resultSet(ResultSet target, RequestSqlStatistics statistics) {
+        return (ResultSet) Proxy.newProxyInstance(LOADER, new Class<?>[] { ResultSet.class },
+                (proxy, method, args) -> {
+                    Object identity = identity(proxy, method, args);
+                    if (identity != null) {
+                        return identity;
+                    }
+                    Object result = invoke(target, method, args);
+                    String name = method.getName();
+                    if ("next".equals(name) && Boolean.TRUE.equals(result)) {
+                        statistics.row();
+                    } else if ("getBytes".equals(name) && result instanceof byte[] bytes) {
+                        statistics.binary(bytes.length);
+                    } else if ("getBlob".equals(name) && result instanceof Blob blob) {
+                        statistics.binary(blob.length());
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * Answers equals and hashCode on the proxy itself, so proxies behave as
+     * distinct objects in collections; null for every other method.
+     */
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> method.getParameterCount() == 1 ? proxy == args[0] : null;
+            case "hashCode" -> method.getParameterCount() == 0 ? System.identityHashCode(proxy) : null;
+            default -> null;
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.programalilian.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attributes SQL statements, rows read and database time to each HTTP
+ * request.
+ *
+ * Every request is recorded as {@code http.server.requests.sql.*} metrics by
+ * route. Requests over the statement or database time thresholds are logged,
+ * and so are requests that run the same statement text at least the N+1
+ * threshold times. With response headers enabled (development only, since the
+ * body is buffered to add them at the end) the counts are also returned as
+ * {@code X-SQL-*} headers. Streaming endpoints listed as unbuffered paths are
+ * never buffered and only get metrics and logs.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class SqlTrackingFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    static final String ROWS_HEADER = "X-SQL-Rows";
+    static final String BINARY_BYTES_HEADER = "X-SQL-Binary-Bytes";
+    static final String TIME_HEADER = "X-SQL-Time-Ms";
+    static final String REPEATED_HEADER = "X-SQL-Max-Repeated";
+
+    private static final String STATISTICS_ATTRIBUTE = SqlTrackingFilter.class.getName() + ".statistics";
+    private static final int LOGGED_SQL_LENGTH = 300;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final boolean responseHeaders;
+    private final int slowStatements;
+    private final long slowDbNanos;
+    private final int nPlusOneThreshold;
+    private final List<String> unbufferedPaths;
+
+    public SqlTrackingFilter(MeterRegistry meterRegistry,
+            @Value("${app.sql-tracking.enabled:true}") boolean enabled,
+            @Value("${app.sql-tracking.response-headers:false}") boolean responseHeaders,
+            @Value("${app.sql-tracking.slow.statements:25}") int slowStatements,
+            @Value("${app.sql-tracking.slow.db-time:PT0.5S}") Duration slowDbTime,
+            @Value("${app.sql-tracking.n-plus-one-threshold:10}") int nPlusOneThreshold,
+            @Value("${app.sql-tracking.unbuffered-paths:/api/admin/donations/export}") List<String> unbufferedPaths) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.responseHeaders = responseHeaders;
+        this.slowStatements = slowStatements;
+        this.slowDbNanos = slowDbTime.toNanos();
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.unbufferedPaths = unbufferedPaths.stream().map(String::trim).filter(p -> !p.isEmpty()).toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // Streaming responses finish on an async dispatch, where the totals are reported
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestSqlStatistics statistics = (RequestSqlStatistics) request.getAttribute(STATISTICS_ATTRIBUTE);
+        if (statistics == null) {
+            statistics = new RequestSqlStatistics();
+            request.setAttribute(STATISTICS_ATTRIBUTE, statistics);
+        }
+        HttpServletResponse target = response;
+        if (responseHeaders && !isAsyncDispatch(request) && !isUnbuffered(request.getRequestURI())) {
+            target = new ContentCachingResponseWrapper(response);
+        }
+
+        RequestSqlStatistics.bind(statistics);
+        try {
+            chain.doFilter(request, target);
+        } finally {
+            RequestSqlStatistics.unbind();
+            if (!request.isAsyncStarted()) {
+                complete(request, statistics);
+                ContentCachingResponseWrapper caching =
+                        WebUtils.getNativeResponse(target, ContentCachingResponseWrapper.class);
+                if (caching != null) {
+                    addHeaders(caching, statistics);
+                    caching.copyBodyToResponse();
+                }
+            }
+        }
+    }
+
+    private boolean isUnbuffered(String uri) {
+        for (String path : unbufferedPaths) {
+            if (uri.startsWith(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void complete(HttpServletRequest request, RequestSqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN");
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements executed per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.statements());
+        DistributionSummary.builder("http.server.requests.sql.rows")
+                .description("Rows read from result sets per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.rows());
+        Timer.builder("http.server.requests.sql.time")
+                .description("Time spent executing SQL per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.nanos(), TimeUnit.NANOSECONDS);
+
+        String requestLine = request.getMethod() + " " + request.getRequestURI();
+        if (statistics.mostRepeatedCount() >= nPlusOneThreshold) {
+            Counter.builder("http.server.requests.sql.repeated")
+                    .description("Requests that repeated one statement at least the N+1 threshold times")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Possible N+1 in {}: statement executed {} times: {}", requestLine,
+                    statistics.mostRepeatedCount(), abbreviate(statistics.mostRepeatedSql()));
+        }
+        if (statistics.statements() >= slowStatements || statistics.nanos() >= slowDbNanos) {
+            log.warn("Slow SQL in {}: {} statements, {} rows, {} ms in the database", requestLine,
+                    statistics.statements(), statistics.rows(), TimeUnit.NANOSECONDS.toMillis(statistics.nanos()));
+        }
+    }
+
+    private static void addHeaders(HttpServletResponse response, RequestSqlStatistics statistics) {
+        if (response.isCommitted()) {
+            return;
+        }
+        response.setHeader(STATEMENTS_HEADER, Integer.toString(statistics.statements()));
+        response.setHeader(ROWS_HEADER, Long.toString(statistics.rows()));
+        response.setHeader(BINARY_BYTES_HEADER, Long.toString(statistics.binaryBytes()));
+        response.setHeader(TIME_HEADER, Long.toString(TimeUnit.NANOSECONDS.toMillis(statistics.nanos())));
+        response.setHeader(REPEATED_HEADER, Integer.toString(statistics.mostRepeatedCount()));
+    }
+
+    private static String abbreviate(String sql) {
+        String text = sql.replaceAll("\\s+", " ");
+        return text.length() <= LOGGED_SQL_LENGTH ? text : text.substring(0, LOGGED_SQL_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,87 @@
+package com.programalilian.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Startup support for the fast-startup profile.
+ *
+ * Keeps beans with {@code @Scheduled} methods eager when lazy initialization
+ * is on, since a lazy scheduled bean would never run, and logs the slowest
+ * bean instantiations recorded by the application's
+ * {@link BufferingApplicationStartup} once the app is ready.
+ */
+@Slf4j
+@Configuration
+public class StartupConfig {
+
+    private static final String BEAN_INSTANTIATE_STEP = "spring.beans.instantiate";
+
+    @Value("${app.startup.report.enabled:false}")
+    private boolean reportEnabled;
+
+    @Value("${app.startup.report.top:20}")
+    private int reportTop;
+
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> {
+            if (beanType == null) {
+                return false;
+            }
+            AtomicBoolean scheduled = new AtomicBoolean();
+            ReflectionUtils.doWithMethods(beanType,
+                    method -> scheduled.set(true),
+                    method -> AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+            return scheduled.get();
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logStartupReport(ApplicationReadyEvent event) {
+        if (!reportEnabled) {
+            return;
+        }
+        long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup buffering)) {
+            log.info("Ready {} ms after JVM start; no startup timeline recorded", uptimeMillis);
+            return;
+        }
+        StartupTimeline timeline = buffering.getBufferedTimeline();
+        StringBuilder report = new StringBuilder();
+        timeline.getEvents().stream()
+                .filter(e -> BEAN_INSTANTIATE_STEP.equals(e.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(reportTop)
+                .forEach(e -> report.append(String.format("%n  %6d ms  %s",
+                        e.getDuration().toMillis(), beanName(e.getStartupStep()))));
+        log.info("Ready {} ms after JVM start ({} ms in SpringApplication.run); slowest bean instantiations:{}",
+                uptimeMillis, event.getTimeTaken().toMillis(), report);
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return step.getName();
+    }
+}
@@ -0,0 +1,126 @@
+package com.programalilian.backend.config;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket limiter keyed by client.
+ *
+ * Each bucket is a single AtomicLong holding its theoretical arrival time
+ * (the GCRA form of a token bucket), so an allowed request costs one map
+ * lookup and one CAS. ConcurrentHashMap provides the striping. Buckets that
+ * have fully refilled are idle and can be evicted without changing behaviour.
+ * When the map is full, a new client makes room by evicting the most refilled
+ * of a small sample of buckets, so every client keeps a bucket of its own.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final int EVICTION_SAMPLE = 16;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxClients;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @param permitsPerMinute Sustained rate
+     * @param burst            Requests allowed back to back from a full bucket
+     * @param maxClients       Maximum number of tracked clients
+     */
+    public TokenBucketRateLimiter(int permitsPerMinute, int burst, int maxClients) {
+        this.emissionIntervalNanos = 60_000_000_000L / permitsPerMinute;
+        this.burstToleranceNanos = emissionIntervalNanos * (Math.max(1, burst) - 1);
+        this.maxClients = maxClients;
+    }
+
+    /**
+     * Tries to take a token for the client.
+     *
+     * @param clientKey Client identifier (IP or API key)
+     * @param nowNanos  Current monotonic time
+     * @return 0 if allowed, otherwise nanoseconds until a token is available
+     */
+    public long tryAcquire(String clientKey, long nowNanos) {
+        AtomicLong bucket = buckets.get(clientKey);
+        if (bucket == null) {
+            if (buckets.size() >= maxClients) {
+                evictSample(nowNanos);
+            }
+            bucket = buckets.computeIfAbsent(clientKey, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+        while (true) {
+            long tat = bucket.get();
+            long base = tat == Long.MIN_VALUE || tat < nowNanos ? nowNanos : tat;
+            long waitNanos = base - burstToleranceNanos - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(tat, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back tokens taken but not used. A bucket never holds more than
+     * its burst, however many tokens are returned.
+     *
+     * @param clientKey Client identifier
+     * @param permits   Tokens to return
+     */
+    public void release(String clientKey, int permits) {
+        AtomicLong bucket = buckets.get(clientKey);
+        if (bucket == null || permits <= 0) {
+            return;
+        }
+        bucket.getAndUpdate(tat -> tat == Long.MIN_VALUE ? tat : tat - emissionIntervalNanos * permits);
+    }
+
+    /**
+     * Removes buckets that have fully refilled.
+     *
+     * @param nowNanos Current monotonic time
+     * @return Number of evicted buckets
+     */
+    public int evictIdle(long nowNanos) {
+        int evicted = 0;
+        Iterator<Map.Entry<String, AtomicLong>> it = buckets.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getValue().get() <= nowNanos) {
+                it.remove();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Evicts the idle buckets among the first few, or else the one closest
+     * to refilled, which loses the least limiting state.
+     */
+    private void evictSample(long nowNanos) {
+        Map.Entry<String, AtomicLong> oldest = null;
+        boolean evicted = false;
+        int sampled = 0;
+        Iterator<Map.Entry<String, AtomicLong>> it = buckets.entrySet().iterator();
+        while (it.hasNext() && sampled++ < EVICTION_SAMPLE) {
+            Map.Entry<String, AtomicLong> entry = it.next();
+            long tat = entry.getValue().get();
+            if (tat <= nowNanos) {
+                it.remove();
+                evicted = true;
+            } else if (oldest == null || tat < oldest.getValue().get()) {
+                oldest = entry;
+            }
+        }
+        if (!evicted && oldest != null) {
+            buckets.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    public int trackedClients() {
+        return buckets.size();
+    }
+}
@@ -1,14 +1,52 @@
 package com.programalilian.backend.controller;
 
-import com.programalilian.backend.domain.User;
+import com.programalilian.backend.domain.Donation.DonationType;
+import com.programalilian.backend.domain.EmailCampaign;
+import com.programalilian.backend.dto.CreateCampaignRequest;
+import com.programalilian.backend.dto.DonationAnalyticsSummary;
+import com.programalilian.backend.dto.DonationFilter;
+import com.programalilian.backend.dto.DonationListItem;
+import com.programalilian.backend.dto.DonationTimeSeries;
+import com.programalilian.backend.dto.DonorHistoryPage;
+import com.programalilian.backend.dto.ListingPage;
+import com.programalilian.backend.dto.MemberFilter;
+import com.programalilian.backend.dto.MemberImportReport;
+import com.programalilian.backend.dto.MemberListItem;
+import com.programalilian.backend.dto.ReconciliationReport;
 import com.programalilian.backend.repository.DonationRepository;
 import com.programalilian.backend.repository.UserRepository;
+import com.programalilian.backend.service.AdminListingService;
+import com.programalilian.backend.service.DonationAnalyticsService;
+import com.programalilian.backend.service.DonationExportService;
+import com.programalilian.backend.service.DonationService;
+import com.programalilian.backend.service.DonationTimeSeriesService;
+import com.programalilian.backend.service.EmailCampaignService;
+import com.programalilian.backend.service.MemberImportService;
+import com.programalilian.backend.service.MemberSearchService;
+import com.programalilian.backend.service.MemberSegmentService;
+import com.programalilian.backend.service.ReconciliationService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST Controller for admin operations.
@@ -20,19 +58,59 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AdminController {
 
+    private static final int RECENT_MEMBERS_LIMIT = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final UserRepository userRepository;
     private final DonationRepository donationRepository;
+    private final DonationService donationService;
+    private final DonationAnalyticsService donationAnalyticsService;
+    private final DonationExportService donationExportService;
+    private final ReconciliationService reconciliationService;
+    private final DonationTimeSeriesService donationTimeSeriesService;
+    private final AdminListingService adminListingService;
+    private final MemberSearchService memberSearchService;
+    private final MemberImportService memberImportService;
+    private final MemberSegmentService memberSegmentService;
+    private final EmailCampaignService emailCampaignService;
+
+    @Value("${app.export.timeout:PT30M}")
+    private Duration exportTimeout;
 
     /**
-     * Get all registered members.
-     * Used by admin panel to display member list.
+     * Get registered members, one page at a time.
+     * Used by admin panel to display member list. Pass {@code cursor} (empty
+     * for the first page) to page by newest first without counting; the next
+     * cursor is returned in the X-Next-Cursor header. Otherwise offset paging
+     * is used and the total is returned in the X-Total-Count header.
      *
-     * @return List of all registered members
+     * @param page   Zero-based page number (default 0)
+     * @param size   Page size (default 50, max 500)
+     * @param sort   createdAt or fullName, with ",asc" or ",desc"
+     * @param plan   Subscription plan filter (optional)
+     * @param from   First registration day (inclusive, optional)
+     * @param to     Last registration day (inclusive, optional)
+     * @param cursor Keyset cursor (optional)
+     * @return Page of members
      */
     @GetMapping("/members")
-    public ResponseEntity<List<User>> getAllMembers() {
-        List<User> members = userRepository.findAll();
-        return ResponseEntity.ok(members);
+    public ResponseEntity<?> getAllMembers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String plan,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor) {
+        try {
+            ListingPage<MemberListItem> members = adminListingService.listMembers(
+                    new MemberFilter(plan, from, to), Math.max(0, page), clampPageSize(size), sort, cursor);
+            return pageResponse(members);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
     }
 
     /**
@@ -58,25 +136,368 @@ public class AdminController {
      * @return List of recently registered members
      */
     @GetMapping("/members/recent")
-    public ResponseEntity<List<User>> getRecentMembers() {
-        // For now, return all members sorted by creation date
-        // In production, you might want to limit this
-        List<User> recentMembers = userRepository.findAll();
-        recentMembers.sort((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()));
-        return ResponseEntity.ok(recentMembers);
+    public ResponseEntity<List<MemberListItem>> getRecentMembers() {
+        return ResponseEntity.ok(adminListingService.recentMembers(RECENT_MEMBERS_LIMIT));
+    }
+
+    /**
+     * Search members by name or email fragment for the admin typeahead.
+     * Case and accent insensitive; tolerates small typos.
+     *
+     * @param q     Text typed by the admin
+     * @param limit Maximum number of results (default 20, max 50)
+     * @return Matching members, best first
+     */
+    @GetMapping("/members/search")
+    public ResponseEntity<List<MemberListItem>> searchMembers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(memberSearchService.search(q, Math.max(1, Math.min(limit, 50))));
+    }
+
+    /**
+     * Evaluate a campaign audience, e.g.
+     * {@code plan:mensual AND birthMonth:10 AND NOT donatedWithin:90}.
+     * Terms: plan, birthMonth, birthDay, cohort (AAAA-MM), donatedWithin
+     * (days), donor and all; ranges are written {@code from..to}.
+     *
+     * @param expr  Segment expression combined with AND, OR, NOT and parentheses
+     * @param limit Maximum number of member ids returned (default 100, max 1000)
+     * @return Member count and ids, 400 if the expression is invalid, or 503
+     *         while the segment indexes are loading
+     */
+    @GetMapping("/segments")
+    public ResponseEntity<?> evaluateSegment(
+            @RequestParam String expr,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(memberSegmentService.evaluate(expr, Math.max(0, Math.min(limit, 1000))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
+    }
+
+    /**
+     * Create a draft email campaign. Subject and body may use {{fullName}},
+     * {{firstName}} and {{email}}; {@code segment} limits the audience with a
+     * segment expression (all members when omitted).
+     *
+     * @param request Subject, body and optional segment
+     * @return The draft campaign, 400 if the template or segment is invalid, or
+     *         503 while the segment indexes are loading
+     */
+    @PostMapping("/campaigns")
+    public ResponseEntity<?> createCampaign(@Valid @RequestBody CreateCampaignRequest request) {
+        try {
+            return ResponseEntity.ok(emailCampaignService.create(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
+    }
+
+    /**
+     * Start sending a draft campaign in the background, or restart a failed
+     * one from its last checkpoint.
+     *
+     * @param id Campaign ID
+     * @return The running campaign, 404 if missing, or 409 if it cannot start
+     */
+    @PostMapping("/campaigns/{id}/start")
+    public ResponseEntity<?> startCampaign(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(emailCampaignService.start(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
+    }
+
+    /**
+     * Cancel a campaign; the page being sent is finished first.
+     *
+     * @param id Campaign ID
+     * @return The cancelled campaign, 404 if missing, or 409 if it already finished
+     */
+    @PostMapping("/campaigns/{id}/cancel")
+    public ResponseEntity<?> cancelCampaign(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(emailCampaignService.cancel(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
     }
 
     /**
-     * Get all donations.
-     * Used by admin panel to display donation list.
+     * Get a campaign with its progress counters.
      *
-     * @return List of all donations
+     * @param id Campaign ID
+     * @return The campaign or 404 if not found
+     */
+    @GetMapping("/campaigns/{id}")
+    public ResponseEntity<EmailCampaign> getCampaign(@PathVariable Long id) {
+        return emailCampaignService.findById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Import members in bulk from a CSV file, e.g. when migrating a partner
+     * organization. Rows are validated like single registrations and emails
+     * already registered are skipped. If the import fails midway, send the
+     * same file again with {@code importId} to resume after the last
+     * committed row.
+     *
+     * @param file     CSV with fullName, email, phone and birthDate columns
+     * @param importId Import to resume (optional)
+     * @return Counts and rejected rows
+     */
+    @PostMapping("/members/import")
+    public ResponseEntity<?> importMembers(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) Long importId) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            MemberImportReport report = memberImportService.importCsv(input, file.getOriginalFilename(), importId);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
+    }
+
+    /**
+     * Get donations, one page at a time, newest first by default.
+     * Used by admin panel to display donation list. Paging works as for
+     * members, with X-Total-Count or X-Next-Cursor response headers. Offset
+     * paging counts every matching row on each page, so the admin panel pages
+     * by cursor and takes its totals from the analytics endpoint.
+     *
+     * @param page      Zero-based page number (default 0)
+     * @param size      Page size (default 50, max 500)
+     * @param sort      createdAt or amount, with ",asc" or ",desc"
+     * @param type      Donation type filter (optional)
+     * @param from      First day (inclusive, optional)
+     * @param to        Last day (inclusive, optional)
+     * @param minAmount Minimum amount (optional)
+     * @param maxAmount Maximum amount (optional)
+     * @param cursor    Keyset cursor (optional)
+     * @return Page of donations
      */
     @GetMapping("/donations")
-    public ResponseEntity<List<com.programalilian.backend.domain.Donation>> getAllDonations() {
-        List<com.programalilian.backend.domain.Donation> donations = donationRepository.findAll();
-        donations.sort((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()));
-        return ResponseEntity.ok(donations);
+    public ResponseEntity<?> getAllDonations(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) DonationType type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String cursor) {
+        try {
+            ListingPage<DonationListItem> donations = adminListingService.listDonations(
+                    new DonationFilter(type, from, to, minAmount, maxAmount),
+                    Math.max(0, page), clampPageSize(size), sort, cursor);
+            return pageResponse(donations);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
+    }
+
+    /**
+     * Get a donor's donation history, newest first, with lifetime totals.
+     * Used by the admin panel for receipts and donor enquiries.
+     *
+     * @param email  Donor email
+     * @param cursor Cursor returned by the previous page (optional)
+     * @param limit  Page size (1-100, default 20)
+     * @return History page with the cursor for the next one
+     */
+    @GetMapping("/donations/history")
+    public ResponseEntity<?> getDonorHistory(
+            @RequestParam String email,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (email.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            DonorHistoryPage history = donationService.getDonorHistory(email, cursor,
+                    Math.max(1, Math.min(limit, 100)));
+            return ResponseEntity.ok(history);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
+    }
+
+    /**
+     * Export donations as CSV or NDJSON for accounting.
+     * Rows are streamed from the database straight into the response, so heap
+     * use does not depend on the number of exported donations. The async
+     * timeout is raised for this request only (app.export.timeout).
+     *
+     * @param format csv (default) or ndjson
+     * @param from   First day (inclusive, optional)
+     * @param to     Last day (inclusive, optional)
+     * @param type   Donation type filter (optional)
+     * @param gzip   Compress the file with gzip
+     * @return Streaming file download
+     */
+    @GetMapping("/donations/export")
+    public ResponseEntity<StreamingResponseBody> exportDonations(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) DonationType type,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletRequest request) {
+        DonationExportService.Format exportFormat;
+        try {
+            exportFormat = DonationExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String extension = exportFormat == DonationExportService.Format.CSV ? "csv" : "ndjson";
+        MediaType mediaType = exportFormat == DonationExportService.Format.CSV
+                ? MediaType.parseMediaType("text/csv")
+                : MediaType.parseMediaType("application/x-ndjson");
+        String filename = "donations." + extension;
+        if (gzip) {
+            filename += ".gz";
+            mediaType = MediaType.parseMediaType("application/gzip");
+        }
+
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportTimeout.toMillis());
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024);
+                donationExportService.export(exportFormat, from, to, type, gzipOut);
+                gzipOut.finish();
+            } else {
+                donationExportService.export(exportFormat, from, to, type, out);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    /**
+     * Reconcile a provider settlement CSV against recorded donations.
+     * Defaults match the MercadoPago settlement report column names.
+     *
+     * @param file         Settlement CSV export
+     * @param idColumn     Header of the transaction ID column
+     * @param amountColumn Header of the amount column
+     * @param dateColumn   Header of the date column, used with from/to
+     * @param from         First day to compare (optional)
+     * @param to           Last day to compare (optional)
+     * @return Missing, extra and amount-mismatched transactions
+     */
+    @PostMapping("/donations/reconcile")
+    public ResponseEntity<?> reconcileDonations(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "SOURCE_ID") String idColumn,
+            @RequestParam(defaultValue = "TRANSACTION_AMOUNT") String amountColumn,
+            @RequestParam(defaultValue = "TRANSACTION_DATE") String dateColumn,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to)
+            throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            ReconciliationReport report = reconciliationService.reconcile(input, idColumn, amountColumn,
+                    dateColumn, from, to);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
+    }
+
+    /**
+     * Get donation counts and totals per day, week or month for the dashboard chart.
+     *
+     * @param granularity day, week or month (default day)
+     * @param from        First day (default 30 days ago)
+     * @param to          Last day (default today)
+     * @return One point per bucket, including empty buckets
+     */
+    @GetMapping("/donations/timeseries")
+    public ResponseEntity<DonationTimeSeries> getDonationTimeSeries(
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        DonationTimeSeriesService.Granularity bucketSize;
+        try {
+            bucketSize = DonationTimeSeriesService.Granularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(30);
+        if (start.isAfter(end) || start.isBefore(end.minusYears(10))) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(donationTimeSeriesService.getTimeSeries(bucketSize, start, end));
+    }
+
+    /**
+     * Get donation analytics for a date range.
+     * Served from the in-memory analytics store, amounts in cents.
+     *
+     * @param from First day (inclusive, optional)
+     * @param to   Last day (inclusive, optional)
+     * @return Totals, median/p90 gift size and counts by weekday and type
+     */
+    @GetMapping("/donations/analytics")
+    public ResponseEntity<DonationAnalyticsSummary> getDonationAnalytics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(donationAnalyticsService.summarize(from, to));
+    }
+
+    /**
+     * Get the top donors by email for a date range.
+     *
+     * @param from  First day (inclusive, optional)
+     * @param to    Last day (inclusive, optional)
+     * @param limit Maximum number of donors (default 10)
+     * @return Donors ordered by total donated
+     */
+    @GetMapping("/donations/analytics/top-donors")
+    public ResponseEntity<DonationAnalyticsSummary.TopDonors> getTopDonors(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(new DonationAnalyticsSummary.TopDonors(from, to,
+                donationAnalyticsService.topDonors(from, to, Math.max(0, Math.min(limit, 100)))));
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Returns the page items as a plain array, with paging metadata in headers
+     * so existing admin panel clients keep working.
+     */
+    private static <T> ResponseEntity<List<T>> pageResponse(ListingPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.totalElements() != null) {
+            response.header(TOTAL_COUNT_HEADER, String.valueOf(page.totalElements()));
+        }
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.programalilian.backend.controller;
 
 import com.programalilian.backend.domain.Content;
+import com.programalilian.backend.dto.ContentListItem;
 import com.programalilian.backend.service.ContentService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
@@ -29,18 +30,18 @@ public class ContentController {
     // ========================================
 
     @GetMapping("/content/published")
-    public ResponseEntity<List<Content>> getPublishedContent() {
+    public ResponseEntity<List<ContentListItem>> getPublishedContent() {
         return ResponseEntity.ok(contentService.getPublishedContent());
     }
 
     @GetMapping("/content/section/{section}")
-    public ResponseEntity<List<Content>> getContentBySection(@PathVariable String section) {
+    public ResponseEntity<List<ContentListItem>> getContentBySection(@PathVariable String section) {
         return ResponseEntity.ok(contentService.getContentBySection(section));
     }
 
     @GetMapping("/content/single/{section}")
-    public ResponseEntity<Content> getSingleContentBySection(@PathVariable String section) {
-        Content content = contentService.getSingleContentBySection(section);
+    public ResponseEntity<ContentListItem> getSingleContentBySection(@PathVariable String section) {
+        ContentListItem content = contentService.getSingleContentBySection(section);
         if (content != null) {
             return ResponseEntity.ok(content);
         }
@@ -48,7 +49,7 @@ public class ContentController {
     }
 
     @GetMapping("/content/upcoming")
-    public ResponseEntity<List<Content>> getUpcomingContent() {
+    public ResponseEntity<List<ContentListItem>> getUpcomingContent() {
         return ResponseEntity.ok(contentService.getUpcomingContent());
     }
 
@@ -80,7 +81,7 @@ public class ContentController {
     // ========================================
 
     @GetMapping("/admin/content")
-    public ResponseEntity<List<Content>> getAllContent() {
+    public ResponseEntity<List<ContentListItem>> getAllContent() {
         return ResponseEntity.ok(contentService.getAllContent());
     }
 
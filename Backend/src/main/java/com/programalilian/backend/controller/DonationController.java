@@ -1,12 +1,19 @@
 package com.programalilian.backend.controller;
 
 import com.programalilian.backend.domain.Donation;
+import com.programalilian.backend.dto.BulkIngestionResult;
+import com.programalilian.backend.dto.SubscriptionPaymentBatch;
 import com.programalilian.backend.service.DonationService;
+import com.programalilian.backend.service.DuplicateTransactionFilter;
+import com.programalilian.backend.service.SubscriptionIngestionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
 
@@ -17,10 +24,33 @@ import java.math.BigDecimal;
 @RestController
 @RequestMapping("/api/donations")
 @Tag(name = "Donation Management", description = "APIs for processing donations and handling payments")
-@RequiredArgsConstructor
 public class DonationController {
 
     private final DonationService donationService;
+    private final DuplicateTransactionFilter duplicateTransactionFilter;
+    private final SubscriptionIngestionService subscriptionIngestionService;
+    private final MeterRegistry meterRegistry;
+    private final Timer donationTimer;
+    private final Timer webhookTimer;
+    private final Timer subscriptionsBulkTimer;
+    private final Counter subscriptionsBulkDuplicates;
+
+    public DonationController(DonationService donationService,
+            DuplicateTransactionFilter duplicateTransactionFilter,
+            SubscriptionIngestionService subscriptionIngestionService,
+            MeterRegistry meterRegistry) {
+        this.donationService = donationService;
+        this.duplicateTransactionFilter = duplicateTransactionFilter;
+        this.subscriptionIngestionService = subscriptionIngestionService;
+        this.meterRegistry = meterRegistry;
+        this.donationTimer = ingestTimer(meterRegistry, "donation");
+        this.webhookTimer = ingestTimer(meterRegistry, "webhook");
+        this.subscriptionsBulkTimer = ingestTimer(meterRegistry, "subscriptions_bulk");
+        this.subscriptionsBulkDuplicates = Counter.builder("donations.duplicates.rejected")
+                .description("Payments rejected because their transaction ID was already recorded")
+                .tag("source", "subscriptions_bulk")
+                .register(meterRegistry);
+    }
 
     /**
      * Processes a one-time donation.
@@ -39,8 +69,10 @@ public class DonationController {
             @RequestParam @NotNull @Positive BigDecimal amount,
             @RequestParam @NotBlank String transactionId) {
 
+        Timer.Sample sample = Timer.start(meterRegistry);
         Donation donation = donationService.processOneTimeDonation(
                 donorName, email, amount, transactionId);
+        sample.stop(donationTimer);
 
         return ResponseEntity.status(201).body(donation);
     }
@@ -58,9 +90,17 @@ public class DonationController {
             @PathVariable String transactionId,
             @RequestParam String status) {
 
+        // Providers resend notifications; acknowledge exact redeliveries without touching the DB
+        if (duplicateTransactionFilter.isKnownDuplicate(transactionId, status)) {
+            return ResponseEntity.ok("Payment already processed");
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
         boolean isValid = donationService.validatePayment(transactionId, status);
+        sample.stop(webhookTimer);
 
         if (isValid) {
+            duplicateTransactionFilter.markProcessed(transactionId, status);
             // In production, this would trigger email notifications,
             // receipt generation, and other post-payment processes
             return ResponseEntity.ok("Payment validated successfully");
@@ -69,6 +109,25 @@ public class DonationController {
         }
     }
 
+    /**
+     * Records a batch of subscription payment notifications at once.
+     * Used for billing-cycle bursts instead of one request per renewal.
+     *
+     * @param batch Subscription payment events
+     * @return Counts of recorded, duplicate, unmatched and failed events
+     */
+    @PostMapping("/subscriptions/bulk")
+    public ResponseEntity<BulkIngestionResult> ingestSubscriptionPayments(
+            @Valid @RequestBody SubscriptionPaymentBatch batch) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        BulkIngestionResult result = subscriptionIngestionService.ingest(batch.events());
+        sample.stop(subscriptionsBulkTimer);
+        if (result.duplicates() > 0) {
+            subscriptionsBulkDuplicates.increment(result.duplicates());
+        }
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Gets donation statistics (placeholder for future analytics).
      * Could return total amounts, counts by type, etc.
@@ -80,4 +139,11 @@ public class DonationController {
         // Placeholder - would return actual statistics
         return ResponseEntity.ok("Donation analytics will be available soon");
     }
+
+    private static Timer ingestTimer(MeterRegistry meterRegistry, String source) {
+        return Timer.builder("donations.ingest")
+                .description("Time to record donations and payment notifications")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
 }
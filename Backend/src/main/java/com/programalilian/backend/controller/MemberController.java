@@ -2,6 +2,9 @@ package com.programalilian.backend.controller;
 
 import com.programalilian.backend.domain.User;
 import com.programalilian.backend.dto.CreateMemberRequest;
+import com.programalilian.backend.dto.SubscriptionStatusBatch;
+import com.programalilian.backend.dto.SubscriptionSyncResult;
+import com.programalilian.backend.service.SubscriptionSyncService;
 import com.programalilian.backend.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -25,6 +28,7 @@ import java.util.Optional;
 public class MemberController {
 
     private final UserService userService;
+    private final SubscriptionSyncService subscriptionSyncService;
 
     /**
      * Registers a new member in the system.
@@ -36,12 +40,17 @@ public class MemberController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Member successfully created"),
             @ApiResponse(responseCode = "400", description = "Invalid member data"),
+            @ApiResponse(responseCode = "409", description = "Email already registered"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping
-    public ResponseEntity<User> registerMember(@Valid @RequestBody CreateMemberRequest request) {
-        User createdUser = userService.createMember(request);
-        return ResponseEntity.status(201).body(createdUser);
+    public ResponseEntity<?> registerMember(@Valid @RequestBody CreateMemberRequest request) {
+        try {
+            User createdUser = userService.createMember(request);
+            return ResponseEntity.status(201).body(createdUser);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
     }
 
     /**
@@ -52,47 +61,43 @@ public class MemberController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<User> getMember(@PathVariable Long id) {
-        // Note: This is a simple implementation. In practice, you'd want
-        // proper user retrieval that checks permissions
-        Optional<User> user = findUserById(id);
+        Optional<User> user = userService.findById(id);
         return user.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     /**
-     * Updates the payment subscription ID for a member.
+     * Updates the payment subscription ID and plan for a member.
      * Called after successful MercadoPago subscription creation.
      *
      * @param id             Member ID
      * @param subscriptionId MercadoPago subscription identifier
-     * @return Updated member data
+     * @param planType       Plan type (optional)
+     * @return Confirmation message, or 404 if the member does not exist
      */
     @PutMapping("/{id}/subscription")
     public ResponseEntity<String> updateSubscription(
             @PathVariable Long id,
             @RequestParam String subscriptionId,
             @RequestParam(required = false) String planType) {
-
-        userService.updatePaymentSubscription(id, subscriptionId);
-        if (planType != null) {
-            // Update subscription plan
-            Optional<User> userOpt = userService.findById(id);
-            if (userOpt.isPresent()) {
-                User user = userOpt.get();
-                user.setSubscriptionPlan(planType);
-                userService.save(user);
-            }
+        try {
+            userService.updateSubscription(id, subscriptionId, planType);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
         }
         return ResponseEntity.ok("Subscription updated successfully");
     }
 
     /**
-     * Helper method to find user by ID - placeholder for actual implementation.
-     * In a real application, this would be implemented in the service layer.
+     * Reconciles subscription statuses reported by MercadoPago in bulk, e.g.
+     * from a nightly export of preapprovals.
+     *
+     * @param batch Subscription statuses and optional plans
+     * @return Counts of updated, unchanged and unknown subscriptions
      */
-    private Optional<User> findUserById(Long id) {
-        // Placeholder - this would be replaced with actual service method
-        // For now, we'll return empty as we haven't implemented findById in UserService
-        return Optional.empty();
+    @PostMapping("/subscriptions/sync")
+    public ResponseEntity<SubscriptionSyncResult> syncSubscriptions(
+            @Valid @RequestBody SubscriptionStatusBatch batch) {
+        return ResponseEntity.ok(subscriptionSyncService.sync(batch.updates()));
     }
 }
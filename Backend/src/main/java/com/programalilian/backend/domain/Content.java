@@ -1,5 +1,6 @@
 package com.programalilian.backend.domain;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -38,6 +39,8 @@ public class Content {
     @Column(columnDefinition = "TEXT")
     private String subtitle;
 
+    // Accepted on writes but never serialized; clients load it from /api/content/image/{id}
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(columnDefinition = "MEDIUMBLOB")
     private byte[] imageData; // Binary image data
 
@@ -58,4 +61,9 @@ public class Content {
 
     @LastModifiedDate
     private LocalDateTime updatedAt;
+
+    @JsonProperty("hasImage")
+    public boolean hasImage() {
+        return imageData != null && imageData.length > 0;
+    }
 }
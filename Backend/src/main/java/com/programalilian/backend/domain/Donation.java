@@ -12,7 +12,12 @@ import java.time.LocalDateTime;
  * Includes validation constraints for data integrity.
  */
 @Entity
-@Table(name = "donations")
+@Table(name = "donations", indexes = {
+        @Index(name = "idx_donations_email_created_id", columnList = "email, createdAt, id"),
+        @Index(name = "idx_donations_created_id", columnList = "createdAt, id"),
+        @Index(name = "idx_donations_type_created", columnList = "type, createdAt"),
+        @Index(name = "idx_donations_amount", columnList = "amount")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -38,7 +43,9 @@ public class Donation {
 
     @NotBlank(message = "Transaction ID is required")
     @Size(max = 255, message = "Transaction ID must be less than 255 characters")
-    @Column(unique = true, length = 255, nullable = false)
+    // Binary collation, so the unique index orders IDs the way String.compareTo does (reconciliation merge)
+    @Column(unique = true, length = 255, nullable = false,
+            columnDefinition = "VARCHAR(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin")
     private String transactionId;
 
     @NotNull(message = "Donation type is required")
@@ -0,0 +1,39 @@
+package com.programalilian.backend.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Maintained lifetime totals per donor email.
+ * Updated with every recorded donation so donor history never has to
+ * aggregate over all of a donor's rows.
+ */
+@Entity
+@Table(name = "donor_summaries")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DonorSummary {
+
+    /**
+     * Normalized (trimmed, lower-case) donor email.
+     */
+    @Id
+    @Column(length = 255)
+    private String email;
+
+    @Column(nullable = false)
+    private long donationCount;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private LocalDateTime firstDonationAt;
+
+    @Column(nullable = false)
+    private LocalDateTime lastDonationAt;
+}
@@ -0,0 +1,76 @@
+package com.programalilian.backend.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Domain entity for a bulk email campaign sent to members.
+ * Recipients are walked in member id order and {@code lastMemberId} is the
+ * checkpoint after the last fully sent page, so a campaign interrupted by a
+ * restart resumes where it stopped.
+ */
+@Entity
+@Table(name = "email_campaigns", indexes = {
+        @Index(name = "idx_email_campaigns_status", columnList = "status")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailCampaign {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 255)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    /**
+     * Segment expression selecting the audience; all members when null.
+     */
+    @Column(length = 1000)
+    private String segment;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(nullable = false)
+    private long lastMemberId;
+
+    @Column(nullable = false)
+    private long sent;
+
+    /**
+     * Messages the SMTP server rejected, handed to the email outbox for retry.
+     */
+    @Column(nullable = false)
+    private long deferred;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime completedAt;
+
+    /**
+     * Progress of a campaign.
+     */
+    public enum Status {
+        DRAFT,
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+}
@@ -0,0 +1,60 @@
+package com.programalilian.backend.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Domain entity tracking a bulk member CSV import.
+ * {@code rowsProcessed} is the last data row committed, so an interrupted
+ * import can be resumed by uploading the same file again.
+ */
+@Entity
+@Table(name = "member_imports")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberImport {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 255)
+    private String filename;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(nullable = false)
+    private long rowsProcessed;
+
+    @Column(nullable = false)
+    private int imported;
+
+    @Column(nullable = false)
+    private int duplicates;
+
+    @Column(nullable = false)
+    private int invalid;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Progress of an import.
+     */
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
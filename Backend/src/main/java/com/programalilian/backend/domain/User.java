@@ -4,13 +4,20 @@ import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 /**
  * Domain entity representing a member of Programa Lilian.
  * Handles member registration for fundraising and communication.
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_created_id", columnList = "createdAt, id"),
+        @Index(name = "idx_users_plan_created", columnList = "subscriptionPlan, createdAt"),
+        @Index(name = "idx_users_full_name", columnList = "fullName")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_users_email_canonical", columnNames = "emailCanonical")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -24,9 +31,16 @@ public class User {
     @Column(nullable = false, length = 255)
     private String fullName;
 
-    @Column(nullable = false, unique = true, length = 255)
+    @Column(nullable = false, length = 255)
     private String email;
 
+    /**
+     * Trimmed, lowercase email. Uniqueness is enforced on this column so
+     * addresses differing only in case or spaces are the same member.
+     */
+    @Column(nullable = false, length = 255)
+    private String emailCanonical;
+
     @Column(length = 20)
     private String phone;
 
@@ -39,10 +53,31 @@ public class User {
     @Column(length = 255)
     private String subscriptionId;
 
+    /**
+     * Last subscription status reported by MercadoPago (authorized, paused, cancelled...).
+     */
+    @Column(length = 20)
+    private String subscriptionStatus;
+
+    @Column
+    private LocalDateTime lastPaymentAt;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    @PrePersist
+    @PreUpdate
+    void canonicalizeEmail() {
+        emailCanonical = canonicalEmail(email);
+    }
+
+    /**
+     * Canonical form used to compare member emails.
+     */
+    public static String canonicalEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
 }
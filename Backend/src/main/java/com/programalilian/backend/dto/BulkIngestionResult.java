@@ -0,0 +1,17 @@
+package com.programalilian.backend.dto;
+
+import java.util.List;
+
+/**
+ * DTO summarizing a bulk subscription payment ingestion.
+ * {@code unknownSubscriptionIds} is capped; the count is always exact.
+ * {@code failed} counts events in chunks that could not be committed.
+ */
+public record BulkIngestionResult(
+        int received,
+        int recorded,
+        int duplicates,
+        int unknownSubscriptions,
+        int failed,
+        List<String> unknownSubscriptionIds) {
+}
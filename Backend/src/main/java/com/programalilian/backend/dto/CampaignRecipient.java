@@ -0,0 +1,11 @@
+package com.programalilian.backend.dto;
+
+/**
+ * Projection of the member columns needed to address a campaign email.
+ * Selected directly by JPQL so no entity is hydrated.
+ */
+public record CampaignRecipient(
+        Long id,
+        String fullName,
+        String email) {
+}
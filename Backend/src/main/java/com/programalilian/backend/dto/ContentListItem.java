@@ -0,0 +1,39 @@
+package com.programalilian.backend.dto;
+
+import com.programalilian.backend.domain.Content;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a content entry for public and admin listings.
+ * Selected directly by JPQL without the image column, which is only read
+ * by the image endpoint; {@code hasImage} is computed by the query. Serializes
+ * to the same JSON as {@link Content}.
+ */
+public record ContentListItem(
+        Long id,
+        String section,
+        String subtype,
+        String title,
+        String content,
+        String subtitle,
+        String imageType,
+        String buttonText1,
+        String buttonUrl1,
+        String buttonText2,
+        String buttonUrl2,
+        String date,
+        String link,
+        Boolean published,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        boolean hasImage) {
+
+    public static ContentListItem from(Content content) {
+        return new ContentListItem(content.getId(), content.getSection(), content.getSubtype(),
+                content.getTitle(), content.getContent(), content.getSubtitle(), content.getImageType(),
+                content.getButtonText1(), content.getButtonUrl1(), content.getButtonText2(),
+                content.getButtonUrl2(), content.getDate(), content.getLink(), content.getPublished(),
+                content.getCreatedAt(), content.getUpdatedAt(), content.hasImage());
+    }
+}
@@ -0,0 +1,18 @@
+package com.programalilian.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO for email campaign creation requests.
+ * Subject and body may use the {{fullName}}, {{firstName}} and {{email}}
+ * placeholders; segment is an optional segment expression.
+ */
+public record CreateCampaignRequest(
+
+        @NotBlank(message = "Asunto es requerido") @Size(max = 255, message = "Asunto debe tener menos de 255 caracteres") String subject,
+
+        @NotBlank(message = "Cuerpo es requerido") String body,
+
+        @Size(max = 1000, message = "Segmento debe tener menos de 1000 caracteres") String segment) {
+}
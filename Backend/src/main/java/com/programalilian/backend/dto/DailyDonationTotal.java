@@ -0,0 +1,10 @@
+package com.programalilian.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Donation count and amount for a single day, as grouped by the database.
+ */
+public record DailyDonationTotal(LocalDate day, long count, BigDecimal total) {
+}
@@ -0,0 +1,32 @@
+package com.programalilian.backend.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO with aggregated donation figures for a date range.
+ * Amounts are expressed in cents to keep the query path free of BigDecimal.
+ */
+public record DonationAnalyticsSummary(
+        LocalDate from,
+        LocalDate to,
+        long count,
+        long totalCents,
+        long medianCents,
+        long p90Cents,
+        long oneTimeCount,
+        long subscriptionCount,
+        long[] countsByWeekday) {
+
+    /**
+     * Total donated by a single donor email within the range.
+     */
+    public record TopDonor(String email, long totalCents, long count) {
+    }
+
+    /**
+     * Wrapper for the top donors list so the endpoint returns an object.
+     */
+    public record TopDonors(LocalDate from, LocalDate to, List<TopDonor> donors) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.programalilian.backend.dto;
+
+import com.programalilian.backend.domain.Donation.DonationType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of the donation columns used by analytics.
+ * Avoids hydrating full entities when loading large volumes of donations.
+ */
+public record DonationFact(
+        Long id,
+        BigDecimal amount,
+        LocalDateTime createdAt,
+        DonationType type,
+        String email) {
+}
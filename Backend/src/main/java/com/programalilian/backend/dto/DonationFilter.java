@@ -0,0 +1,19 @@
+package com.programalilian.backend.dto;
+
+import com.programalilian.backend.domain.Donation.DonationType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Optional filters for the admin donation listing. Null fields are ignored.
+ *
+ * @param type      Donation type
+ * @param from      First day (inclusive)
+ * @param to        Last day (inclusive)
+ * @param minAmount Minimum amount (inclusive)
+ * @param maxAmount Maximum amount (inclusive)
+ */
+public record DonationFilter(DonationType type, LocalDate from, LocalDate to,
+        BigDecimal minAmount, BigDecimal maxAmount) {
+}
@@ -0,0 +1,21 @@
+package com.programalilian.backend.dto;
+
+import com.programalilian.backend.domain.Donation.DonationType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight projection of a donation for admin listings.
+ * Selected directly by JPQL so no entity is hydrated.
+ */
+public record DonationListItem(
+        Long id,
+        String donorName,
+        String email,
+        BigDecimal amount,
+        String transactionId,
+        DonationType type,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,21 @@
+package com.programalilian.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for the donations chart: one point per day, week or month.
+ */
+public record DonationTimeSeries(
+        String granularity,
+        LocalDate from,
+        LocalDate to,
+        List<Point> points) {
+
+    /**
+     * Totals for the bucket starting on {@code start}.
+     */
+    public record Point(LocalDate start, long count, BigDecimal total) {
+    }
+}
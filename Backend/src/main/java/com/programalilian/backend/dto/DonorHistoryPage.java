@@ -0,0 +1,28 @@
+package com.programalilian.backend.dto;
+
+import com.programalilian.backend.domain.Donation.DonationType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for one page of a donor's donation history.
+ * {@code nextCursor} is null on the last page.
+ */
+public record DonorHistoryPage(
+        String email,
+        long lifetimeCount,
+        BigDecimal lifetimeTotal,
+        LocalDateTime firstDonationAt,
+        LocalDateTime lastDonationAt,
+        List<Item> donations,
+        String nextCursor) {
+
+    /**
+     * A single donation in the history.
+     */
+    public record Item(Long id, BigDecimal amount, DonationType type, String transactionId,
+            LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.programalilian.backend.dto;
+
+import java.util.List;
+
+/**
+ * One page of an admin listing.
+ * {@code totalElements} is only set for offset paging and {@code nextCursor}
+ * only for keyset paging when more rows follow.
+ */
+public record ListingPage<T>(List<T> items, Long totalElements, String nextCursor) {
+}
@@ -0,0 +1,13 @@
+package com.programalilian.backend.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters for the admin member listing. Null fields are ignored.
+ *
+ * @param plan Subscription plan name
+ * @param from First registration day (inclusive)
+ * @param to   Last registration day (inclusive)
+ */
+public record MemberFilter(String plan, LocalDate from, LocalDate to) {
+}
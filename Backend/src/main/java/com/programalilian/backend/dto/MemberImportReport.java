@@ -0,0 +1,29 @@
+package com.programalilian.backend.dto;
+
+import com.programalilian.backend.domain.MemberImport.Status;
+
+import java.util.List;
+
+/**
+ * DTO with the outcome of a bulk member import.
+ * Counts cover every run of the import; {@code errors} lists the rejected
+ * rows of this run only and is capped, with {@code truncated} set when more
+ * rows were rejected than listed.
+ */
+public record MemberImportReport(
+        Long importId,
+        Status status,
+        long resumedAfterRow,
+        long rowsProcessed,
+        int imported,
+        int duplicates,
+        int invalid,
+        List<RowError> errors,
+        boolean truncated) {
+
+    /**
+     * A rejected CSV row. Row numbers start at 1 on the first line after the header.
+     */
+    public record RowError(long row, String email, String message) {
+    }
+}
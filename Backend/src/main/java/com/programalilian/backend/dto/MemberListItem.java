@@ -0,0 +1,18 @@
+package com.programalilian.backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight projection of a member for admin listings.
+ * Selected directly by JPQL so no entity is hydrated.
+ */
+public record MemberListItem(
+        Long id,
+        String fullName,
+        String email,
+        String phone,
+        LocalDate birthDate,
+        String subscriptionPlan,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,17 @@
+package com.programalilian.backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the member columns indexed for audience segmentation.
+ * Selected directly by JPQL so no entity is hydrated.
+ */
+public record MemberSegmentRow(
+        Long id,
+        String emailCanonical,
+        String subscriptionPlan,
+        LocalDate birthDate,
+        LocalDateTime createdAt,
+        LocalDateTime lastPaymentAt) {
+}
@@ -0,0 +1,50 @@
+package com.programalilian.backend.dto;
+
+import com.programalilian.backend.domain.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of a member held by the member lookup cache.
+ * Callers receive a fresh {@link User} from {@link #toUser()}, so changes to
+ * a returned entity never leak into the cache.
+ */
+public record MemberSnapshot(
+        Long id,
+        String fullName,
+        String email,
+        String emailCanonical,
+        String phone,
+        LocalDate birthDate,
+        String subscriptionPlan,
+        String subscriptionId,
+        String subscriptionStatus,
+        LocalDateTime lastPaymentAt,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public static MemberSnapshot from(User user) {
+        return new MemberSnapshot(user.getId(), user.getFullName(), user.getEmail(),
+                User.canonicalEmail(user.getEmail()), user.getPhone(), user.getBirthDate(),
+                user.getSubscriptionPlan(), user.getSubscriptionId(), user.getSubscriptionStatus(),
+                user.getLastPaymentAt(), user.getCreatedAt(), user.getUpdatedAt());
+    }
+
+    public User toUser() {
+        return User.builder()
+                .id(id)
+                .fullName(fullName)
+                .email(email)
+                .emailCanonical(emailCanonical)
+                .phone(phone)
+                .birthDate(birthDate)
+                .subscriptionPlan(subscriptionPlan)
+                .subscriptionId(subscriptionId)
+                .subscriptionStatus(subscriptionStatus)
+                .lastPaymentAt(lastPaymentAt)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
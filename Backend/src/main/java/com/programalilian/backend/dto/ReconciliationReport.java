@@ -0,0 +1,33 @@
+package com.programalilian.backend.dto;
+
+import java.util.List;
+
+/**
+ * DTO with the result of reconciling a provider settlement file against
+ * the donations table. Amounts are in cents; detail lists are capped and
+ * {@code truncated} is set when more differences exist than were listed.
+ */
+public record ReconciliationReport(
+        long providerRows,
+        long donationRows,
+        long matched,
+        long missingCount,
+        long extraCount,
+        long mismatchCount,
+        List<Entry> missing,
+        List<Entry> extra,
+        List<Mismatch> mismatched,
+        boolean truncated) {
+
+    /**
+     * A transaction present on only one side.
+     */
+    public record Entry(String transactionId, long amountCents) {
+    }
+
+    /**
+     * A transaction present on both sides with different amounts.
+     */
+    public record Mismatch(String transactionId, long providerAmountCents, long donationAmountCents) {
+    }
+}
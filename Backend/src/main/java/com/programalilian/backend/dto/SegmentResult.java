@@ -0,0 +1,20 @@
+package com.programalilian.backend.dto;
+
+import java.util.List;
+
+/**
+ * Result of evaluating a member segment expression.
+ *
+ * @param expression       The evaluated expression
+ * @param count            Number of matching members
+ * @param memberIds        Ids of the first matching members
+ * @param truncated        True when more members matched than ids returned
+ * @param evaluationMicros Time spent evaluating the expression
+ */
+public record SegmentResult(
+        String expression,
+        int count,
+        List<Long> memberIds,
+        boolean truncated,
+        long evaluationMicros) {
+}
@@ -0,0 +1,24 @@
+package com.programalilian.backend.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a subscription payment notification from MercadoPago.
+ * {@code paidAt} defaults to the ingestion time when absent.
+ */
+public record SubscriptionPaymentEvent(
+
+        @NotBlank(message = "Subscription ID es requerido") @Size(max = 255) String subscriptionId,
+
+        @NotBlank(message = "Transaction ID es requerido") @Size(max = 255) String transactionId,
+
+        @NotNull(message = "Monto es requerido") @DecimalMin(value = "0.01", message = "Monto debe ser mayor a 0") @Digits(integer = 8, fraction = 2) BigDecimal amount,
+
+        LocalDateTime paidAt) {
+}
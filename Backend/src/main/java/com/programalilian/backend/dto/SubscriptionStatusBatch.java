@@ -0,0 +1,14 @@
+package com.programalilian.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * DTO for a batch of subscription statuses to reconcile.
+ */
+public record SubscriptionStatusBatch(
+
+        @NotEmpty(message = "El lote no puede estar vacío") @Size(max = 10000, message = "El lote admite hasta 10000 suscripciones") List<@Valid SubscriptionStatusUpdate> updates) {
+}
@@ -0,0 +1,17 @@
+package com.programalilian.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO for one subscription status reported by MercadoPago.
+ * {@code planType} is optional and left unchanged when absent.
+ */
+public record SubscriptionStatusUpdate(
+
+        @NotBlank(message = "Subscription ID es requerido") @Size(max = 255) String subscriptionId,
+
+        @NotBlank(message = "Estado es requerido") @Size(max = 20, message = "Estado debe tener menos de 20 caracteres") String status,
+
+        @Size(max = 50, message = "Plan debe tener menos de 50 caracteres") String planType) {
+}
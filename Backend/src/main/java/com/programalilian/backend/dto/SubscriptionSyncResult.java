@@ -0,0 +1,15 @@
+package com.programalilian.backend.dto;
+
+import java.util.List;
+
+/**
+ * DTO summarizing a bulk subscription status sync.
+ * {@code unknownSubscriptionIds} is capped; the count is always exact.
+ */
+public record SubscriptionSyncResult(
+        int received,
+        int updated,
+        int unchanged,
+        int unknownSubscriptions,
+        List<String> unknownSubscriptionIds) {
+}
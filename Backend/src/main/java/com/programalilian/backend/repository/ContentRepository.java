@@ -1,6 +1,8 @@
 package com.programalilian.backend.repository;
 
 import com.programalilian.backend.domain.Content;
+import com.programalilian.backend.dto.ContentListItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,9 +12,25 @@ import java.util.List;
 public interface ContentRepository extends JpaRepository<Content, Long> {
 
     /**
-     * Find all published content
+     * Content columns except the image, with whether an image is stored
      */
-    List<Content> findByPublishedTrue();
+    String CONTENT_LIST_ITEM = "SELECT new com.programalilian.backend.dto.ContentListItem("
+            + "c.id, c.section, c.subtype, c.title, c.content, c.subtitle, c.imageType, "
+            + "c.buttonText1, c.buttonUrl1, c.buttonText2, c.buttonUrl2, c.date, c.link, c.published, "
+            + "c.createdAt, c.updatedAt, CASE WHEN c.imageData IS NOT NULL THEN true ELSE false END) "
+            + "FROM Content c ";
+
+    /**
+     * Find all content without reading images
+     */
+    @Query(CONTENT_LIST_ITEM + "ORDER BY c.id ASC")
+    List<ContentListItem> findAllListItems();
+
+    /**
+     * Find all published content without reading images
+     */
+    @Query(CONTENT_LIST_ITEM + "WHERE c.published = true ORDER BY c.id ASC")
+    List<ContentListItem> findPublishedListItems();
 
     /**
      * Find content by section
@@ -20,18 +38,20 @@ public interface ContentRepository extends JpaRepository<Content, Long> {
     List<Content> findBySection(String section);
 
     /**
-     * Find published content by section
+     * Find published content by section without reading images
      */
-    List<Content> findBySectionAndPublishedTrue(String section);
+    @Query(CONTENT_LIST_ITEM + "WHERE c.section = :section AND c.published = true ORDER BY c.id ASC")
+    List<ContentListItem> findPublishedListItemsBySection(@Param("section") String section);
 
     /**
-     * Find published single content (for hero, about)
+     * Find the newest published content of a section (for hero, about), limited by the pageable
      */
-    @Query("SELECT c FROM Content c WHERE c.section = :section AND c.published = true ORDER BY c.createdAt DESC")
-    Content findTopBySectionAndPublishedOrderByCreatedAtDesc(@Param("section") String section);
+    @Query(CONTENT_LIST_ITEM + "WHERE c.section = :section AND c.published = true ORDER BY c.createdAt DESC")
+    List<ContentListItem> findNewestPublishedListItems(@Param("section") String section, Pageable pageable);
 
     /**
-     * Find content by multiple sections and published status
+     * Find published content of multiple sections without reading images
      */
-    List<Content> findBySectionInAndPublishedTrue(List<String> sections);
+    @Query(CONTENT_LIST_ITEM + "WHERE c.section IN :sections AND c.published = true")
+    List<ContentListItem> findPublishedListItemsBySectionIn(@Param("sections") List<String> sections);
 }
@@ -2,14 +2,26 @@ package com.programalilian.backend.repository;
 
 import com.programalilian.backend.domain.Donation;
 import com.programalilian.backend.domain.Donation.DonationType;
+import com.programalilian.backend.dto.DailyDonationTotal;
+import com.programalilian.backend.dto.DonationFact;
+import com.programalilian.backend.dto.DonationListItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Donation entity operations.
@@ -18,6 +30,16 @@ import java.util.Optional;
 @Repository
 public interface DonationRepository extends JpaRepository<Donation, Long> {
 
+        String DONATION_LIST_ITEM = "SELECT new com.programalilian.backend.dto.DonationListItem("
+                        + "d.id, d.donorName, d.email, d.amount, d.transactionId, d.type, d.createdAt, d.updatedAt) "
+                        + "FROM Donation d ";
+
+        String DONATION_FILTER = "WHERE (:type IS NULL OR d.type = :type) "
+                        + "AND (:startDate IS NULL OR d.createdAt >= :startDate) "
+                        + "AND (:endDate IS NULL OR d.createdAt < :endDate) "
+                        + "AND (:minAmount IS NULL OR d.amount >= :minAmount) "
+                        + "AND (:maxAmount IS NULL OR d.amount <= :maxAmount) ";
+
         /**
          * Find donation by MercadoPago transaction ID.
          * 
@@ -34,6 +56,15 @@ public interface DonationRepository extends JpaRepository<Donation, Long> {
          */
         boolean existsByTransactionId(String transactionId);
 
+        /**
+         * Return which of the given transaction IDs are already recorded.
+         *
+         * @param transactionIds Transaction IDs to check
+         * @return The subset that already exists
+         */
+        @Query("SELECT d.transactionId FROM Donation d WHERE d.transactionId IN :transactionIds")
+        Set<String> findExistingTransactionIds(@Param("transactionIds") Collection<String> transactionIds);
+
         /**
          * Find donations by type (ONE_TIME or SUBSCRIPTION).
          * 
@@ -50,6 +81,18 @@ public interface DonationRepository extends JpaRepository<Donation, Long> {
          */
         List<Donation> findByEmail(String email);
 
+        /**
+         * Rewrite emails stored before donations were recorded with the
+         * canonical (trimmed, lowercase) form. Only rows that differ under the
+         * column collation are touched, which are the ones lookups by the
+         * canonical email would miss.
+         *
+         * @return Number of rewritten donations
+         */
+        @Modifying
+        @Query("UPDATE Donation d SET d.email = LOWER(TRIM(d.email)) WHERE d.email <> LOWER(TRIM(d.email))")
+        int canonicalizeEmails();
+
         /**
          * Calculate total amount donated between dates.
          *
@@ -74,6 +117,20 @@ public interface DonationRepository extends JpaRepository<Donation, Long> {
                         @Param("startDate") LocalDateTime startDate,
                         @Param("endDate") LocalDateTime endDate);
 
+        /**
+         * Count and sum donations per day in a single GROUP BY.
+         *
+         * @param startDate Inclusive lower bound
+         * @param endDate   Exclusive upper bound
+         * @return One row per day that has donations, ordered by day
+         */
+        @Query("SELECT new com.programalilian.backend.dto.DailyDonationTotal("
+                        + "cast(d.createdAt as LocalDate), COUNT(d), SUM(d.amount)) "
+                        + "FROM Donation d WHERE d.createdAt >= :startDate AND d.createdAt < :endDate "
+                        + "GROUP BY cast(d.createdAt as LocalDate) ORDER BY cast(d.createdAt as LocalDate)")
+        List<DailyDonationTotal> sumByDay(@Param("startDate") LocalDateTime startDate,
+                        @Param("endDate") LocalDateTime endDate);
+
         /**
          * Find recent donations for a specific email.
          * 
@@ -81,7 +138,128 @@ public interface DonationRepository extends JpaRepository<Donation, Long> {
          * @param limit Maximum number of results
          * @return List of recent donations ordered by creation date desc
          */
-        @Query("SELECT d FROM Donation d WHERE d.email = :email ORDER BY d.createdAt DESC")
+        @Query("SELECT d FROM Donation d WHERE d.email = :email ORDER BY d.createdAt DESC, d.id DESC")
         List<Donation> findRecentByEmail(@Param("email") String email,
                         org.springframework.data.domain.Pageable pageable);
+
+        /**
+         * Find the next page of a donor's history after a keyset cursor.
+         * Served by the (email, created_at, id) index without an offset scan.
+         *
+         * @param email     Donor email
+         * @param createdAt Creation date of the last row already returned
+         * @param id        ID of the last row already returned
+         * @param pageable  Page size (page number must be 0)
+         * @return Older donations ordered by creation date desc, id desc
+         */
+        @Query("SELECT d FROM Donation d WHERE d.email = :email "
+                        + "AND (d.createdAt < :createdAt OR (d.createdAt = :createdAt AND d.id < :id)) "
+                        + "ORDER BY d.createdAt DESC, d.id DESC")
+        List<Donation> findHistoryBefore(@Param("email") String email,
+                        @Param("createdAt") LocalDateTime createdAt,
+                        @Param("id") Long id,
+                        org.springframework.data.domain.Pageable pageable);
+
+        /**
+         * Stream the analytics columns of every donation in creation order.
+         * Must be consumed inside a transaction and closed after use.
+         *
+         * @return Stream of lightweight donation projections
+         */
+        @QueryHints({
+                        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+                        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+        })
+        @Query("SELECT new com.programalilian.backend.dto.DonationFact(d.id, d.amount, d.createdAt, d.type, d.email) "
+                        + "FROM Donation d ORDER BY d.createdAt ASC")
+        Stream<DonationFact> streamAllFacts();
+
+        /**
+         * Stream donations matching optional filters, ordered by id, for exports.
+         * Uses a forward-only cursor; must be consumed inside a transaction.
+         *
+         * @param startDate Inclusive lower bound (nullable)
+         * @param endDate   Exclusive upper bound (nullable)
+         * @param type      Donation type (nullable for all)
+         * @return Stream of matching donations
+         */
+        @QueryHints({
+                        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+                        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+        })
+        @Query("SELECT d FROM Donation d WHERE (:startDate IS NULL OR d.createdAt >= :startDate) "
+                        + "AND (:endDate IS NULL OR d.createdAt < :endDate) "
+                        + "AND (:type IS NULL OR d.type = :type) ORDER BY d.id ASC")
+        Stream<Donation> streamForExport(@Param("startDate") LocalDateTime startDate,
+                        @Param("endDate") LocalDateTime endDate,
+                        @Param("type") DonationType type);
+
+        /**
+         * Stream transaction IDs and amounts in transaction ID order. The
+         * column has a binary collation, so the order matches
+         * {@link String#compareTo} used by the settlement reconciliation merge
+         * and is read from the unique index without a sort.
+         *
+         * @param startDate Inclusive lower bound (nullable)
+         * @param endDate   Exclusive upper bound (nullable)
+         * @return Stream of transaction ID and amount pairs
+         */
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+        @Query(value = "SELECT d.transaction_id AS transactionId, d.amount AS amount FROM donations d "
+                        + "WHERE (:startDate IS NULL OR d.created_at >= :startDate) "
+                        + "AND (:endDate IS NULL OR d.created_at < :endDate) "
+                        + "ORDER BY d.transaction_id", nativeQuery = true)
+        Stream<TransactionAmount> streamOrderedByTransactionId(@Param("startDate") LocalDateTime startDate,
+                        @Param("endDate") LocalDateTime endDate);
+
+        /**
+         * Page of donation projections, sorted by the pageable sort.
+         *
+         * @param type      Donation type (null for any)
+         * @param startDate Created at or after (null for open)
+         * @param endDate   Created before (null for open)
+         * @param minAmount Minimum amount (null for open)
+         * @param maxAmount Maximum amount (null for open)
+         * @param pageable  Offset, size and sort
+         * @return Page with total count
+         */
+        @Query(value = DONATION_LIST_ITEM + DONATION_FILTER,
+                        countQuery = "SELECT COUNT(d) FROM Donation d " + DONATION_FILTER)
+        Page<DonationListItem> findDonationPage(@Param("type") DonationType type,
+                        @Param("startDate") LocalDateTime startDate,
+                        @Param("endDate") LocalDateTime endDate,
+                        @Param("minAmount") BigDecimal minAmount,
+                        @Param("maxAmount") BigDecimal maxAmount,
+                        Pageable pageable);
+
+        /**
+         * Newest donations strictly before the cursor position, using the
+         * (createdAt, id) index. A null cursor starts from the newest donation.
+         *
+         * @param cursorCreatedAt createdAt of the last donation already returned
+         * @param cursorId        id of the last donation already returned
+         * @param pageable        Page size (offset should be zero)
+         * @return Donations ordered by createdAt and id descending
+         */
+        @Query(DONATION_LIST_ITEM + DONATION_FILTER
+                        + "AND (:cursorCreatedAt IS NULL OR d.createdAt < :cursorCreatedAt "
+                        + "OR (d.createdAt = :cursorCreatedAt AND d.id < :cursorId)) "
+                        + "ORDER BY d.createdAt DESC, d.id DESC")
+        List<DonationListItem> findDonationSlice(@Param("type") DonationType type,
+                        @Param("startDate") LocalDateTime startDate,
+                        @Param("endDate") LocalDateTime endDate,
+                        @Param("minAmount") BigDecimal minAmount,
+                        @Param("maxAmount") BigDecimal maxAmount,
+                        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                        @Param("cursorId") Long cursorId,
+                        Pageable pageable);
+
+        /**
+         * Projection of a donation's transaction ID and amount.
+         */
+        interface TransactionAmount {
+                String getTransactionId();
+
+                BigDecimal getAmount();
+        }
 }
@@ -0,0 +1,72 @@
+package com.programalilian.backend.repository;
+
+import com.programalilian.backend.domain.DonorSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Repository interface for DonorSummary entity operations.
+ */
+@Repository
+public interface DonorSummaryRepository extends JpaRepository<DonorSummary, String> {
+
+    /**
+     * Upsert statement shared with JDBC batch writers.
+     */
+    String ADD_DONATION_SQL = "INSERT INTO donor_summaries "
+            + "(email, donation_count, total_amount, first_donation_at, last_donation_at) "
+            + "VALUES (:email, 1, :amount, :createdAt, :createdAt) "
+            + "ON DUPLICATE KEY UPDATE donation_count = donation_count + 1, "
+            + "total_amount = total_amount + VALUES(total_amount), "
+            + "first_donation_at = LEAST(first_donation_at, VALUES(first_donation_at)), "
+            + "last_donation_at = GREATEST(last_donation_at, VALUES(last_donation_at))";
+
+    /**
+     * Add one donation to a donor's summary, creating it if needed.
+     * A single upsert statement, safe under concurrent donations.
+     *
+     * @param email     Normalized donor email
+     * @param amount    Donation amount
+     * @param createdAt Donation timestamp
+     * @return Number of affected rows
+     */
+    @Modifying
+    @Query(value = ADD_DONATION_SQL, nativeQuery = true)
+    int addDonation(@Param("email") String email,
+            @Param("amount") BigDecimal amount,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Rebuild every summary from the donations table.
+     * Used once to backfill when the summary table is empty.
+     *
+     * @return Number of inserted summaries
+     */
+    @Modifying
+    @Query(value = "INSERT INTO donor_summaries (email, donation_count, total_amount, first_donation_at, last_donation_at) "
+            + "SELECT LOWER(TRIM(email)), COUNT(*), SUM(amount), MIN(created_at), MAX(created_at) "
+            + "FROM donations WHERE email IS NOT NULL AND TRIM(email) <> '' GROUP BY LOWER(TRIM(email))", nativeQuery = true)
+    int backfillFromDonations();
+
+    /**
+     * Stream every donor summary.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return Stream of read-only summaries
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM DonorSummary s")
+    Stream<DonorSummary> streamAll();
+}
@@ -0,0 +1,120 @@
+package com.programalilian.backend.repository;
+
+import com.programalilian.backend.domain.EmailCampaign;
+import com.programalilian.backend.domain.EmailCampaign.Status;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for EmailCampaign entity operations.
+ * State changes are conditional single-statement UPDATEs, so a runner and an
+ * admin request racing on the same campaign cannot overwrite each other.
+ */
+@Repository
+public interface EmailCampaignRepository extends JpaRepository<EmailCampaign, Long> {
+
+    /**
+     * Find campaigns in a given status, e.g. to resume running ones on startup.
+     *
+     * @param status Campaign status
+     * @return Campaigns ordered by id
+     */
+    List<EmailCampaign> findByStatusOrderByIdAsc(Status status);
+
+    /**
+     * Read only the status of a campaign.
+     *
+     * @param id Campaign ID
+     * @return Current status, empty if the campaign does not exist
+     */
+    @Query("SELECT c.status FROM EmailCampaign c WHERE c.id = :id")
+    Optional<Status> findStatusById(@Param("id") Long id);
+
+    /**
+     * Move a campaign to RUNNING and clear its last error, only if it is in
+     * one of the expected states.
+     *
+     * @param id        Campaign ID
+     * @param expected  States the campaign may be started from
+     * @param updatedAt New update timestamp
+     * @return Number of updated rows (0 if another request changed it first)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EmailCampaign c SET c.status = com.programalilian.backend.domain.EmailCampaign.Status.RUNNING, "
+            + "c.lastError = NULL, c.updatedAt = :updatedAt WHERE c.id = :id AND c.status IN :expected")
+    int markRunning(@Param("id") Long id,
+            @Param("expected") Collection<Status> expected,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Change the status of a campaign only if it is in one of the expected states.
+     *
+     * @param id        Campaign ID
+     * @param expected  States the change applies to
+     * @param status    New status
+     * @param updatedAt New update timestamp
+     * @return Number of updated rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EmailCampaign c SET c.status = :status, c.updatedAt = :updatedAt "
+            + "WHERE c.id = :id AND c.status IN :expected")
+    int updateStatus(@Param("id") Long id,
+            @Param("expected") Collection<Status> expected,
+            @Param("status") Status status,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Mark a running campaign as completed.
+     *
+     * @param id          Campaign ID
+     * @param completedAt Completion timestamp
+     * @return Number of updated rows (0 if it was cancelled meanwhile)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EmailCampaign c SET c.status = com.programalilian.backend.domain.EmailCampaign.Status.COMPLETED, "
+            + "c.completedAt = :completedAt, c.updatedAt = :completedAt WHERE c.id = :id "
+            + "AND c.status = com.programalilian.backend.domain.EmailCampaign.Status.RUNNING")
+    int markCompleted(@Param("id") Long id, @Param("completedAt") LocalDateTime completedAt);
+
+    /**
+     * Mark a running campaign as failed.
+     *
+     * @param id        Campaign ID
+     * @param lastError Error message
+     * @param updatedAt New update timestamp
+     * @return Number of updated rows (0 if it was cancelled meanwhile)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EmailCampaign c SET c.status = com.programalilian.backend.domain.EmailCampaign.Status.FAILED, "
+            + "c.lastError = :lastError, c.updatedAt = :updatedAt WHERE c.id = :id "
+            + "AND c.status = com.programalilian.backend.domain.EmailCampaign.Status.RUNNING")
+    int markFailed(@Param("id") Long id,
+            @Param("lastError") String lastError,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Save the checkpoint and add to the counters, leaving the status alone.
+     *
+     * @param id           Campaign ID
+     * @param lastMemberId Last member of the page just sent
+     * @param sent         Messages accepted in the page
+     * @param deferred     Messages handed to the outbox in the page
+     * @param updatedAt    New update timestamp
+     * @return Number of updated rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EmailCampaign c SET c.lastMemberId = :lastMemberId, c.sent = c.sent + :sent, "
+            + "c.deferred = c.deferred + :deferred, c.updatedAt = :updatedAt WHERE c.id = :id")
+    int recordProgress(@Param("id") Long id,
+            @Param("lastMemberId") long lastMemberId,
+            @Param("sent") long sent,
+            @Param("deferred") long deferred,
+            @Param("updatedAt") LocalDateTime updatedAt);
+}
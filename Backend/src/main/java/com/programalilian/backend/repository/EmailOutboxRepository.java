@@ -0,0 +1,47 @@
+package com.programalilian.backend.repository;
+
+import com.programalilian.backend.domain.EmailOutbox;
+import com.programalilian.backend.domain.EmailOutbox.Status;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for EmailOutbox entity operations.
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Lock the next batch of emails due for delivery, so they can be claimed.
+     * Rows locked by another instance are skipped where the database supports it.
+     *
+     * @param statuses Statuses to pick (PENDING, and IN_FLIGHT with an expired lease)
+     * @param now      Current time; only entries due before it are returned
+     * @param pageable Batch size
+     * @return Entries ordered by id
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM EmailOutbox e WHERE e.status IN :statuses AND e.nextAttemptAt <= :now ORDER BY e.id ASC")
+    List<EmailOutbox> lockDueBatch(@Param("statuses") Collection<Status> statuses,
+            @Param("now") LocalDateTime now,
+            Pageable pageable);
+
+    /**
+     * Count entries by status (for monitoring).
+     *
+     * @param status Delivery status
+     * @return Number of entries
+     */
+    long countByStatus(Status status);
+}
@@ -0,0 +1,12 @@
+package com.programalilian.backend.repository;
+
+import com.programalilian.backend.domain.MemberImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for MemberImport entity operations.
+ */
+@Repository
+public interface MemberImportRepository extends JpaRepository<MemberImport, Long> {
+}
@@ -1,11 +1,25 @@
 package com.programalilian.backend.repository;
 
 import com.programalilian.backend.domain.User;
+import com.programalilian.backend.dto.CampaignRecipient;
+import com.programalilian.backend.dto.MemberListItem;
+import com.programalilian.backend.dto.MemberSegmentRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for User entity operations.
@@ -14,6 +28,13 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    String MEMBER_LIST_ITEM = "SELECT new com.programalilian.backend.dto.MemberListItem("
+            + "u.id, u.fullName, u.email, u.phone, u.birthDate, u.subscriptionPlan, u.createdAt) FROM User u ";
+
+    String MEMBER_FILTER = "WHERE (:plan IS NULL OR u.subscriptionPlan = :plan) "
+            + "AND (:startDate IS NULL OR u.createdAt >= :startDate) "
+            + "AND (:endDate IS NULL OR u.createdAt < :endDate) ";
+
     /**
      * Find user by email address.
      * 
@@ -22,6 +43,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmail(String email);
 
+    /**
+     * Find user by canonical (trimmed, lowercase) email.
+     *
+     * @param emailCanonical Canonical email, see {@link User#canonicalEmail(String)}
+     * @return Optional containing user if found
+     */
+    Optional<User> findByEmailCanonical(String emailCanonical);
+
     /**
      * Check if user exists by email.
      * 
@@ -53,4 +82,132 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return Optional containing user if found
      */
     Optional<User> findBySubscriptionId(@Param("subscriptionId") String subscriptionId);
+
+    /**
+     * Set a member's subscription with a single UPDATE, without loading the entity.
+     * The plan is left unchanged when null.
+     *
+     * @param id               Member ID
+     * @param subscriptionId   MercadoPago subscription identifier
+     * @param subscriptionPlan Plan type (nullable)
+     * @param updatedAt        New update timestamp
+     * @return Number of updated rows (0 if the member does not exist)
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.subscriptionId = :subscriptionId, "
+            + "u.subscriptionPlan = COALESCE(:subscriptionPlan, u.subscriptionPlan), "
+            + "u.updatedAt = :updatedAt WHERE u.id = :id")
+    int updateSubscription(@Param("id") Long id,
+            @Param("subscriptionId") String subscriptionId,
+            @Param("subscriptionPlan") String subscriptionPlan,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Find users for many MercadoPago subscription IDs in one query.
+     *
+     * @param subscriptionIds Subscription identifiers
+     * @return Users holding any of the given subscriptions
+     */
+    List<User> findBySubscriptionIdIn(Collection<String> subscriptionIds);
+
+    /**
+     * Return which of the given canonical emails are already registered, in one query.
+     *
+     * @param emailsCanonical Canonical emails to check
+     * @return Registered canonical emails
+     */
+    @Query("SELECT u.emailCanonical FROM User u WHERE u.emailCanonical IN :emails")
+    Set<String> findExistingCanonicalEmails(@Param("emails") Collection<String> emailsCanonical);
+
+    /**
+     * Find the members registered under any of the given canonical emails, in one query.
+     *
+     * @param emailsCanonical Canonical emails
+     * @return Members holding any of the given emails
+     */
+    List<User> findByEmailCanonicalIn(Collection<String> emailsCanonical);
+
+    /**
+     * Page of member projections, sorted by the pageable sort.
+     *
+     * @param plan      Subscription plan (null for any)
+     * @param startDate Registered at or after (null for open)
+     * @param endDate   Registered before (null for open)
+     * @param pageable  Offset, size and sort
+     * @return Page with total count
+     */
+    @Query(value = MEMBER_LIST_ITEM + MEMBER_FILTER,
+            countQuery = "SELECT COUNT(u) FROM User u " + MEMBER_FILTER)
+    Page<MemberListItem> findMemberPage(@Param("plan") String plan,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            Pageable pageable);
+
+    /**
+     * Newest members registered strictly before the cursor position, using the
+     * (createdAt, id) index. A null cursor starts from the newest member.
+     *
+     * @param cursorCreatedAt createdAt of the last member already returned
+     * @param cursorId        id of the last member already returned
+     * @param pageable        Page size (offset should be zero)
+     * @return Members ordered by createdAt and id descending
+     */
+    @Query(MEMBER_LIST_ITEM + MEMBER_FILTER
+            + "AND (:cursorCreatedAt IS NULL OR u.createdAt < :cursorCreatedAt "
+            + "OR (u.createdAt = :cursorCreatedAt AND u.id < :cursorId)) "
+            + "ORDER BY u.createdAt DESC, u.id DESC")
+    List<MemberListItem> findMemberSlice(@Param("plan") String plan,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    /**
+     * Stream every member as a lightweight projection, used to build the
+     * in-memory search index. Must be consumed inside a transaction and closed.
+     *
+     * @return Stream of member projections
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(MEMBER_LIST_ITEM)
+    Stream<MemberListItem> streamAllListItems();
+
+    /**
+     * Find the next page of campaign recipients in id order.
+     *
+     * @param afterId  Last member id already processed (0 to start)
+     * @param pageable Page size
+     * @return Recipients with an id greater than {@code afterId}
+     */
+    @Query("SELECT new com.programalilian.backend.dto.CampaignRecipient(u.id, u.fullName, u.email) "
+            + "FROM User u WHERE u.id > :afterId ORDER BY u.id ASC")
+    List<CampaignRecipient> findCampaignRecipients(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Find campaign recipients by member id, in id order.
+     *
+     * @param ids Member ids
+     * @return Recipients for the ids that exist
+     */
+    @Query("SELECT new com.programalilian.backend.dto.CampaignRecipient(u.id, u.fullName, u.email) "
+            + "FROM User u WHERE u.id IN :ids ORDER BY u.id ASC")
+    List<CampaignRecipient> findCampaignRecipientsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stream the segmentation columns of every member.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return Stream of member segmentation projections
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.programalilian.backend.dto.MemberSegmentRow("
+            + "u.id, u.emailCanonical, u.subscriptionPlan, u.birthDate, u.createdAt, u.lastPaymentAt) FROM User u")
+    Stream<MemberSegmentRow> streamAllSegmentRows();
 }
@@ -0,0 +1,53 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.dto.DonationFilter;
+import com.programalilian.backend.dto.DonationListItem;
+import com.programalilian.backend.dto.ListingPage;
+import com.programalilian.backend.dto.MemberFilter;
+import com.programalilian.backend.dto.MemberListItem;
+
+import java.util.List;
+
+/**
+ * Service interface for the paged admin listings of members and donations.
+ * Sorting, filtering and paging run in the database on indexed columns.
+ */
+public interface AdminListingService {
+
+    /**
+     * Lists members page by page.
+     * When {@code cursor} is non-null (empty for the first page) keyset paging
+     * by newest first is used; otherwise offset paging with a total count.
+     *
+     * @param filter Optional filters
+     * @param page   Zero-based page number (offset paging)
+     * @param size   Page size
+     * @param sort   "field,dir" with field createdAt or fullName
+     * @param cursor Keyset cursor, or null for offset paging
+     * @return Page of member projections
+     * @throws IllegalArgumentException if the sort or cursor is invalid
+     */
+    ListingPage<MemberListItem> listMembers(MemberFilter filter, int page, int size, String sort, String cursor);
+
+    /**
+     * Returns the most recently registered members.
+     *
+     * @param limit Maximum number of members
+     * @return Members ordered by registration date, newest first
+     */
+    List<MemberListItem> recentMembers(int limit);
+
+    /**
+     * Lists donations page by page, with the same paging rules as members.
+     *
+     * @param filter Optional filters
+     * @param page   Zero-based page number (offset paging)
+     * @param size   Page size
+     * @param sort   "field,dir" with field createdAt or amount
+     * @param cursor Keyset cursor, or null for offset paging
+     * @return Page of donation projections
+     * @throws IllegalArgumentException if the sort or cursor is invalid
+     */
+    ListingPage<DonationListItem> listDonations(DonationFilter filter, int page, int size, String sort,
+            String cursor);
+}
@@ -0,0 +1,124 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.dto.DonationFilter;
+import com.programalilian.backend.dto.DonationListItem;
+import com.programalilian.backend.dto.KeysetCursor;
+import com.programalilian.backend.dto.ListingPage;
+import com.programalilian.backend.dto.MemberFilter;
+import com.programalilian.backend.dto.MemberListItem;
+import com.programalilian.backend.repository.DonationRepository;
+import com.programalilian.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Implementation of AdminListingService.
+ * Only columns backed by an index can be sorted on, with id as tie-breaker so
+ * pages stay stable while rows are inserted.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AdminListingServiceImpl implements AdminListingService {
+
+    private static final Set<String> MEMBER_SORT_FIELDS = Set.of("createdAt", "fullName");
+    private static final Set<String> DONATION_SORT_FIELDS = Set.of("createdAt", "amount");
+    private static final Set<String> KEYSET_SORT_FIELDS = Set.of("createdAt");
+    private static final String DEFAULT_SORT = "createdAt,desc";
+
+    private final UserRepository userRepository;
+    private final DonationRepository donationRepository;
+
+    @Override
+    public ListingPage<MemberListItem> listMembers(MemberFilter filter, int page, int size, String sort,
+            String cursor) {
+        LocalDateTime start = startOf(filter.from());
+        LocalDateTime end = endOf(filter.to());
+        if (cursor != null) {
+            requireKeysetSort(sort);
+            KeysetCursor position = cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+            List<MemberListItem> rows = userRepository.findMemberSlice(filter.plan(), start, end,
+                    position == null ? null : position.createdAt(), position == null ? null : position.id(),
+                    PageRequest.of(0, size + 1));
+            return slice(rows, size, m -> new KeysetCursor(m.createdAt(), m.id()));
+        }
+        Page<MemberListItem> result = userRepository.findMemberPage(filter.plan(), start, end,
+                PageRequest.of(page, size, parseSort(sort, MEMBER_SORT_FIELDS)));
+        return new ListingPage<>(result.getContent(), result.getTotalElements(), null);
+    }
+
+    @Override
+    public List<MemberListItem> recentMembers(int limit) {
+        return userRepository.findMemberSlice(null, null, null, null, null, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public ListingPage<DonationListItem> listDonations(DonationFilter filter, int page, int size, String sort,
+            String cursor) {
+        LocalDateTime start = startOf(filter.from());
+        LocalDateTime end = endOf(filter.to());
+        if (cursor != null) {
+            requireKeysetSort(sort);
+            KeysetCursor position = cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+            List<DonationListItem> rows = donationRepository.findDonationSlice(filter.type(), start, end,
+                    filter.minAmount(), filter.maxAmount(),
+                    position == null ? null : position.createdAt(), position == null ? null : position.id(),
+                    PageRequest.of(0, size + 1));
+            return slice(rows, size, d -> new KeysetCursor(d.createdAt(), d.id()));
+        }
+        Page<DonationListItem> result = donationRepository.findDonationPage(filter.type(), start, end,
+                filter.minAmount(), filter.maxAmount(),
+                PageRequest.of(page, size, parseSort(sort, DONATION_SORT_FIELDS)));
+        return new ListingPage<>(result.getContent(), result.getTotalElements(), null);
+    }
+
+    /**
+     * Parses "field,dir" into a Sort on an allowed field, adding id as tie-breaker.
+     */
+    static Sort parseSort(String sort, Set<String> allowedFields) {
+        String[] parts = (sort == null || sort.isBlank() ? DEFAULT_SORT : sort).split(",");
+        String field = parts[0].trim();
+        if (!allowedFields.contains(field)) {
+            throw new IllegalArgumentException("Campo de orden no permitido: " + field);
+        }
+        Sort.Direction direction = Sort.Direction.DESC;
+        if (parts.length > 1) {
+            direction = Sort.Direction.fromOptionalString(parts[1].trim().toUpperCase(Locale.ROOT))
+                    .orElseThrow(() -> new IllegalArgumentException("Dirección de orden inválida"));
+        }
+        return Sort.by(direction, field).and(Sort.by(direction, "id"));
+    }
+
+    private static void requireKeysetSort(String sort) {
+        if (!parseSort(sort, KEYSET_SORT_FIELDS).equals(parseSort(DEFAULT_SORT, KEYSET_SORT_FIELDS))) {
+            throw new IllegalArgumentException("La paginación por cursor solo admite orden createdAt,desc");
+        }
+    }
+
+    private static <T> ListingPage<T> slice(List<T> rows, int size, Function<T, KeysetCursor> cursorOf) {
+        if (rows.size() <= size) {
+            return new ListingPage<>(rows, null, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new ListingPage<>(items, null, cursorOf.apply(items.get(size - 1)).encode());
+    }
+
+    private static LocalDateTime startOf(LocalDate from) {
+        return from == null ? null : from.atStartOfDay();
+    }
+
+    private static LocalDateTime endOf(LocalDate to) {
+        return to == null ? null : to.plusDays(1).atStartOfDay();
+    }
+}
@@ -0,0 +1,88 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.dto.CampaignRecipient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Campaign text with {{placeholder}} variables, parsed once into literal
+ * parts and variable slots so rendering it per recipient is a single pass of
+ * appends.
+ */
+public final class CampaignTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{\\s*([A-Za-z]+)\\s*}}");
+
+    private enum Variable {
+        FULL_NAME,
+        FIRST_NAME,
+        EMAIL
+    }
+
+    private final String[] literals;
+    private final Variable[] variables;
+    private final int literalLength;
+
+    private CampaignTemplate(String[] literals, Variable[] variables) {
+        this.literals = literals;
+        this.variables = variables;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parses a template.
+     *
+     * @param text Text using {{fullName}}, {{firstName}} and {{email}}
+     * @return The compiled template
+     * @throws IllegalArgumentException if it uses an unknown variable
+     */
+    public static CampaignTemplate compile(String text) {
+        List<String> literals = new ArrayList<>();
+        List<Variable> variables = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        int last = 0;
+        while (matcher.find()) {
+            literals.add(text.substring(last, matcher.start()));
+            variables.add(variable(matcher.group(1)));
+            last = matcher.end();
+        }
+        literals.add(text.substring(last));
+        return new CampaignTemplate(literals.toArray(new String[0]), variables.toArray(new Variable[0]));
+    }
+
+    public String render(CampaignRecipient recipient) {
+        StringBuilder out = new StringBuilder(literalLength + variables.length * 32);
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]).append(value(variables[i], recipient));
+        }
+        return out.append(literals[variables.length]).toString();
+    }
+
+    private static Variable variable(String name) {
+        return switch (name) {
+            case "fullName" -> Variable.FULL_NAME;
+            case "firstName" -> Variable.FIRST_NAME;
+            case "email" -> Variable.EMAIL;
+            default -> throw new IllegalArgumentException("Variable desconocida en la plantilla: {{" + name + "}}");
+        };
+    }
+
+    private static String value(Variable variable, CampaignRecipient recipient) {
+        String fullName = recipient.fullName() != null ? recipient.fullName().trim() : "";
+        return switch (variable) {
+            case FULL_NAME -> fullName;
+            case FIRST_NAME -> {
+                int space = fullName.indexOf(' ');
+                yield space < 0 ? fullName : fullName.substring(0, space);
+            }
+            case EMAIL -> recipient.email();
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package com.programalilian.backend.service;
 
 import com.programalilian.backend.domain.Content;
+import com.programalilian.backend.dto.ContentListItem;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -13,22 +14,22 @@ public interface ContentService {
     /**
      * Get all published content
      */
-    List<Content> getPublishedContent();
+    List<ContentListItem> getPublishedContent();
 
     /**
      * Get all content (published and unpublished) for admin
      */
-    List<Content> getAllContent();
+    List<ContentListItem> getAllContent();
 
     /**
      * Get content by section
      */
-    List<Content> getContentBySection(String section);
+    List<ContentListItem> getContentBySection(String section);
 
     /**
      * Get single content by section (for hero, about)
      */
-    Content getSingleContentBySection(String section);
+    ContentListItem getSingleContentBySection(String section);
 
     /**
      * Get content by ID
@@ -58,5 +59,5 @@ public interface ContentService {
     /**
      * Get upcoming content (events + talks + social-posts) for homepage
      */
-    List<Content> getUpcomingContent();
+    List<ContentListItem> getUpcomingContent();
 }
@@ -1,9 +1,13 @@
 package com.programalilian.backend.service;
 
 import com.programalilian.backend.domain.Content;
+import com.programalilian.backend.dto.ContentListItem;
 import com.programalilian.backend.repository.ContentRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import net.coobird.thumbnailator.Thumbnails;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -17,27 +21,44 @@ import java.util.stream.Collectors;
  * Implementation of ContentService
  */
 @Service
-@RequiredArgsConstructor
 public class ContentServiceImpl implements ContentService {
 
     private final ContentRepository contentRepository;
+    private final Timer imageProcess;
+    private final DistributionSummary imageUploadBytes;
+    private final DistributionSummary imageOutputBytes;
+
+    public ContentServiceImpl(ContentRepository contentRepository, MeterRegistry meterRegistry) {
+        this.contentRepository = contentRepository;
+        this.imageProcess = Timer.builder("content.image.process")
+                .description("Time spent decoding, resizing and encoding uploaded images")
+                .register(meterRegistry);
+        this.imageUploadBytes = DistributionSummary.builder("content.image.upload.bytes")
+                .description("Size of uploaded images before compression")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.imageOutputBytes = DistributionSummary.builder("content.image.output.bytes")
+                .description("Size of stored images after compression")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Content> getPublishedContent() {
-        return contentRepository.findByPublishedTrue();
+    public List<ContentListItem> getPublishedContent() {
+        return contentRepository.findPublishedListItems();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Content> getAllContent() {
-        return contentRepository.findAll();
+    public List<ContentListItem> getAllContent() {
+        return contentRepository.findAllListItems();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Content> getContentBySection(String section) {
-        return contentRepository.findBySectionAndPublishedTrue(section);
+    public List<ContentListItem> getContentBySection(String section) {
+        return contentRepository.findPublishedListItemsBySection(section);
     }
 
     @Override
@@ -48,8 +69,9 @@ public class ContentServiceImpl implements ContentService {
 
     @Override
     @Transactional(readOnly = true)
-    public Content getSingleContentBySection(String section) {
-        return contentRepository.findTopBySectionAndPublishedOrderByCreatedAtDesc(section);
+    public ContentListItem getSingleContentBySection(String section) {
+        List<ContentListItem> newest = contentRepository.findNewestPublishedListItems(section, PageRequest.of(0, 1));
+        return newest.isEmpty() ? null : newest.get(0);
     }
 
     @Override
@@ -93,14 +115,14 @@ public class ContentServiceImpl implements ContentService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<Content> getUpcomingContent() {
+    public List<ContentListItem> getUpcomingContent() {
         // Get all published content from events, talks, and social-posts
         List<String> sections = List.of("events", "talks", "social-posts");
-        List<Content> allContent = contentRepository.findBySectionInAndPublishedTrue(sections);
+        List<ContentListItem> allContent = contentRepository.findPublishedListItemsBySectionIn(sections);
 
         // Sort by creation date (newest first) and limit to 8
         return allContent.stream()
-                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
+                .sorted((a, b) -> b.createdAt().compareTo(a.createdAt()))
                 .limit(8)
                 .collect(Collectors.toList());
     }
@@ -117,13 +139,20 @@ public class ContentServiceImpl implements ContentService {
             throw new IllegalArgumentException("La imagen es demasiado grande. El tamaño máximo permitido es 5MB.");
         }
 
-        // For compression: reduce to 800px max, JPEG quality 85%
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        Thumbnails.of(new ByteArrayInputStream(file.getBytes()))
-                .size(800, 600)
-                .outputQuality(0.85)
-                .toOutputStream(outputStream);
+        byte[] upload = file.getBytes();
+        imageUploadBytes.record(upload.length);
 
-        return outputStream.toByteArray();
+        // For compression: reduce to 800px max, JPEG quality 85%
+        byte[] image = imageProcess.recordCallable(() -> {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            Thumbnails.of(new ByteArrayInputStream(upload))
+                    .size(800, 600)
+                    .outputQuality(0.85)
+                    .toOutputStream(outputStream);
+            return outputStream.toByteArray();
+        });
+        imageOutputBytes.record(image.length);
+
+        return image;
     }
 }
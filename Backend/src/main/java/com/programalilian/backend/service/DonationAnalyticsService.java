@@ -0,0 +1,47 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.Donation;
+import com.programalilian.backend.dto.DonationAnalyticsSummary;
+import com.programalilian.backend.dto.DonationAnalyticsSummary.TopDonor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service interface for in-memory donation analytics.
+ * Answers admin dashboard questions without querying the database.
+ */
+public interface DonationAnalyticsService {
+
+    /**
+     * Rebuilds the in-memory store from the donations table.
+     */
+    void reload();
+
+    /**
+     * Registers a newly saved donation. When called inside a transaction the
+     * donation is only added after a successful commit.
+     *
+     * @param donation The persisted donation
+     */
+    void record(Donation donation);
+
+    /**
+     * Aggregates donations between two dates (inclusive, nullable for open bounds).
+     *
+     * @param from First day of the range
+     * @param to   Last day of the range
+     * @return Totals, percentiles and counts for the range
+     */
+    DonationAnalyticsSummary summarize(LocalDate from, LocalDate to);
+
+    /**
+     * Returns the donors with the highest total within the range.
+     *
+     * @param from  First day of the range
+     * @param to    Last day of the range
+     * @param limit Maximum number of donors
+     * @return Donors ordered by total descending
+     */
+    List<TopDonor> topDonors(LocalDate from, LocalDate to, int limit);
+}
@@ -0,0 +1,122 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.Donation;
+import com.programalilian.backend.dto.DonationAnalyticsSummary;
+import com.programalilian.backend.dto.DonationAnalyticsSummary.TopDonor;
+import com.programalilian.backend.dto.DonationFact;
+import com.programalilian.backend.repository.DonationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of DonationAnalyticsService backed by a DonationColumnStore.
+ * Loads all donations once at startup and appends new ones as they commit.
+ *
+ * A reload builds a new store and swaps it in, so queries keep being answered
+ * from the previous one meanwhile. Donations committed during the reload are
+ * appended to both; when swapping, those the load already read are skipped
+ * by id, so none is lost or counted twice.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DonationAnalyticsServiceImpl implements DonationAnalyticsService {
+
+    private final DonationRepository donationRepository;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile DonationColumnStore store = new DonationColumnStore();
+    private List<Donation> recordedDuringReload;
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reload() {
+        reloadLock.lock();
+        try {
+            long start = System.nanoTime();
+            synchronized (this) {
+                recordedDuringReload = new ArrayList<>();
+            }
+            DonationColumnStore fresh = new DonationColumnStore();
+            // Ids are dense identity values, so a bitmap of those read stays small
+            BitSet loadedIds = new BitSet();
+            try {
+                try (Stream<DonationFact> facts = donationRepository.streamAllFacts()) {
+                    facts.forEach(fact -> {
+                        append(fresh, fact);
+                        loadedIds.set(Math.toIntExact(fact.id()));
+                    });
+                }
+                synchronized (this) {
+                    for (Donation donation : recordedDuringReload) {
+                        if (donation.getId() == null || !loadedIds.get(Math.toIntExact(donation.getId()))) {
+                            appendDonation(fresh, donation);
+                        }
+                    }
+                    store = fresh;
+                }
+            } finally {
+                synchronized (this) {
+                    recordedDuringReload = null;
+                }
+            }
+            log.info("Loaded {} donations into analytics store in {} ms",
+                    fresh.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    @Override
+    public void record(Donation donation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    appendCommitted(donation);
+                }
+            });
+        } else {
+            appendCommitted(donation);
+        }
+    }
+
+    @Override
+    public DonationAnalyticsSummary summarize(LocalDate from, LocalDate to) {
+        return store.summarize(from, to);
+    }
+
+    @Override
+    public List<TopDonor> topDonors(LocalDate from, LocalDate to, int limit) {
+        return store.topDonors(from, to, limit);
+    }
+
+    private synchronized void appendCommitted(Donation donation) {
+        appendDonation(store, donation);
+        if (recordedDuringReload != null) {
+            recordedDuringReload.add(donation);
+        }
+    }
+
+    private static void append(DonationColumnStore target, DonationFact fact) {
+        target.append(fact.createdAt().toLocalDate(), fact.amount(), fact.type(), fact.email());
+    }
+
+    private static void appendDonation(DonationColumnStore target, Donation donation) {
+        target.append(donation.getCreatedAt().toLocalDate(), donation.getAmount(),
+                donation.getType(), donation.getEmail());
+    }
+}
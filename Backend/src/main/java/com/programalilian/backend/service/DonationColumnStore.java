@@ -0,0 +1,372 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.Donation.DonationType;
+import com.programalilian.backend.dto.DonationAnalyticsSummary;
+import com.programalilian.backend.dto.DonationAnalyticsSummary.TopDonor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory columnar store of donations used by the admin analytics.
+ *
+ * Each donation is kept as a row across primitive arrays (epoch day, amount in
+ * cents, type ordinal and dictionary-encoded email), about 30 bytes per row.
+ * Rows are kept sorted by day, and by amount within a day, so a date range
+ * maps to a contiguous slice found by binary search. Totals and type counts
+ * come from running prefix sums, and weekday counts from the start row of
+ * each distinct day, so neither scans the rows in the range.
+ *
+ * Percentiles are selected exactly without copying or sorting the range: a
+ * binary search over amounts counts, for each candidate, the rows at or below
+ * it in every day's sorted run. That costs days x log(rows per day) per step,
+ * with about 40 steps, regardless of how many rows the range holds.
+ */
+public class DonationColumnStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NO_EMAIL = -1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int size;
+    private int[] days = new int[INITIAL_CAPACITY];
+    private long[] cents = new long[INITIAL_CAPACITY];
+    private long[] prefixCents = new long[INITIAL_CAPACITY];
+    private int[] prefixOneTime = new int[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private int[] emailIds = new int[INITIAL_CAPACITY];
+
+    // Distinct days in ascending order with the first row of each
+    private int dayCount;
+    private int[] dayKeys = new int[INITIAL_CAPACITY];
+    private int[] dayStarts = new int[INITIAL_CAPACITY];
+
+    private final Map<String, Integer> emailDictionary = new HashMap<>();
+    private final List<String> emails = new ArrayList<>();
+
+    /**
+     * Appends a donation. Rows arriving in date order are O(1) apart from
+     * keeping the day's amounts sorted; an older row is inserted in place.
+     */
+    public void append(LocalDate date, BigDecimal amount, DonationType type, String email) {
+        int day = (int) date.toEpochDay();
+        long amountCents = toCents(amount);
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(size + 1);
+            int emailId = encodeEmail(email);
+            int position = insertionPoint(day, amountCents);
+            int tail = size - position;
+            if (tail > 0) {
+                System.arraycopy(days, position, days, position + 1, tail);
+                System.arraycopy(cents, position, cents, position + 1, tail);
+                System.arraycopy(types, position, types, position + 1, tail);
+                System.arraycopy(emailIds, position, emailIds, position + 1, tail);
+            }
+            days[position] = day;
+            cents[position] = amountCents;
+            types[position] = (byte) type.ordinal();
+            emailIds[position] = emailId;
+            size++;
+            for (int i = position; i < size; i++) {
+                prefixCents[i] = (i == 0 ? 0 : prefixCents[i - 1]) + cents[i];
+                prefixOneTime[i] = (i == 0 ? 0 : prefixOneTime[i - 1])
+                        + (types[i] == DonationType.ONE_TIME.ordinal() ? 1 : 0);
+            }
+            addToDayIndex(day, position);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aggregates all donations between both dates, inclusive. Null bounds are
+     * treated as open.
+     */
+    public DonationAnalyticsSummary summarize(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            int lo = from == null ? 0 : lowerBound((int) from.toEpochDay());
+            int hi = to == null ? size : upperBound((int) to.toEpochDay());
+            int count = Math.max(0, hi - lo);
+
+            long total = count == 0 ? 0 : prefixCents[hi - 1] - (lo == 0 ? 0 : prefixCents[lo - 1]);
+            long oneTime = count == 0 ? 0 : prefixOneTime[hi - 1] - (lo == 0 ? 0 : prefixOneTime[lo - 1]);
+
+            int firstDay = from == null ? 0 : dayLowerBound((int) from.toEpochDay());
+            int lastDay = to == null ? dayCount : dayUpperBound((int) to.toEpochDay());
+            long[] byWeekday = new long[7];
+            for (int d = firstDay; d < lastDay; d++) {
+                // Epoch day 0 (1970-01-01) was a Thursday; index 0 is Monday
+                byWeekday[Math.floorMod(dayKeys[d] + 3, 7)] += dayEnd(d) - dayStarts[d];
+            }
+
+            long median = 0;
+            long p90 = 0;
+            if (count > 0) {
+                median = select(firstDay, lastDay, percentileIndex(count, 0.5));
+                p90 = select(firstDay, lastDay, percentileIndex(count, 0.9));
+            }
+
+            return new DonationAnalyticsSummary(from, to, count, total, median, p90,
+                    oneTime, count - oneTime, byWeekday);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the donors with the highest total within the range, by email.
+     */
+    public List<TopDonor> topDonors(LocalDate from, LocalDate to, int limit) {
+        lock.readLock().lock();
+        try {
+            int lo = from == null ? 0 : lowerBound((int) from.toEpochDay());
+            int hi = to == null ? size : upperBound((int) to.toEpochDay());
+
+            long[] totals = new long[emails.size()];
+            int[] counts = new int[emails.size()];
+            for (int i = lo; i < hi; i++) {
+                int emailId = emailIds[i];
+                if (emailId != NO_EMAIL) {
+                    totals[emailId] += cents[i];
+                    counts[emailId]++;
+                }
+            }
+
+            PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(1, limit),
+                    (a, b) -> Long.compare(totals[a], totals[b]));
+            for (int id = 0; id < totals.length; id++) {
+                if (counts[id] == 0) {
+                    continue;
+                }
+                if (heap.size() < limit) {
+                    heap.add(id);
+                } else if (limit > 0 && totals[id] > totals[heap.peek()]) {
+                    heap.poll();
+                    heap.add(id);
+                }
+            }
+
+            List<TopDonor> result = new ArrayList<>(heap.size());
+            while (!heap.isEmpty()) {
+                int id = heap.poll();
+                result.add(new TopDonor(emails.get(id), totals[id], counts[id]));
+            }
+            Collections.reverse(result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static int percentileIndex(int count, double percentile) {
+        return Math.min(count - 1, (int) Math.ceil(percentile * count) - 1);
+    }
+
+    /**
+     * Returns the amount at the given zero-based rank among the rows of days
+     * firstDay (inclusive) to lastDay (exclusive): the smallest amount with
+     * more than {@code rank} rows at or below it.
+     */
+    private long select(int firstDay, int lastDay, int rank) {
+        long low = Long.MAX_VALUE;
+        long high = Long.MIN_VALUE;
+        for (int d = firstDay; d < lastDay; d++) {
+            low = Math.min(low, cents[dayStarts[d]]);
+            high = Math.max(high, cents[dayEnd(d) - 1]);
+        }
+        while (low < high) {
+            long mid = low + (high - low) / 2;
+            long atOrBelow = 0;
+            for (int d = firstDay; d < lastDay; d++) {
+                atOrBelow += upperBound(cents, dayStarts[d], dayEnd(d), mid) - dayStarts[d];
+            }
+            if (atOrBelow > rank) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Row at which a donation goes so days stay sorted and amounts are sorted
+     * within each day: after every earlier day, and after the rows of the same
+     * day with an amount at or below it.
+     */
+    private int insertionPoint(int day, long amountCents) {
+        int d = dayLowerBound(day);
+        if (d == dayCount) {
+            return size;
+        }
+        if (dayKeys[d] != day) {
+            return dayStarts[d];
+        }
+        return upperBound(cents, dayStarts[d], dayEnd(d), amountCents);
+    }
+
+    /**
+     * Records a row inserted at the given position in the day index: adds the
+     * day if new and shifts the start of every later day by one.
+     */
+    private void addToDayIndex(int day, int position) {
+        int d = dayLowerBound(day);
+        if (d == dayCount || dayKeys[d] != day) {
+            if (dayCount == dayKeys.length) {
+                dayKeys = Arrays.copyOf(dayKeys, dayCount + (dayCount >> 1));
+                dayStarts = Arrays.copyOf(dayStarts, dayKeys.length);
+            }
+            System.arraycopy(dayKeys, d, dayKeys, d + 1, dayCount - d);
+            System.arraycopy(dayStarts, d, dayStarts, d + 1, dayCount - d);
+            dayKeys[d] = day;
+            dayStarts[d] = position;
+            dayCount++;
+        }
+        for (int later = d + 1; later < dayCount; later++) {
+            dayStarts[later]++;
+        }
+    }
+
+    private int dayEnd(int d) {
+        return d + 1 < dayCount ? dayStarts[d + 1] : size;
+    }
+
+    /**
+     * First index in the sorted slice [from, to) whose value is strictly
+     * greater than the given one.
+     */
+    private static int upperBound(long[] values, int from, int to, long value) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int encodeEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return NO_EMAIL;
+        }
+        String normalized = email.trim().toLowerCase(Locale.ROOT);
+        Integer id = emailDictionary.get(normalized);
+        if (id == null) {
+            id = emails.size();
+            emails.add(normalized);
+            emailDictionary.put(normalized, id);
+        }
+        return id;
+    }
+
+    /**
+     * First row whose day is greater than or equal to the given day.
+     */
+    private int lowerBound(int day) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (days[mid] < day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * First row whose day is strictly greater than the given day.
+     */
+    private int upperBound(int day) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (days[mid] <= day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * First distinct day greater than or equal to the given day.
+     */
+    private int dayLowerBound(int day) {
+        int lo = 0;
+        int hi = dayCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (dayKeys[mid] < day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * First distinct day strictly greater than the given day.
+     */
+    private int dayUpperBound(int day) {
+        int lo = 0;
+        int hi = dayCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (dayKeys[mid] <= day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= days.length) {
+            return;
+        }
+        int capacity = Math.max(required, days.length + (days.length >> 1));
+        days = Arrays.copyOf(days, capacity);
+        cents = Arrays.copyOf(cents, capacity);
+        prefixCents = Arrays.copyOf(prefixCents, capacity);
+        prefixOneTime = Arrays.copyOf(prefixOneTime, capacity);
+        types = Arrays.copyOf(types, capacity);
+        emailIds = Arrays.copyOf(emailIds, capacity);
+    }
+}
@@ -0,0 +1,37 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.Donation.DonationType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Service interface for exporting donations to accounting formats.
+ * Writes rows directly to the given stream so memory use does not grow
+ * with the number of exported donations.
+ */
+public interface DonationExportService {
+
+    /**
+     * Supported export formats.
+     */
+    enum Format {
+        CSV,
+        NDJSON
+    }
+
+    /**
+     * Streams every donation matching the filters into the output stream.
+     *
+     * @param format Output format
+     * @param from   First day to include (nullable)
+     * @param to     Last day to include (nullable)
+     * @param type   Donation type to include (nullable for all)
+     * @param out    Destination stream, not closed by this method
+     * @return Number of exported donations
+     * @throws IOException if writing to the stream fails
+     */
+    long export(Format format, LocalDate from, LocalDate to, DonationType type, OutputStream out)
+            throws IOException;
+}
@@ -0,0 +1,132 @@
+package com.programalilian.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.programalilian.backend.domain.Donation;
+import com.programalilian.backend.domain.Donation.DonationType;
+import com.programalilian.backend.repository.DonationRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of DonationExportService.
+ * Reads donations through a forward-only cursor and detaches each entity once
+ * written, so the persistence context never holds more than one row.
+ */
+@Service
+@RequiredArgsConstructor
+public class DonationExportServiceImpl implements DonationExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,createdAt,type,amount,transactionId,donorName,email\n";
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final DonationRepository donationRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long export(Format format, LocalDate from, LocalDate to, DonationType type, OutputStream out)
+            throws IOException {
+        LocalDateTime start = from != null ? from.atStartOfDay() : null;
+        LocalDateTime end = to != null ? to.plusDays(1).atStartOfDay() : null;
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long count = 0;
+        try (Stream<Donation> donations = donationRepository.streamForExport(start, end, type)) {
+            Iterator<Donation> rows = donations.iterator();
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                while (rows.hasNext()) {
+                    Donation donation = rows.next();
+                    writeCsvRow(writer, donation);
+                    entityManager.detach(donation);
+                    count++;
+                }
+            } else {
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                while (rows.hasNext()) {
+                    Donation donation = rows.next();
+                    writeJsonRow(generator, donation);
+                    generator.writeRaw('\n');
+                    entityManager.detach(donation);
+                    count++;
+                }
+                generator.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, Donation donation) throws IOException {
+        writer.write(String.valueOf(donation.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(donation.getCreatedAt()));
+        writer.write(',');
+        writer.write(donation.getType().name());
+        writer.write(',');
+        writer.write(donation.getAmount().toPlainString());
+        writer.write(',');
+        writeCsvField(writer, donation.getTransactionId());
+        writer.write(',');
+        writeCsvField(writer, donation.getDonorName());
+        writer.write(',');
+        writeCsvField(writer, donation.getEmail());
+        writer.write('\n');
+    }
+
+    /**
+     * Writes a CSV field, quoting it when it contains separators or quotes.
+     * Donor-supplied text starting like a spreadsheet formula gets a leading
+     * apostrophe, so opening the export does not evaluate it.
+     */
+    static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private void writeJsonRow(JsonGenerator generator, Donation donation) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", donation.getId());
+        generator.writeStringField("createdAt", String.valueOf(donation.getCreatedAt()));
+        generator.writeStringField("type", donation.getType().name());
+        generator.writeNumberField("amount", donation.getAmount());
+        generator.writeStringField("transactionId", donation.getTransactionId());
+        generator.writeStringField("donorName", donation.getDonorName());
+        generator.writeStringField("email", donation.getEmail());
+        generator.writeEndObject();
+    }
+}
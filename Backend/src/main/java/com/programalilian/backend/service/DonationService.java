@@ -1,6 +1,7 @@
 package com.programalilian.backend.service;
 
 import com.programalilian.backend.domain.Donation;
+import com.programalilian.backend.dto.DonorHistoryPage;
 
 import java.math.BigDecimal;
 
@@ -33,4 +34,16 @@ public interface DonationService {
      * @return True if payment was successful
      */
     boolean validatePayment(String transactionId, String status);
+
+    /**
+     * Returns one page of a donor's history with their lifetime totals.
+     * Pages are keyset-based: pass the previous page's cursor to continue.
+     *
+     * @param email  Donor email
+     * @param cursor Cursor from the previous page (null for the first page)
+     * @param limit  Page size
+     * @return The history page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    DonorHistoryPage getDonorHistory(String email, String cursor, int limit);
 }
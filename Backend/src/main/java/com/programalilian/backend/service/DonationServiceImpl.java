@@ -2,23 +2,56 @@ package com.programalilian.backend.service;
 
 import com.programalilian.backend.domain.Donation;
 import com.programalilian.backend.domain.Donation.DonationType;
+import com.programalilian.backend.domain.DonorSummary;
+import com.programalilian.backend.domain.User;
+import com.programalilian.backend.dto.DonorHistoryPage;
+import com.programalilian.backend.dto.KeysetCursor;
 import com.programalilian.backend.repository.DonationRepository;
-import lombok.RequiredArgsConstructor;
+import com.programalilian.backend.repository.DonorSummaryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Implementation of DonationService.
  * Handles donation processing and validation with proper error handling.
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class DonationServiceImpl implements DonationService {
 
     private final DonationRepository donationRepository;
+    private final DonorSummaryRepository donorSummaryRepository;
+    private final DonationAnalyticsService donationAnalyticsService;
+    private final EmailOutboxService emailOutboxService;
+    private final MemberSegmentService memberSegmentService;
+    private final Counter duplicatesRejected;
+
+    public DonationServiceImpl(DonationRepository donationRepository,
+            DonorSummaryRepository donorSummaryRepository,
+            DonationAnalyticsService donationAnalyticsService,
+            EmailOutboxService emailOutboxService,
+            MemberSegmentService memberSegmentService,
+            MeterRegistry meterRegistry) {
+        this.donationRepository = donationRepository;
+        this.donorSummaryRepository = donorSummaryRepository;
+        this.donationAnalyticsService = donationAnalyticsService;
+        this.emailOutboxService = emailOutboxService;
+        this.memberSegmentService = memberSegmentService;
+        this.duplicatesRejected = Counter.builder("donations.duplicates.rejected")
+                .description("Payments rejected because their transaction ID was already recorded")
+                .tag("source", "donation")
+                .register(meterRegistry);
+    }
 
     @Override
     @Transactional
@@ -34,16 +67,18 @@ public class DonationServiceImpl implements DonationService {
 
         // Check for duplicate transaction ID
         if (donationRepository.existsByTransactionId(transactionId)) {
+            duplicatesRejected.increment();
             throw new IllegalArgumentException("Transaction ID already exists");
         }
 
         // Get current timestamp for creation
         LocalDateTime now = LocalDateTime.now();
 
-        // Create donation entity with timestamps
+        // Create donation entity with timestamps; the email is stored canonical so
+        // donor history and summaries match whatever the column collation
         Donation donation = Donation.builder()
                 .donorName(donorName)
-                .email(email)
+                .email(User.canonicalEmail(email))
                 .amount(amount)
                 .transactionId(transactionId)
                 .type(DonationType.ONE_TIME)
@@ -51,8 +86,13 @@ public class DonationServiceImpl implements DonationService {
                 .updatedAt(now)
                 .build();
 
-        // Save and return
-        return donationRepository.save(donation);
+        // Save, queue the receipt in the same transaction, and return
+        Donation saved = donationRepository.save(donation);
+        recordDonorSummary(saved);
+        emailOutboxService.enqueueDonationReceipt(saved);
+        donationAnalyticsService.record(saved);
+        memberSegmentService.recordDonation(saved.getEmail(), saved.getCreatedAt());
+        return saved;
     }
 
     @Override
@@ -63,4 +103,63 @@ public class DonationServiceImpl implements DonationService {
         // status checking, and business rule validation
         return "approved".equals(status) && transactionId != null;
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DonorHistoryPage getDonorHistory(String email, String cursor, int limit) {
+        String canonicalEmail = User.canonicalEmail(email);
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<Donation> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = donationRepository.findRecentByEmail(canonicalEmail, page);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = donationRepository.findHistoryBefore(canonicalEmail, position.createdAt(), position.id(),
+                    page);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            Donation last = rows.get(limit - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        List<DonorHistoryPage.Item> items = rows.stream()
+                .map(d -> new DonorHistoryPage.Item(d.getId(), d.getAmount(), d.getType(),
+                        d.getTransactionId(), d.getCreatedAt()))
+                .toList();
+
+        DonorSummary summary = donorSummaryRepository.findById(canonicalEmail).orElse(null);
+        if (summary == null) {
+            return new DonorHistoryPage(canonicalEmail, 0, BigDecimal.ZERO, null, null, items, nextCursor);
+        }
+        return new DonorHistoryPage(canonicalEmail, summary.getDonationCount(), summary.getTotalAmount(),
+                summary.getFirstDonationAt(), summary.getLastDonationAt(), items, nextCursor);
+    }
+
+    /**
+     * Canonicalizes donation emails recorded before they were stored that
+     * way, then backfills donor summaries once, when the table is new and
+     * donations exist.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillDonorSummaries() {
+        int canonicalized = donationRepository.canonicalizeEmails();
+        if (canonicalized > 0) {
+            log.info("Canonicalized the email of {} existing donations", canonicalized);
+        }
+        if (donorSummaryRepository.count() == 0 && donationRepository.count() > 0) {
+            int created = donorSummaryRepository.backfillFromDonations();
+            log.info("Backfilled {} donor summaries from existing donations", created);
+        }
+    }
+
+    private void recordDonorSummary(Donation donation) {
+        if (donation.getEmail() != null && !donation.getEmail().isBlank()) {
+            donorSummaryRepository.addDonation(User.canonicalEmail(donation.getEmail()),
+                    donation.getAmount(), donation.getCreatedAt());
+        }
+    }
 }
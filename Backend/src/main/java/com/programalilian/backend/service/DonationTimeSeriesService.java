@@ -0,0 +1,40 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.dto.DonationTimeSeries;
+
+import java.time.LocalDate;
+
+/**
+ * Service interface for the donations-over-time chart.
+ */
+public interface DonationTimeSeriesService {
+
+    /**
+     * Supported bucket sizes.
+     */
+    enum Granularity {
+        DAY,
+        WEEK,
+        MONTH
+    }
+
+    /**
+     * Builds the time series between two dates (inclusive).
+     * Every bucket in the range is returned, including empty ones.
+     *
+     * @param granularity Bucket size
+     * @param from        First day
+     * @param to          Last day
+     * @return One point per bucket
+     */
+    DonationTimeSeries getTimeSeries(Granularity granularity, LocalDate from, LocalDate to);
+
+    /**
+     * Forgets the cached total of a day after a donation dated that day is
+     * stored, so late payments show up in the chart. When called inside a
+     * transaction the day is only evicted after a successful commit.
+     *
+     * @param day Day the donation is dated
+     */
+    void evictDay(LocalDate day);
+}
@@ -0,0 +1,144 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.dto.DailyDonationTotal;
+import com.programalilian.backend.dto.DonationTimeSeries;
+import com.programalilian.backend.dto.DonationTimeSeries.Point;
+import com.programalilian.backend.repository.DonationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of DonationTimeSeriesService.
+ *
+ * Daily totals come from one GROUP BY query. Days before today are cached
+ * and only queried again when a late donation dated that day is committed
+ * (subscription payments are ingested with their payment date); only uncached
+ * days and the current (open) day are fetched. Weeks and months are folded
+ * from days.
+ */
+@Service
+@RequiredArgsConstructor
+public class DonationTimeSeriesServiceImpl implements DonationTimeSeriesService {
+
+    private static final DailyDonationTotal EMPTY = new DailyDonationTotal(null, 0, BigDecimal.ZERO);
+
+    private final DonationRepository donationRepository;
+    private final Map<LocalDate, DailyDonationTotal> closedDays = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Override
+    @Transactional(readOnly = true)
+    public DonationTimeSeries getTimeSeries(Granularity granularity, LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now();
+        Map<LocalDate, DailyDonationTotal> days = loadDays(from, to, today);
+
+        List<Point> points = new ArrayList<>();
+        LocalDate bucket = bucketStart(granularity, from);
+        while (!bucket.isAfter(to)) {
+            LocalDate next = nextBucket(granularity, bucket);
+            long count = 0;
+            BigDecimal total = BigDecimal.ZERO;
+            LocalDate day = bucket.isBefore(from) ? from : bucket;
+            while (day.isBefore(next) && !day.isAfter(to)) {
+                DailyDonationTotal daily = days.getOrDefault(day, EMPTY);
+                count += daily.count();
+                total = total.add(daily.total());
+                day = day.plusDays(1);
+            }
+            points.add(new Point(bucket, count, total));
+            bucket = next;
+        }
+        return new DonationTimeSeries(granularity.name().toLowerCase(Locale.ROOT), from, to, points);
+    }
+
+    @Override
+    public void evictDay(LocalDate day) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(day);
+                }
+            });
+        } else {
+            evict(day);
+        }
+    }
+
+    private void evict(LocalDate day) {
+        evictions.incrementAndGet();
+        closedDays.remove(day);
+    }
+
+    /**
+     * Returns daily totals for the range, querying only the span between the
+     * first and last day that is not already cached.
+     */
+    private Map<LocalDate, DailyDonationTotal> loadDays(LocalDate from, LocalDate to, LocalDate today) {
+        Map<LocalDate, DailyDonationTotal> days = new HashMap<>();
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            DailyDonationTotal cached = closedDays.get(day);
+            if (cached != null) {
+                days.put(day, cached);
+            } else {
+                if (firstMissing == null) {
+                    firstMissing = day;
+                }
+                lastMissing = day;
+            }
+        }
+        if (firstMissing == null) {
+            return days;
+        }
+
+        // A day evicted while the query runs may have been read before the commit,
+        // so nothing from this query is cached if any eviction happened meanwhile
+        long generation = evictions.get();
+        Map<LocalDate, DailyDonationTotal> fetched = new HashMap<>();
+        for (DailyDonationTotal daily : donationRepository.sumByDay(firstMissing.atStartOfDay(),
+                lastMissing.plusDays(1).atStartOfDay())) {
+            fetched.put(daily.day(), daily);
+        }
+        for (LocalDate day = firstMissing; !day.isAfter(lastMissing); day = day.plusDays(1)) {
+            DailyDonationTotal daily = fetched.getOrDefault(day, new DailyDonationTotal(day, 0, BigDecimal.ZERO));
+            days.put(day, daily);
+            if (day.isBefore(today) && evictions.get() == generation) {
+                closedDays.putIfAbsent(day, daily);
+            }
+        }
+        return days;
+    }
+
+    private static LocalDate bucketStart(Granularity granularity, LocalDate day) {
+        return switch (granularity) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate nextBucket(Granularity granularity, LocalDate bucket) {
+        return switch (granularity) {
+            case DAY -> bucket.plusDays(1);
+            case WEEK -> bucket.plusWeeks(1);
+            case MONTH -> bucket.plusMonths(1);
+        };
+    }
+}
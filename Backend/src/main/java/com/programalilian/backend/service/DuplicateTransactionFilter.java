@@ -0,0 +1,208 @@
+package com.programalilian.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, time-windowed filter of payment notifications already handled.
+ *
+ * Entries are keyed on (transaction ID, status) and written only by webhook
+ * deliveries that were processed, so the first notification for a donation
+ * and later status changes (rejected, refunded) always reach validation; only
+ * exact redeliveries are short-circuited.
+ *
+ * A pair of rotating Bloom filters answers "never seen" without locking, so
+ * new notifications pass straight through. Bloom hits are confirmed against an
+ * exact LRU of recent keys before being reported as duplicates, which keeps
+ * false positives from ever skipping a real notification.
+ */
+@Component
+public class DuplicateTransactionFilter {
+
+    private final Duration window;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private final int maxExactEntries;
+    private final Map<String, Long> recent;
+    private final Counter suppressed;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+
+    public DuplicateTransactionFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.webhook.dedupe.window:PT24H}") Duration window,
+            @Value("${app.webhook.dedupe.expected-insertions:100000}") int expectedInsertions,
+            @Value("${app.webhook.dedupe.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${app.webhook.dedupe.max-exact-entries:50000}") int maxExactEntries) {
+        this.window = window;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxExactEntries = maxExactEntries;
+        this.recent = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > DuplicateTransactionFilter.this.maxExactEntries;
+            }
+        };
+        this.current = newGeneration();
+        this.previous = newGeneration();
+        this.suppressed = Counter.builder("donations.dedupe.suppressed")
+                .description("Webhook redeliveries short-circuited as already processed")
+                .tag("source", "webhook")
+                .register(meterRegistry);
+        meterRegistry.gauge("donations.dedupe.bloom.bytes", this, f -> f.current.sizeInBytes() * 2.0);
+        meterRegistry.gauge("donations.dedupe.exact.entries", recent, Map::size);
+    }
+
+    /**
+     * Returns true only if this exact notification was processed within the
+     * window. A false answer means the caller must continue with its normal
+     * checks.
+     *
+     * @param transactionId Transaction ID of the notification
+     * @param status        Payment status of the notification
+     * @return Whether the notification is a known redelivery
+     */
+    public boolean isKnownDuplicate(String transactionId, String status) {
+        if (transactionId == null) {
+            return false;
+        }
+        String key = key(transactionId, status);
+        long hash = hash(key);
+        if (!current.mightContain(hash) && !previous.mightContain(hash)) {
+            return false;
+        }
+        boolean duplicate;
+        synchronized (recent) {
+            Long seenAt = recent.get(key);
+            duplicate = seenAt != null && System.currentTimeMillis() - seenAt < window.toMillis();
+        }
+        if (duplicate) {
+            suppressed.increment();
+        }
+        return duplicate;
+    }
+
+    /**
+     * Records a notification as processed.
+     *
+     * @param transactionId Transaction ID of the notification
+     * @param status        Payment status of the notification
+     */
+    public void markProcessed(String transactionId, String status) {
+        if (transactionId == null) {
+            return;
+        }
+        String key = key(transactionId, status);
+        rotateIfNeeded();
+        current.put(hash(key));
+        synchronized (recent) {
+            recent.put(key, System.currentTimeMillis());
+        }
+    }
+
+    private static String key(String transactionId, String status) {
+        return transactionId + '\u0000' + status;
+    }
+
+    /**
+     * Moves to a new Bloom generation once the current one is half a window old
+     * or has reached its expected insertions, bounding both age and memory.
+     */
+    private void rotateIfNeeded() {
+        BloomFilter generation = current;
+        long age = System.currentTimeMillis() - generation.createdAt;
+        if (age < window.toMillis() / 2 && generation.insertions() < expectedInsertions) {
+            return;
+        }
+        synchronized (this) {
+            if (current == generation) {
+                previous = generation;
+                current = newGeneration();
+            }
+        }
+    }
+
+    private BloomFilter newGeneration() {
+        return new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    /**
+     * 64-bit FNV-1a hash with a final avalanche step.
+     */
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Lock-free Bloom filter over pre-computed 64-bit hashes.
+     */
+    static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitSize;
+        private final int hashFunctions;
+        private final long createdAt = System.currentTimeMillis();
+        private final AtomicInteger insertions = new AtomicInteger();
+
+        BloomFilter(int expectedInsertions, double falsePositiveRate) {
+            long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate)
+                    / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.max(1, (optimalBits + 63) / 64);
+            this.bits = new AtomicLongArray(words);
+            this.bitSize = (long) words * 64;
+            this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+        }
+
+        void put(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashFunctions; i++) {
+                long index = Math.floorMod(h1 + (long) i * h2, bitSize);
+                long mask = 1L << index;
+                int word = (int) (index >>> 6);
+                if ((bits.get(word) & mask) == 0) {
+                    bits.getAndAccumulate(word, mask, (a, b) -> a | b);
+                }
+            }
+            insertions.incrementAndGet();
+        }
+
+        boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashFunctions; i++) {
+                long index = Math.floorMod(h1 + (long) i * h2, bitSize);
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int insertions() {
+            return insertions.get();
+        }
+
+        long sizeInBytes() {
+            return bitSize / 8;
+        }
+    }
+}
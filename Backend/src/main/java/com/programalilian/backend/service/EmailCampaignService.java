@@ -0,0 +1,56 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.EmailCampaign;
+import com.programalilian.backend.dto.CreateCampaignRequest;
+
+import java.util.Optional;
+
+/**
+ * Service interface for bulk email campaigns to members.
+ * Campaigns run in the background, are rate limited, and checkpoint their
+ * progress so they resume after a restart.
+ */
+public interface EmailCampaignService {
+
+    /**
+     * Creates a draft campaign after checking its template and segment.
+     *
+     * @param request Subject, body and optional segment expression
+     * @return The saved draft
+     * @throws IllegalArgumentException if the template or segment is invalid
+     */
+    EmailCampaign create(CreateCampaignRequest request);
+
+    /**
+     * Starts a draft campaign, or restarts a failed one from its checkpoint.
+     *
+     * @param campaignId Campaign ID
+     * @return The campaign, now running
+     * @throws IllegalArgumentException if the campaign does not exist
+     * @throws IllegalStateException    if it is running or already finished
+     */
+    EmailCampaign start(Long campaignId);
+
+    /**
+     * Stops a campaign after the page being sent.
+     *
+     * @param campaignId Campaign ID
+     * @return The cancelled campaign
+     * @throws IllegalArgumentException if the campaign does not exist
+     * @throws IllegalStateException    if it already finished
+     */
+    EmailCampaign cancel(Long campaignId);
+
+    /**
+     * Finds a campaign to report its progress.
+     *
+     * @param campaignId Campaign ID
+     * @return The campaign if found, otherwise empty
+     */
+    Optional<EmailCampaign> findById(Long campaignId);
+
+    /**
+     * Resumes campaigns that were running when the application stopped.
+     */
+    void resumeInterrupted();
+}
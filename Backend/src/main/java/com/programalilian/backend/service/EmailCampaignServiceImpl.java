@@ -0,0 +1,294 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.config.AsyncConfig;
+import com.programalilian.backend.domain.EmailCampaign;
+import com.programalilian.backend.domain.EmailCampaign.Status;
+import com.programalilian.backend.dto.CampaignRecipient;
+import com.programalilian.backend.dto.CreateCampaignRequest;
+import com.programalilian.backend.repository.EmailCampaignRepository;
+import com.programalilian.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Implementation of EmailCampaignService.
+ *
+ * A single runner thread walks the recipients in member id order, one page
+ * per query, renders each message from templates compiled once per run, and
+ * hands batches to a bounded pool of sender threads; each batch is one
+ * JavaMailSender call over one SMTP connection. Batches take their tokens
+ * from the SmtpRateLimiter shared with the outbox, so both together stay
+ * under the provider's rate. After every page the checkpoint is
+ * saved, so a restart re-sends at most the page in flight. Messages the
+ * server rejects go to the email outbox, which retries them with backoff.
+ */
+@Slf4j
+@Service
+public class EmailCampaignServiceImpl implements EmailCampaignService {
+
+    private static final List<Status> STARTABLE = List.of(Status.DRAFT, Status.FAILED);
+    private static final List<Status> CANCELLABLE = List.of(Status.DRAFT, Status.RUNNING, Status.FAILED);
+
+    private final EmailCampaignRepository emailCampaignRepository;
+    private final UserRepository userRepository;
+    private final MemberSegmentService memberSegmentService;
+    private final EmailOutboxService emailOutboxService;
+    private final JavaMailSender mailSender;
+    private final TaskExecutor runnerExecutor;
+    private final TaskExecutor senderExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final SmtpRateLimiter smtpRateLimiter;
+    private final String from;
+    private final int pageSize;
+    private final int batchSize;
+
+    public EmailCampaignServiceImpl(EmailCampaignRepository emailCampaignRepository,
+            UserRepository userRepository,
+            MemberSegmentService memberSegmentService,
+            EmailOutboxService emailOutboxService,
+            JavaMailSender mailSender,
+            SmtpRateLimiter smtpRateLimiter,
+            @Qualifier(AsyncConfig.CAMPAIGN_RUNNER_EXECUTOR) TaskExecutor runnerExecutor,
+            @Qualifier(AsyncConfig.CAMPAIGN_SENDER_EXECUTOR) TaskExecutor senderExecutor,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.mail.from:no-reply@programalilian.org}") String from,
+            @Value("${app.campaign.page-size:500}") int pageSize,
+            @Value("${app.campaign.batch-size:50}") int batchSize) {
+        this.emailCampaignRepository = emailCampaignRepository;
+        this.userRepository = userRepository;
+        this.memberSegmentService = memberSegmentService;
+        this.emailOutboxService = emailOutboxService;
+        this.mailSender = mailSender;
+        this.smtpRateLimiter = smtpRateLimiter;
+        this.runnerExecutor = runnerExecutor;
+        this.senderExecutor = senderExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.from = from;
+        this.pageSize = pageSize;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public EmailCampaign create(CreateCampaignRequest request) {
+        CampaignTemplate.compile(request.subject());
+        CampaignTemplate.compile(request.body());
+        String segment = request.segment() == null || request.segment().isBlank() ? null : request.segment().trim();
+        if (segment != null) {
+            memberSegmentService.evaluate(segment, 0);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return emailCampaignRepository.save(EmailCampaign.builder()
+                .subject(request.subject())
+                .body(request.body())
+                .segment(segment)
+                .status(Status.DRAFT)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    @Override
+    public EmailCampaign start(Long campaignId) {
+        EmailCampaign started = transactionTemplate.execute(status -> {
+            EmailCampaign campaign = find(campaignId);
+            if (campaign.getSegment() != null && !memberSegmentService.isLoaded()) {
+                throw new IllegalStateException("Los segmentos todavía se están cargando");
+            }
+            // Only one of two concurrent starts moves the campaign to RUNNING and launches a runner
+            if (emailCampaignRepository.markRunning(campaignId, STARTABLE, LocalDateTime.now()) == 0) {
+                throw new IllegalStateException("La campaña no se puede iniciar en estado "
+                        + emailCampaignRepository.findStatusById(campaignId).orElse(campaign.getStatus()));
+            }
+            return find(campaignId);
+        });
+        runnerExecutor.execute(() -> run(campaignId));
+        return started;
+    }
+
+    @Override
+    public EmailCampaign cancel(Long campaignId) {
+        return transactionTemplate.execute(status -> {
+            find(campaignId);
+            if (emailCampaignRepository.updateStatus(campaignId, CANCELLABLE, Status.CANCELLED,
+                    LocalDateTime.now()) == 0) {
+                throw new IllegalStateException("La campaña ya terminó");
+            }
+            return find(campaignId);
+        });
+    }
+
+    @Override
+    public Optional<EmailCampaign> findById(Long campaignId) {
+        return emailCampaignRepository.findById(campaignId);
+    }
+
+    @Override
+    @Order(MemberSegmentService.LOAD_ORDER + 1)
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        for (EmailCampaign campaign : emailCampaignRepository.findByStatusOrderByIdAsc(Status.RUNNING)) {
+            log.info("Resuming email campaign {} after member {}", campaign.getId(), campaign.getLastMemberId());
+            runnerExecutor.execute(() -> run(campaign.getId()));
+        }
+    }
+
+    private void run(Long campaignId) {
+        try {
+            EmailCampaign campaign = find(campaignId);
+            CampaignTemplate subject = CampaignTemplate.compile(campaign.getSubject());
+            CampaignTemplate body = CampaignTemplate.compile(campaign.getBody());
+            long[] segmentIds = campaign.getSegment() == null ? null
+                    : memberSegmentService.memberIds(campaign.getSegment()).stream()
+                            .mapToLong(Long::longValue).sorted().toArray();
+            long afterId = campaign.getLastMemberId();
+
+            while (true) {
+                List<CampaignRecipient> page = nextPage(segmentIds, afterId);
+                if (page.isEmpty()) {
+                    finish(campaignId);
+                    return;
+                }
+                List<SimpleMailMessage> deferred = send(page, subject, body);
+                afterId = page.get(page.size() - 1).id();
+                if (!checkpoint(campaignId, afterId, page.size() - deferred.size(), deferred)) {
+                    log.info("Email campaign {} cancelled after member {}", campaignId, afterId);
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Email campaign {} failed", campaignId, e);
+            markFailed(campaignId, e);
+        }
+    }
+
+    private List<CampaignRecipient> nextPage(long[] segmentIds, long afterId) {
+        if (segmentIds == null) {
+            return userRepository.findCampaignRecipients(afterId, PageRequest.of(0, pageSize));
+        }
+        int from = Arrays.binarySearch(segmentIds, afterId + 1);
+        if (from < 0) {
+            from = -from - 1;
+        }
+        // Members deleted since the segment was evaluated are skipped by the query
+        while (from < segmentIds.length) {
+            int to = Math.min(from + pageSize, segmentIds.length);
+            List<Long> ids = Arrays.stream(segmentIds, from, to).boxed().toList();
+            List<CampaignRecipient> page = userRepository.findCampaignRecipientsByIdIn(ids);
+            if (!page.isEmpty()) {
+                return page;
+            }
+            from = to;
+        }
+        return List.of();
+    }
+
+    /**
+     * Sends one page of recipients in parallel batches.
+     *
+     * @return Messages the server rejected
+     */
+    private List<SimpleMailMessage> send(List<CampaignRecipient> page, CampaignTemplate subject,
+            CampaignTemplate body) {
+        List<CompletableFuture<List<SimpleMailMessage>>> batches = new ArrayList<>();
+        for (int start = 0; start < page.size(); start += batchSize) {
+            List<CampaignRecipient> recipients = page.subList(start, Math.min(start + batchSize, page.size()));
+            SimpleMailMessage[] messages = new SimpleMailMessage[recipients.size()];
+            for (int i = 0; i < messages.length; i++) {
+                CampaignRecipient recipient = recipients.get(i);
+                messages[i] = new SimpleMailMessage();
+                messages[i].setFrom(from);
+                messages[i].setTo(recipient.email());
+                messages[i].setSubject(subject.render(recipient));
+                messages[i].setText(body.render(recipient));
+            }
+            smtpRateLimiter.acquire(messages.length);
+            batches.add(CompletableFuture.supplyAsync(() -> sendBatch(messages), senderExecutor));
+        }
+        List<SimpleMailMessage> rejected = new ArrayList<>();
+        for (CompletableFuture<List<SimpleMailMessage>> batch : batches) {
+            rejected.addAll(batch.join());
+        }
+        return rejected;
+    }
+
+    private List<SimpleMailMessage> sendBatch(SimpleMailMessage[] messages) {
+        try {
+            mailSender.send(messages);
+            return List.of();
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                return Arrays.asList(messages);
+            }
+            Set<Object> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+            failed.addAll(e.getFailedMessages().keySet());
+            return Arrays.stream(messages).filter(failed::contains).toList();
+        } catch (MailException e) {
+            log.warn("Campaign batch of {} messages failed: {}", messages.length, e.getMessage());
+            return Arrays.asList(messages);
+        }
+    }
+
+    /**
+     * Saves progress and queues rejected messages for retry. Only the
+     * checkpoint and counters are written, so a concurrent cancel is kept.
+     *
+     * @return False if the campaign was cancelled meanwhile
+     */
+    private boolean checkpoint(Long campaignId, long lastMemberId, int sent, List<SimpleMailMessage> deferred) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            for (SimpleMailMessage message : deferred) {
+                emailOutboxService.enqueue(message.getTo()[0], message.getSubject(), message.getText());
+            }
+            emailCampaignRepository.recordProgress(campaignId, lastMemberId, sent, deferred.size(),
+                    LocalDateTime.now());
+            return emailCampaignRepository.findStatusById(campaignId).orElse(null) == Status.RUNNING;
+        }));
+    }
+
+    private void finish(Long campaignId) {
+        EmailCampaign finished = transactionTemplate.execute(status -> {
+            emailCampaignRepository.markCompleted(campaignId, LocalDateTime.now());
+            return find(campaignId);
+        });
+        log.info("Email campaign {} {}: {} sent, {} deferred to outbox",
+                campaignId, finished.getStatus(), finished.getSent(), finished.getDeferred());
+    }
+
+    private void markFailed(Long campaignId, Exception e) {
+        try {
+            String error = String.valueOf(e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> emailCampaignRepository.markFailed(campaignId,
+                    error.length() > 1000 ? error.substring(0, 1000) : error, LocalDateTime.now()));
+        } catch (RuntimeException inner) {
+            log.error("Could not mark email campaign {} as failed", campaignId, inner);
+        }
+    }
+
+    private EmailCampaign find(Long campaignId) {
+        return emailCampaignRepository.findById(campaignId)
+                .orElseThrow(() -> new IllegalArgumentException("Campaña no encontrada: " + campaignId));
+    }
+}
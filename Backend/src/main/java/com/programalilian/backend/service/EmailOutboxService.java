@@ -0,0 +1,43 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.Donation;
+import com.programalilian.backend.domain.User;
+
+/**
+ * Service interface for the transactional email outbox.
+ * Enqueue methods join the caller's transaction, so an email is only sent
+ * if the donation or member that triggered it is committed.
+ */
+public interface EmailOutboxService {
+
+    /**
+     * Queues an email for background delivery.
+     *
+     * @param recipient Destination address
+     * @param subject   Subject line
+     * @param body      Plain text body
+     */
+    void enqueue(String recipient, String subject, String body);
+
+    /**
+     * Queues the receipt for a donation, if the donor left an email.
+     *
+     * @param donation The saved donation
+     */
+    void enqueueDonationReceipt(Donation donation);
+
+    /**
+     * Queues the welcome email for a newly registered member.
+     *
+     * @param user The saved member
+     */
+    void enqueueWelcomeEmail(User user);
+
+    /**
+     * Delivers the next batch of due emails over a single SMTP connection.
+     * Failed messages are rescheduled with exponential backoff.
+     *
+     * @return Number of emails sent successfully
+     */
+    int processBatch();
+}
@@ -0,0 +1,261 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.Donation;
+import com.programalilian.backend.domain.EmailOutbox;
+import com.programalilian.backend.domain.EmailOutbox.Status;
+import com.programalilian.backend.domain.User;
+import com.programalilian.backend.repository.EmailOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementation of EmailOutboxService.
+ * Sends queued emails in batches, limited by the SmtpRateLimiter shared with
+ * campaigns, and retries failures with exponential backoff until max attempts.
+ * A batch is claimed in one short transaction, sent with none open and its
+ * outcome recorded in another. Claimed entries whose lease expires, because
+ * the sender stopped mid-batch, are claimed again.
+ */
+@Slf4j
+@Service
+public class EmailOutboxServiceImpl implements EmailOutboxService {
+
+    private static final Duration MAX_BACKOFF = Duration.ofHours(6);
+    private static final List<Status> CLAIMABLE = List.of(Status.PENDING, Status.IN_FLIGHT);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final SmtpRateLimiter smtpRateLimiter;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.mail.from:no-reply@programalilian.org}")
+    private String from;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.initial-backoff:PT1M}")
+    private Duration initialBackoff;
+
+    @Value("${app.mail.outbox.lease:PT5M}")
+    private Duration lease;
+
+    private final ReentrantLock batchLock = new ReentrantLock();
+
+    public EmailOutboxServiceImpl(EmailOutboxRepository emailOutboxRepository,
+            JavaMailSender mailSender,
+            SmtpRateLimiter smtpRateLimiter,
+            PlatformTransactionManager transactionManager) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.smtpRateLimiter = smtpRateLimiter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional
+    public void enqueue(String recipient, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        emailOutboxRepository.save(EmailOutbox.builder()
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .status(Status.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    }
+
+    @Override
+    @Transactional
+    public void enqueueDonationReceipt(Donation donation) {
+        if (donation.getEmail() == null || donation.getEmail().isBlank()) {
+            return;
+        }
+        String name = donation.getDonorName() != null ? donation.getDonorName() : "amigo/a";
+        enqueue(donation.getEmail(),
+                "Gracias por tu donación a Programa Lilian",
+                "Hola " + name + ",\n\n"
+                        + "Recibimos tu donación de $" + donation.getAmount().toPlainString() + ".\n"
+                        + "Número de transacción: " + donation.getTransactionId() + "\n\n"
+                        + "¡Muchas gracias por acompañarnos!\nPrograma Lilian");
+    }
+
+    @Override
+    @Transactional
+    public void enqueueWelcomeEmail(User user) {
+        enqueue(user.getEmail(),
+                "Bienvenido/a a Programa Lilian",
+                "Hola " + user.getFullName() + ",\n\n"
+                        + "Gracias por sumarte como socio/a de Programa Lilian.\n"
+                        + "Pronto vas a recibir novedades sobre nuestras actividades.\n\n"
+                        + "Programa Lilian");
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:PT10S}")
+    public int processBatch() {
+        // A lock rather than synchronized: SMTP I/O under a monitor would pin a virtual thread
+        batchLock.lock();
+        try {
+            return sendDueBatch();
+        } finally {
+            batchLock.unlock();
+        }
+    }
+
+    /**
+     * Claims a batch, sends it with no transaction open and records the
+     * outcome, so neither row locks nor a connection are held during SMTP I/O.
+     */
+    private int sendDueBatch() {
+        List<EmailOutbox> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            messages[i] = toMessage(batch.get(i));
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        try {
+            // One send call reuses a single SMTP connection for the whole batch
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                failures = allFailed(messages, e);
+            }
+        } catch (MailException e) {
+            failures = allFailed(messages, e);
+        }
+
+        Map<Long, Exception> failuresById = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Exception failure = findFailure(failures, messages[i]);
+            if (failure != null) {
+                failuresById.put(batch.get(i).getId(), failure);
+            }
+        }
+        recordResults(batch, failuresById);
+
+        int sent = batch.size() - failuresById.size();
+        if (sent < batch.size()) {
+            log.warn("Email outbox batch: {} sent, {} rescheduled", sent, batch.size() - sent);
+        }
+        return sent;
+    }
+
+    /**
+     * Marks up to the available quota of due entries as IN_FLIGHT for the
+     * lease time, in a short transaction. Tokens not matched by a due entry
+     * are given back.
+     */
+    private List<EmailOutbox> claimBatch() {
+        int granted = smtpRateLimiter.tryAcquire(batchSize);
+        if (granted == 0) {
+            return List.of();
+        }
+        List<EmailOutbox> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> due = emailOutboxRepository.lockDueBatch(
+                    CLAIMABLE, now, PageRequest.of(0, granted));
+            for (EmailOutbox entry : due) {
+                entry.setStatus(Status.IN_FLIGHT);
+                entry.setNextAttemptAt(now.plus(lease));
+            }
+            return emailOutboxRepository.saveAll(due);
+        });
+        smtpRateLimiter.release(granted - claimed.size());
+        return claimed;
+    }
+
+    private void recordResults(List<EmailOutbox> batch, Map<Long, Exception> failuresById) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> entries = emailOutboxRepository.findAllById(
+                    batch.stream().map(EmailOutbox::getId).toList());
+            for (EmailOutbox entry : entries) {
+                Exception failure = failuresById.get(entry.getId());
+                if (failure == null) {
+                    entry.setStatus(Status.SENT);
+                    entry.setSentAt(now);
+                    entry.setLastError(null);
+                } else {
+                    reschedule(entry, failure, now);
+                }
+            }
+            emailOutboxRepository.saveAll(entries);
+        });
+    }
+
+    private SimpleMailMessage toMessage(EmailOutbox entry) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(entry.getRecipient());
+        message.setSubject(entry.getSubject());
+        message.setText(entry.getBody());
+        return message;
+    }
+
+    private void reschedule(EmailOutbox entry, Exception failure, LocalDateTime now) {
+        int attempts = entry.getAttempts() + 1;
+        entry.setAttempts(attempts);
+        String error = String.valueOf(failure.getMessage());
+        entry.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+        if (attempts >= maxAttempts) {
+            entry.setStatus(Status.FAILED);
+            return;
+        }
+        entry.setStatus(Status.PENDING);
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(MAX_BACKOFF) > 0) {
+            backoff = MAX_BACKOFF;
+        }
+        entry.setNextAttemptAt(now.plus(backoff));
+    }
+
+    private static Map<Object, Exception> allFailed(SimpleMailMessage[] messages, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        for (SimpleMailMessage message : messages) {
+            failures.put(message, e);
+        }
+        return failures;
+    }
+
+    /**
+     * Looks up a failure by identity; equal messages must not share a result.
+     */
+    private static Exception findFailure(Map<Object, Exception> failures, SimpleMailMessage message) {
+        for (Map.Entry<Object, Exception> failure : failures.entrySet()) {
+            if (failure.getKey() == message) {
+                return failure.getValue();
+            }
+        }
+        return null;
+    }
+}
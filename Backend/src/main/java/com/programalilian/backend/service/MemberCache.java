@@ -0,0 +1,198 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.User;
+import com.programalilian.backend.dto.MemberSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Read-through near cache of members by id, used by member lookups.
+ *
+ * Members are stored as immutable snapshots in an LRU map and returned as
+ * fresh, detached {@link User} copies. Lookups that find nothing are
+ * remembered for a shorter TTL. Every eviction bumps a version number and a
+ * load started before it is not stored, so a slow read can never put back
+ * data that was just invalidated.
+ */
+@Component
+public class MemberCache {
+
+    private final Object lock = new Object();
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+
+    private final LinkedHashMap<Long, Entry> byId;
+    private long version;
+
+    private final Counter hits;
+    private final Counter negativeHits;
+    private final Counter misses;
+    private final Timer loads;
+
+    public MemberCache(MeterRegistry meterRegistry,
+            @Value("${app.member-cache.enabled:true}") boolean enabled,
+            @Value("${app.member-cache.max-size:10000}") int maxSize,
+            @Value("${app.member-cache.ttl:PT5M}") Duration ttl,
+            @Value("${app.member-cache.negative-ttl:PT30S}") Duration negativeTtl) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.byId = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > MemberCache.this.maxSize;
+            }
+        };
+
+        this.hits = requests(meterRegistry, "hit");
+        this.negativeHits = requests(meterRegistry, "negative_hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.loads = Timer.builder("members.cache.load")
+                .description("Time spent loading members on cache misses")
+                .register(meterRegistry);
+        meterRegistry.gauge("members.cache.size", this, cache -> cache.size());
+    }
+
+    /**
+     * Returns the member with the given id, loading it on a miss.
+     *
+     * @param id     Member id
+     * @param loader Reads the member from the database
+     * @return A detached copy of the member, or empty if there is none
+     */
+    public Optional<User> findById(Long id, Supplier<Optional<User>> loader) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        if (!enabled) {
+            return loader.get();
+        }
+        long observedVersion;
+        synchronized (lock) {
+            Entry entry = byId.get(id);
+            if (entry != null) {
+                if (entry.expiresAt() - System.nanoTime() > 0) {
+                    if (entry.snapshot() == null) {
+                        negativeHits.increment();
+                        return Optional.empty();
+                    }
+                    hits.increment();
+                    return Optional.of(entry.snapshot().toUser());
+                }
+                byId.remove(id);
+            }
+            observedVersion = version;
+        }
+
+        misses.increment();
+        long start = System.nanoTime();
+        Optional<User> loaded = loader.get();
+        long loadedAt = System.nanoTime();
+        loads.record(loadedAt - start, TimeUnit.NANOSECONDS);
+
+        MemberSnapshot snapshot = loaded.map(MemberSnapshot::from).orElse(null);
+        synchronized (lock) {
+            if (version == observedVersion) {
+                byId.put(id, new Entry(snapshot, loadedAt + (snapshot != null ? ttlNanos : negativeTtlNanos)));
+            }
+        }
+        return Optional.ofNullable(snapshot).map(MemberSnapshot::toUser);
+    }
+
+    /**
+     * Drops the member with the given id, including a cached "not found".
+     * Inside a transaction the eviction is repeated when it completes, so
+     * lookups that ran in between cannot keep the old state.
+     *
+     * @param id Member id (nullable)
+     */
+    public void evict(Long id) {
+        if (id == null) {
+            return;
+        }
+        evictAll(List.of(id));
+    }
+
+    /**
+     * Drops the members with the given ids, used after batched updates.
+     *
+     * @param ids Member ids
+     */
+    public void evictAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Long> copy = List.copyOf(ids);
+        evictAllNow(copy);
+        afterCommit(() -> evictAllNow(copy));
+    }
+
+    /**
+     * Drops every entry, used after bulk imports.
+     */
+    public void clear() {
+        clearNow();
+        afterCommit(this::clearNow);
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return byId.size();
+        }
+    }
+
+    private void evictAllNow(List<Long> ids) {
+        synchronized (lock) {
+            version++;
+            ids.forEach(byId::remove);
+        }
+    }
+
+    private void clearNow() {
+        synchronized (lock) {
+            version++;
+            byId.clear();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("members.cache.requests")
+                .description("Member cache lookups by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached lookup result; a null snapshot records that the member does not exist.
+     */
+    private record Entry(MemberSnapshot snapshot, long expiresAt) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.dto.MemberImportReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk member imports from CSV.
+ * Used when migrating the members of a partner organization.
+ */
+public interface MemberImportService {
+
+    /**
+     * Imports members from a CSV with a header row. Recognized columns are
+     * fullName, email, phone and birthDate (yyyy-MM-dd or dd/MM/yyyy); the
+     * separator may be comma or semicolon. Each row is validated like a single
+     * registration and emails already registered or repeated in the file are
+     * skipped. Progress is committed every chunk, so a failed import can be
+     * resumed by sending the same file with its import id.
+     *
+     * @param csv            CSV content
+     * @param filename       Original file name, for reference
+     * @param resumeImportId Import to resume, or null to start a new one
+     * @return Counts and per-row errors
+     * @throws IllegalArgumentException if the header is invalid or the import
+     *                                  cannot be resumed
+     * @throws IOException              if the file cannot be read
+     */
+    MemberImportReport importCsv(InputStream csv, String filename, Long resumeImportId) throws IOException;
+}
@@ -0,0 +1,335 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.MemberImport;
+import com.programalilian.backend.domain.MemberImport.Status;
+import com.programalilian.backend.domain.User;
+import com.programalilian.backend.dto.CreateMemberRequest;
+import com.programalilian.backend.dto.MemberImportReport;
+import com.programalilian.backend.dto.MemberImportReport.RowError;
+import com.programalilian.backend.repository.MemberImportRepository;
+import com.programalilian.backend.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of MemberImportService.
+ *
+ * The CSV is read line by line. Every chunk of rows is committed in its own
+ * transaction together with the import checkpoint: one IN query finds emails
+ * already registered and the new members are written with a JDBC batch.
+ * Repeated emails within the file are caught with an in-memory set.
+ * The inserted members are read back in the same transaction so they can be
+ * indexed for search and segmentation once the chunk commits.
+ */
+@Slf4j
+@Service
+public class MemberImportServiceImpl implements MemberImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final DateTimeFormatter DAY_MONTH_YEAR = DateTimeFormatter.ofPattern("d/M/uuuu")
+            .withResolverStyle(ResolverStyle.STRICT);
+
+    private static final String INSERT_USER_SQL = "INSERT INTO users "
+            + "(full_name, email, email_canonical, phone, birth_date, created_at, updated_at) "
+            + "VALUES (:fullName, :email, :emailCanonical, :phone, :birthDate, :createdAt, :updatedAt)";
+
+    private final UserRepository userRepository;
+    private final MemberImportRepository memberImportRepository;
+    private final MemberSearchService memberSearchService;
+    private final MemberCache memberCache;
+    private final MemberSegmentService memberSegmentService;
+    private final Validator validator;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public MemberImportServiceImpl(UserRepository userRepository,
+            MemberImportRepository memberImportRepository,
+            MemberSearchService memberSearchService,
+            MemberCache memberCache,
+            MemberSegmentService memberSegmentService,
+            Validator validator,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.member-import.chunk-size:1000}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.memberImportRepository = memberImportRepository;
+        this.memberSearchService = memberSearchService;
+        this.memberCache = memberCache;
+        this.memberSegmentService = memberSegmentService;
+        this.validator = validator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public MemberImportReport importCsv(InputStream csv, String filename, Long resumeImportId)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8), 64 * 1024);
+        Columns columns = readHeader(reader);
+        MemberImport job = startOrResume(filename, resumeImportId);
+        long resumeAfter = job.getRowsProcessed();
+
+        Set<String> seenEmails = new HashSet<>();
+        List<RowError> errors = new ArrayList<>();
+        Chunk chunk = new Chunk();
+        long row = 0;
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                row++;
+                if (row <= resumeAfter || line.isBlank()) {
+                    continue;
+                }
+                readRow(row, line, columns, seenEmails, chunk);
+                if (row - chunk.firstRow + 1 >= chunkSize) {
+                    commit(job.getId(), chunk, row, errors);
+                    chunk = new Chunk();
+                }
+            }
+            commit(job.getId(), chunk, Math.max(row, resumeAfter), errors);
+        } catch (IOException | RuntimeException e) {
+            markFailed(job.getId(), e);
+            throw e;
+        }
+
+        MemberImport finished = transactionTemplate.execute(status -> {
+            MemberImport current = memberImportRepository.findById(job.getId()).orElseThrow();
+            current.setStatus(Status.COMPLETED);
+            current.setUpdatedAt(LocalDateTime.now());
+            return memberImportRepository.save(current);
+        });
+        log.info("Member import {} completed: {} imported, {} duplicates, {} invalid",
+                finished.getId(), finished.getImported(), finished.getDuplicates(), finished.getInvalid());
+        return new MemberImportReport(finished.getId(), finished.getStatus(), resumeAfter,
+                finished.getRowsProcessed(), finished.getImported(), finished.getDuplicates(),
+                finished.getInvalid(), errors, errors.size() >= MAX_REPORTED_ERRORS);
+    }
+
+    private MemberImport startOrResume(String filename, Long resumeImportId) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (resumeImportId == null) {
+                return memberImportRepository.save(MemberImport.builder()
+                        .filename(filename)
+                        .status(Status.RUNNING)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build());
+            }
+            MemberImport job = memberImportRepository.findById(resumeImportId)
+                    .orElseThrow(() -> new IllegalArgumentException("Importación no encontrada: " + resumeImportId));
+            if (job.getStatus() == Status.COMPLETED) {
+                throw new IllegalArgumentException("La importación ya fue completada");
+            }
+            job.setStatus(Status.RUNNING);
+            job.setLastError(null);
+            job.setUpdatedAt(now);
+            return memberImportRepository.save(job);
+        });
+    }
+
+    /**
+     * Parses and validates one line, adding it to the chunk as a candidate or
+     * as a rejected row.
+     */
+    private void readRow(long row, String line, Columns columns, Set<String> seenEmails, Chunk chunk) {
+        if (chunk.firstRow == 0) {
+            chunk.firstRow = row;
+        }
+        String[] fields = ReconciliationServiceImpl.splitCsvLine(line, columns.separator());
+        String email = field(fields, columns.email());
+
+        LocalDate birthDate;
+        try {
+            birthDate = parseBirthDate(field(fields, columns.birthDate()));
+        } catch (DateTimeParseException e) {
+            chunk.invalid.add(new RowError(row, email, "Fecha de nacimiento inválida"));
+            return;
+        }
+        CreateMemberRequest request = new CreateMemberRequest(field(fields, columns.fullName()), email,
+                field(fields, columns.phone()), birthDate);
+        Set<ConstraintViolation<CreateMemberRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            chunk.invalid.add(new RowError(row, email, message));
+            return;
+        }
+        if (!seenEmails.add(User.canonicalEmail(email))) {
+            chunk.duplicates.add(new RowError(row, email, "Email repetido en el archivo"));
+            return;
+        }
+        chunk.candidates.add(new Candidate(row, request));
+    }
+
+    /**
+     * Inserts the chunk's new members and advances the checkpoint in one
+     * transaction.
+     */
+    private void commit(Long importId, Chunk chunk, long lastRow, List<RowError> errors) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> registered = chunk.candidates.isEmpty() ? Set.of()
+                    : userRepository.findExistingCanonicalEmails(chunk.candidates.stream()
+                            .map(c -> User.canonicalEmail(c.request().email()))
+                            .toList());
+
+            LocalDateTime now = LocalDateTime.now();
+            List<SqlParameterSource> rows = new ArrayList<>();
+            List<String> insertedEmails = new ArrayList<>();
+            for (Candidate candidate : chunk.candidates) {
+                CreateMemberRequest request = candidate.request();
+                if (registered.contains(User.canonicalEmail(request.email()))) {
+                    chunk.duplicates.add(new RowError(candidate.row(), request.email(), "El email ya está registrado"));
+                    continue;
+                }
+                insertedEmails.add(User.canonicalEmail(request.email()));
+                rows.add(new MapSqlParameterSource()
+                        .addValue("fullName", request.fullName().trim())
+                        .addValue("email", request.email().trim())
+                        .addValue("emailCanonical", User.canonicalEmail(request.email()))
+                        .addValue("phone", request.phone() == null || request.phone().isBlank()
+                                ? null : request.phone().trim())
+                        .addValue("birthDate", request.birthDate())
+                        .addValue("createdAt", now)
+                        .addValue("updatedAt", now));
+            }
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_USER_SQL, rows.toArray(new SqlParameterSource[0]));
+                indexInserted(insertedEmails);
+            }
+
+            MemberImport job = memberImportRepository.findById(importId).orElseThrow();
+            job.setRowsProcessed(lastRow);
+            job.setImported(job.getImported() + rows.size());
+            job.setDuplicates(job.getDuplicates() + chunk.duplicates.size());
+            job.setInvalid(job.getInvalid() + chunk.invalid.size());
+            job.setUpdatedAt(now);
+            memberImportRepository.save(job);
+        });
+
+        List<RowError> rejected = new ArrayList<>(chunk.invalid);
+        rejected.addAll(chunk.duplicates);
+        rejected.sort((a, b) -> Long.compare(a.row(), b.row()));
+        for (RowError error : rejected) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+    }
+
+    /**
+     * Reads back the members just inserted and indexes them after the chunk
+     * commits. Their ids may have been cached as "not found", so those
+     * entries are evicted.
+     */
+    private void indexInserted(List<String> emailsCanonical) {
+        List<User> inserted = userRepository.findByEmailCanonicalIn(emailsCanonical);
+        memberCache.evictAll(inserted.stream().map(User::getId).toList());
+        for (User user : inserted) {
+            memberSearchService.index(user);
+            memberSegmentService.index(user);
+        }
+    }
+
+    private void markFailed(Long importId, Exception cause) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> memberImportRepository.findById(importId)
+                    .ifPresent(job -> {
+                        String message = String.valueOf(cause.getMessage());
+                        job.setStatus(Status.FAILED);
+                        job.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+                        job.setUpdatedAt(LocalDateTime.now());
+                        memberImportRepository.save(job);
+                    }));
+        } catch (RuntimeException e) {
+            log.warn("Could not mark member import {} as failed", importId, e);
+        }
+        log.error("Member import {} failed", importId, cause);
+    }
+
+    private static Columns readHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("El archivo de socios está vacío");
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        char separator = header.indexOf(';') >= 0 && header.indexOf(',') < 0 ? ';' : ',';
+        String[] names = ReconciliationServiceImpl.splitCsvLine(header, separator);
+        int fullName = indexOf(names, "fullName");
+        int email = indexOf(names, "email");
+        if (fullName < 0 || email < 0) {
+            throw new IllegalArgumentException("El archivo debe tener las columnas fullName y email");
+        }
+        return new Columns(separator, fullName, email, indexOf(names, "phone"), indexOf(names, "birthDate"));
+    }
+
+    private static int indexOf(String[] names, String column) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].trim().equalsIgnoreCase(column)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String field(String[] fields, int index) {
+        if (index < 0 || index >= fields.length) {
+            return null;
+        }
+        String value = fields[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    static LocalDate parseBirthDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        return value.indexOf('/') >= 0 ? LocalDate.parse(value, DAY_MONTH_YEAR) : LocalDate.parse(value);
+    }
+
+    private record Columns(char separator, int fullName, int email, int phone, int birthDate) {
+    }
+
+    private record Candidate(long row, CreateMemberRequest request) {
+    }
+
+    /**
+     * Rows read since the last checkpoint.
+     */
+    private static final class Chunk {
+        private long firstRow;
+        private final List<Candidate> candidates = new ArrayList<>();
+        private final List<RowError> duplicates = new ArrayList<>();
+        private final List<RowError> invalid = new ArrayList<>();
+    }
+}
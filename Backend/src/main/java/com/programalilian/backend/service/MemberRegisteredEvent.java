@@ -0,0 +1,11 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.User;
+
+/**
+ * Published when a member registers; handled after the registration commits.
+ *
+ * @param user The persisted member
+ */
+public record MemberRegisteredEvent(User user) {
+}
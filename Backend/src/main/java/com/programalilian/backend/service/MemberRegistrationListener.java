@@ -0,0 +1,29 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.config.AsyncConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Indexes newly registered members for search and segmentation on the
+ * registration executor once the member is committed. The welcome email is
+ * not sent from here: it is queued in the outbox inside the registration
+ * transaction, so it is not lost if the process stops before this runs.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberRegistrationListener {
+
+    private final MemberSearchService memberSearchService;
+    private final MemberSegmentService memberSegmentService;
+
+    @Async(AsyncConfig.REGISTRATION_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMemberRegistered(MemberRegisteredEvent event) {
+        memberSearchService.index(event.user());
+        memberSegmentService.index(event.user());
+    }
+}
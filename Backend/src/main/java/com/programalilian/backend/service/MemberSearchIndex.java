@@ -0,0 +1,377 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.dto.MemberListItem;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory typeahead index over member names and emails.
+ *
+ * Each member occupies a slot holding its normalized text (name and email,
+ * lowercase, without accents, joined by a control character that queries
+ * never contain, so no match spans both fields). Trigram posting lists narrow a query down to a
+ * few candidate slots which are then checked with a substring match; queries
+ * shorter than three characters use a sorted token map for prefix lookups.
+ * Results are kept in a heap bounded by the requested limit, so a broad query
+ * costs one pass over its candidates instead of a sort of all of them.
+ * When nothing matches as a substring, members sharing most of the query's
+ * word trigrams are returned as fuzzy matches, which tolerates typos.
+ * Updating a member retires its old slot instead of rewriting posting lists;
+ * once retired slots pass a fraction of the live ones, the index is rebuilt
+ * so their postings do not accumulate.
+ */
+public class MemberSearchIndex {
+
+    private static final char BOUNDARY = '\u0001';
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final Pattern IGNORED_CHARACTERS = Pattern.compile("[\\p{M}\\p{Cc}]+");
+    private static final Pattern TOKEN_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final double FUZZY_MIN_SHARED = 0.5;
+    private static final double MAX_RETIRED_FRACTION = 0.25;
+
+    private static final int RANK_PREFIX = 0;
+    private static final int RANK_SUBSTRING = 1;
+    private static final int RANK_FUZZY = 2;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<MemberListItem> members = new ArrayList<>();
+    private final List<String> texts = new ArrayList<>();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final Map<Long, IntList> trigramPostings = new HashMap<>();
+    private final NavigableMap<String, IntList> tokenPostings = new TreeMap<>();
+    private int liveCount;
+
+    /**
+     * Adds a member, replacing any previous entry with the same id.
+     */
+    public void put(MemberListItem member) {
+        String text = normalize(member.fullName()) + FIELD_SEPARATOR + normalize(member.email());
+        lock.writeLock().lock();
+        try {
+            Integer previous = slotsById.get(member.id());
+            if (previous != null) {
+                members.set(previous, null);
+                texts.set(previous, null);
+                liveCount--;
+            }
+            add(member, text);
+            if (members.size() - liveCount > liveCount * MAX_RETIRED_FRACTION) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Slots in use, live or retired.
+     */
+    int slots() {
+        lock.readLock().lock();
+        try {
+            return members.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds members whose name or email matches the query. Word prefix matches
+     * come before other substring matches; without any, fuzzy matches are
+     * ordered by number of shared trigrams. Ties are ordered by name, except
+     * for queries shorter than three characters, which are ordered by the
+     * matching word and then by name.
+     *
+     * @param query Free text, case and accent insensitive
+     * @param limit Maximum number of results
+     * @return Matching members, best first
+     */
+    public List<MemberListItem> search(String query, int limit) {
+        String q = normalize(query).trim();
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            TopHits hits = new TopHits(limit, Comparator.<Hit>comparingInt(Hit::rank)
+                    .thenComparing(Comparator.<Hit>comparingInt(Hit::shared).reversed())
+                    .thenComparing(Hit::word)
+                    .thenComparing(h -> texts.get(h.slot())));
+            if (q.length() < 3) {
+                collectPrefixMatches(q, hits);
+            } else {
+                collectSubstringMatches(q, hits);
+                if (hits.isEmpty()) {
+                    collectFuzzyMatches(q, hits);
+                }
+            }
+            return hits.sorted().stream()
+                    .map(h -> members.get(h.slot()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return IGNORED_CHARACTERS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private void add(MemberListItem member, String text) {
+        int slot = members.size();
+        members.add(member);
+        texts.add(text);
+        slotsById.put(member.id(), slot);
+        liveCount++;
+
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            post(trigramPostings, trigramKey(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2)), slot);
+        }
+        for (String token : tokens(text)) {
+            tokenPostings.computeIfAbsent(token, k -> new IntList()).addSorted(slot);
+            for (long key : boundaryTrigrams(token)) {
+                post(trigramPostings, key, slot);
+            }
+        }
+    }
+
+    /**
+     * Reindexes the live members into fresh slots, dropping retired slots and
+     * their postings. Called under the write lock.
+     */
+    private void compact() {
+        List<MemberListItem> liveMembers = new ArrayList<>(liveCount);
+        List<String> liveTexts = new ArrayList<>(liveCount);
+        for (int slot = 0; slot < members.size(); slot++) {
+            if (members.get(slot) != null) {
+                liveMembers.add(members.get(slot));
+                liveTexts.add(texts.get(slot));
+            }
+        }
+        members.clear();
+        texts.clear();
+        slotsById.clear();
+        trigramPostings.clear();
+        tokenPostings.clear();
+        liveCount = 0;
+        for (int i = 0; i < liveMembers.size(); i++) {
+            add(liveMembers.get(i), liveTexts.get(i));
+        }
+    }
+
+    /**
+     * Walks the token map in order from the query. A member is ranked by its
+     * first matching word, and once the heap is full every later word sorts
+     * after all kept hits, so the walk stops there.
+     */
+    private void collectPrefixMatches(String q, TopHits hits) {
+        Set<Integer> seen = new HashSet<>();
+        for (Map.Entry<String, IntList> entry : tokenPostings.tailMap(q, true).entrySet()) {
+            String token = entry.getKey();
+            if (!token.startsWith(q) || hits.isFull() && token.compareTo(hits.worst().word()) > 0) {
+                return;
+            }
+            IntList postings = entry.getValue();
+            for (int i = 0; i < postings.size; i++) {
+                int slot = postings.data[i];
+                if (texts.get(slot) != null && seen.add(slot)) {
+                    hits.offer(new Hit(slot, RANK_PREFIX, 0, token));
+                }
+            }
+        }
+    }
+
+    private void collectSubstringMatches(String q, TopHits hits) {
+        IntList shortest = null;
+        for (int i = 0; i + 3 <= q.length(); i++) {
+            IntList postings = trigramPostings.get(trigramKey(q.charAt(i), q.charAt(i + 1), q.charAt(i + 2)));
+            if (postings == null) {
+                return;
+            }
+            if (shortest == null || postings.size < shortest.size) {
+                shortest = postings;
+            }
+        }
+        for (int i = 0; i < shortest.size; i++) {
+            int slot = shortest.data[i];
+            String text = texts.get(slot);
+            if (text == null) {
+                continue;
+            }
+            int at = text.indexOf(q);
+            if (at >= 0) {
+                hits.offer(new Hit(slot, startsWord(text, q, at) ? RANK_PREFIX : RANK_SUBSTRING, 0, ""));
+            }
+        }
+    }
+
+    private void collectFuzzyMatches(String q, TopHits hits) {
+        long[] keys = Arrays.stream(tokens(q))
+                .flatMapToLong(token -> Arrays.stream(paddedTrigrams(token)))
+                .distinct()
+                .toArray();
+        if (keys.length == 0) {
+            return;
+        }
+        int required = Math.max(2, (int) Math.ceil(keys.length * FUZZY_MIN_SHARED));
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (long key : keys) {
+            IntList postings = trigramPostings.get(key);
+            if (postings == null) {
+                continue;
+            }
+            for (int i = 0; i < postings.size; i++) {
+                shared.merge(postings.data[i], 1, Integer::sum);
+            }
+        }
+        shared.forEach((slot, count) -> {
+            if (count >= required && texts.get(slot) != null) {
+                hits.offer(new Hit(slot, RANK_FUZZY, count, ""));
+            }
+        });
+    }
+
+    /**
+     * A match starts a word when it is at the start of the text or follows a
+     * separator such as a space, dot or at sign.
+     */
+    private static boolean startsWord(String text, String q, int at) {
+        while (at >= 0) {
+            if (at == 0 || !Character.isLetterOrDigit(text.charAt(at - 1))) {
+                return true;
+            }
+            at = text.indexOf(q, at + 1);
+        }
+        return false;
+    }
+
+    private static String[] tokens(String text) {
+        return Arrays.stream(TOKEN_SEPARATORS.split(text))
+                .filter(token -> !token.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Trigrams that include a word boundary; interior trigrams are already
+     * covered by the trigrams of the whole text.
+     */
+    private static long[] boundaryTrigrams(String token) {
+        if (token.length() == 1) {
+            return new long[] { trigramKey(BOUNDARY, token.charAt(0), BOUNDARY) };
+        }
+        int last = token.length() - 1;
+        return new long[] {
+                trigramKey(BOUNDARY, token.charAt(0), token.charAt(1)),
+                trigramKey(token.charAt(last - 1), token.charAt(last), BOUNDARY)
+        };
+    }
+
+    private static long[] paddedTrigrams(String token) {
+        String padded = BOUNDARY + token + BOUNDARY;
+        long[] keys = new long[padded.length() - 2];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = trigramKey(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2));
+        }
+        return keys;
+    }
+
+    private static long trigramKey(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    private static void post(Map<Long, IntList> index, long key, int slot) {
+        index.computeIfAbsent(key, k -> new IntList()).addSorted(slot);
+    }
+
+    private record Hit(int slot, int rank, int shared, String word) {
+    }
+
+    /**
+     * The best hits seen so far, at most limit of them. The heap head is the
+     * worst kept hit, so a better one replaces it in O(log limit).
+     */
+    private static final class TopHits {
+        private final int limit;
+        private final Comparator<Hit> order;
+        private final PriorityQueue<Hit> heap;
+
+        TopHits(int limit, Comparator<Hit> order) {
+            this.limit = limit;
+            this.order = order;
+            this.heap = new PriorityQueue<>(Math.min(limit, 1024) + 1, order.reversed());
+        }
+
+        void offer(Hit hit) {
+            if (heap.size() < limit) {
+                heap.add(hit);
+            } else if (order.compare(hit, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(hit);
+            }
+        }
+
+        boolean isEmpty() {
+            return heap.isEmpty();
+        }
+
+        boolean isFull() {
+            return heap.size() >= limit;
+        }
+
+        Hit worst() {
+            return heap.peek();
+        }
+
+        List<Hit> sorted() {
+            List<Hit> hits = new ArrayList<>(heap);
+            hits.sort(order);
+            return hits;
+        }
+    }
+
+    /**
+     * Growable list of slots in ascending order without duplicates.
+     */
+    private static final class IntList {
+        private int[] data = new int[4];
+        private int size;
+
+        void addSorted(int value) {
+            if (size > 0 && data[size - 1] == value) {
+                return;
+            }
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+    }
+}
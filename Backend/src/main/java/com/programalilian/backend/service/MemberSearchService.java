@@ -0,0 +1,35 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.User;
+import com.programalilian.backend.dto.MemberListItem;
+
+import java.util.List;
+
+/**
+ * Service interface for the admin member typeahead.
+ * Answers name and email searches from memory without querying the database.
+ */
+public interface MemberSearchService {
+
+    /**
+     * Rebuilds the search index from the users table.
+     */
+    void reload();
+
+    /**
+     * Adds or refreshes a saved member. When called inside a transaction the
+     * member is only indexed after a successful commit.
+     *
+     * @param user The persisted member
+     */
+    void index(User user);
+
+    /**
+     * Searches members by name or email fragment, tolerating small typos.
+     *
+     * @param query Text typed by the admin
+     * @param limit Maximum number of results
+     * @return Matching members, best first
+     */
+    List<MemberListItem> search(String query, int limit);
+}
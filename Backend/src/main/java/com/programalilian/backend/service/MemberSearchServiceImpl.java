@@ -0,0 +1,101 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.User;
+import com.programalilian.backend.dto.MemberListItem;
+import com.programalilian.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of MemberSearchService backed by a MemberSearchIndex.
+ * Loads all members once at startup and indexes changes as they commit.
+ *
+ * A reload builds a new index and swaps it in, so searches keep being served
+ * from the previous one meanwhile. Members indexed during the reload are put
+ * into both indexes and replayed after the load, so a row streamed before its
+ * latest commit cannot overwrite it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MemberSearchServiceImpl implements MemberSearchService {
+
+    private final UserRepository userRepository;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile MemberSearchIndex index = new MemberSearchIndex();
+    private List<MemberListItem> putsDuringReload;
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reload() {
+        reloadLock.lock();
+        try {
+            long start = System.nanoTime();
+            synchronized (this) {
+                putsDuringReload = new ArrayList<>();
+            }
+            MemberSearchIndex fresh = new MemberSearchIndex();
+            try {
+                try (Stream<MemberListItem> members = userRepository.streamAllListItems()) {
+                    members.forEach(fresh::put);
+                }
+                synchronized (this) {
+                    putsDuringReload.forEach(fresh::put);
+                    index = fresh;
+                }
+            } finally {
+                synchronized (this) {
+                    putsDuringReload = null;
+                }
+            }
+            log.info("Loaded {} members into search index in {} ms",
+                    fresh.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    @Override
+    public void index(User user) {
+        MemberListItem item = new MemberListItem(user.getId(), user.getFullName(), user.getEmail(),
+                user.getPhone(), user.getBirthDate(), user.getSubscriptionPlan(), user.getCreatedAt());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(item);
+                }
+            });
+        } else {
+            put(item);
+        }
+    }
+
+    @Override
+    public List<MemberListItem> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    /**
+     * Puts a member into the current index and, while a reload is running,
+     * records it for the index being built.
+     */
+    private synchronized void put(MemberListItem item) {
+        index.put(item);
+        if (putsDuringReload != null) {
+            putsDuringReload.add(item);
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.dto.MemberSegmentRow;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory bitmap indexes over member attributes for audience segmentation.
+ *
+ * Each member gets a dense slot number and every low-cardinality attribute
+ * value (plan, birth month, birth day) keeps a bitmap of the slots that have
+ * it. Signup month and day of last donation have too many distinct values for
+ * a bitmap each, so their terms scan the per-slot arrays instead, which is a
+ * single pass over an int array. Segment expressions combine the resulting
+ * bitmaps with word-wide AND, OR and NOT. The attributes of each slot are kept
+ * too, so an update clears exactly the bits it set before.
+ *
+ * Expressions use terms joined by AND, OR, NOT and parentheses:
+ * <ul>
+ *   <li>{@code plan:mensual}, {@code plan:none}</li>
+ *   <li>{@code birthMonth:10}, {@code birthDay:1..15}</li>
+ *   <li>{@code cohort:2024-01}, {@code cohort:2024-01..2024-06}</li>
+ *   <li>{@code donatedWithin:90} (days), {@code donor} (ever donated), {@code all}</li>
+ * </ul>
+ */
+public class MemberSegmentIndex {
+
+    private static final String NO_PLAN = "none";
+    private static final int NONE = Integer.MIN_VALUE;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final Map<String, Integer> slotsByEmail = new HashMap<>();
+    private long[] ids = new long[1024];
+    private String[] emails = new String[1024];
+    private String[] plans = new String[1024];
+    private int[] birthMonths = new int[1024];
+    private int[] birthDays = new int[1024];
+    private int[] cohorts = new int[1024];
+    private int[] lastDonationDays = new int[1024];
+    private int slotCount;
+
+    private final BitSet live = new BitSet();
+    private final BitSet donors = new BitSet();
+    private final Map<String, BitSet> byPlan = new HashMap<>();
+    private final BitSet[] byBirthMonth = new BitSet[13];
+    private final BitSet[] byBirthDay = new BitSet[32];
+
+    public MemberSegmentIndex() {
+        for (int i = 0; i < byBirthMonth.length; i++) {
+            byBirthMonth[i] = new BitSet();
+        }
+        for (int i = 0; i < byBirthDay.length; i++) {
+            byBirthDay[i] = new BitSet();
+        }
+    }
+
+    /**
+     * Adds a member or replaces the attributes of an indexed one. The last
+     * donation is only ever moved forward.
+     */
+    public void put(MemberSegmentRow member) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = slotsById.get(member.id());
+            int slot;
+            if (existing != null) {
+                slot = existing;
+                unset(slot);
+            } else {
+                slot = allocate(member.id());
+            }
+            if (emails[slot] != null) {
+                slotsByEmail.remove(emails[slot], slot);
+            }
+            emails[slot] = member.emailCanonical();
+            if (member.emailCanonical() != null) {
+                slotsByEmail.put(member.emailCanonical(), slot);
+            }
+            plans[slot] = planKey(member.subscriptionPlan());
+            birthMonths[slot] = member.birthDate() != null ? member.birthDate().getMonthValue() : 0;
+            birthDays[slot] = member.birthDate() != null ? member.birthDate().getDayOfMonth() : 0;
+            cohorts[slot] = member.createdAt() != null ? monthIndex(YearMonth.from(member.createdAt())) : NONE;
+            if (member.lastPaymentAt() != null) {
+                lastDonationDays[slot] = Math.max(lastDonationDays[slot],
+                        (int) member.lastPaymentAt().toLocalDate().toEpochDay());
+            }
+            set(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Changes the plan of an indexed member; unknown ids are ignored.
+     */
+    public void updatePlan(Long id, String plan) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.get(id);
+            if (slot != null) {
+                byPlan.get(plans[slot]).clear(slot);
+                plans[slot] = planKey(plan);
+                byPlan.computeIfAbsent(plans[slot], k -> new BitSet()).set(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records a donation for the member with the given canonical email, if
+     * any. Older donations than the one already known are ignored.
+     */
+    public void recordDonation(String emailCanonical, LocalDateTime donatedAt) {
+        if (emailCanonical == null || donatedAt == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByEmail.get(emailCanonical);
+            if (slot == null) {
+                return;
+            }
+            int day = (int) donatedAt.toLocalDate().toEpochDay();
+            if (day > lastDonationDays[slot]) {
+                lastDonationDays[slot] = day;
+                donors.set(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Evaluates a segment expression.
+     *
+     * @param expression Segment expression
+     * @param today      Reference day for recency terms
+     * @param limit      Maximum number of member ids to return
+     * @return Matching member count and up to {@code limit} ids, in slot order
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    public Result evaluate(String expression, LocalDate today, int limit) {
+        Node node = new Parser(expression).parse();
+        lock.readLock().lock();
+        try {
+            BitSet matches = node.evaluate(this, today);
+            List<Long> memberIds = new ArrayList<>(Math.min(limit, 1024));
+            for (int slot = matches.nextSetBit(0); slot >= 0 && memberIds.size() < limit;
+                    slot = matches.nextSetBit(slot + 1)) {
+                memberIds.add(ids[slot]);
+            }
+            return new Result(matches.cardinality(), memberIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public record Result(int count, List<Long> memberIds) {
+    }
+
+    private int allocate(long id) {
+        if (slotCount == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            emails = Arrays.copyOf(emails, capacity);
+            plans = Arrays.copyOf(plans, capacity);
+            birthMonths = Arrays.copyOf(birthMonths, capacity);
+            birthDays = Arrays.copyOf(birthDays, capacity);
+            cohorts = Arrays.copyOf(cohorts, capacity);
+            lastDonationDays = Arrays.copyOf(lastDonationDays, capacity);
+        }
+        int slot = slotCount++;
+        ids[slot] = id;
+        lastDonationDays[slot] = NONE;
+        slotsById.put(id, slot);
+        return slot;
+    }
+
+    private void set(int slot) {
+        live.set(slot);
+        byPlan.computeIfAbsent(plans[slot], k -> new BitSet()).set(slot);
+        byBirthMonth[birthMonths[slot]].set(slot);
+        byBirthDay[birthDays[slot]].set(slot);
+        if (lastDonationDays[slot] != NONE) {
+            donors.set(slot);
+        }
+    }
+
+    private void unset(int slot) {
+        byPlan.get(plans[slot]).clear(slot);
+        byBirthMonth[birthMonths[slot]].clear(slot);
+        byBirthDay[birthDays[slot]].clear(slot);
+        donors.clear(slot);
+    }
+
+    private static String planKey(String plan) {
+        return plan == null || plan.isBlank() ? NO_PLAN : plan.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int monthIndex(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+
+    private static BitSet union(BitSet[] bitmaps, int from, int to) {
+        BitSet result = new BitSet();
+        for (int i = from; i <= to; i++) {
+            result.or(bitmaps[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Slots whose value in the given per-slot array lies within [from, to].
+     * Unset values are {@code NONE} and never match a range above it.
+     */
+    private BitSet scan(int[] values, int from, int to) {
+        BitSet result = new BitSet(slotCount);
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (values[slot] >= from && values[slot] <= to) {
+                result.set(slot);
+            }
+        }
+        return result;
+    }
+
+    // Expression tree; evaluated under the read lock
+
+    private interface Node {
+        BitSet evaluate(MemberSegmentIndex index, LocalDate today);
+    }
+
+    private record And(Node left, Node right) implements Node {
+        @Override
+        public BitSet evaluate(MemberSegmentIndex index, LocalDate today) {
+            BitSet result = left.evaluate(index, today);
+            result.and(right.evaluate(index, today));
+            return result;
+        }
+    }
+
+    private record Or(Node left, Node right) implements Node {
+        @Override
+        public BitSet evaluate(MemberSegmentIndex index, LocalDate today) {
+            BitSet result = left.evaluate(index, today);
+            result.or(right.evaluate(index, today));
+            return result;
+        }
+    }
+
+    private record Not(Node operand) implements Node {
+        @Override
+        public BitSet evaluate(MemberSegmentIndex index, LocalDate today) {
+            BitSet result = (BitSet) index.live.clone();
+            result.andNot(operand.evaluate(index, today));
+            return result;
+        }
+    }
+
+    private record Term(String key, String value) implements Node {
+        @Override
+        public BitSet evaluate(MemberSegmentIndex index, LocalDate today) {
+            switch (key) {
+                case "all":
+                    return (BitSet) index.live.clone();
+                case "donor":
+                    return (BitSet) index.donors.clone();
+                case "plan": {
+                    BitSet bits = index.byPlan.get(planKey(value));
+                    return bits != null ? (BitSet) bits.clone() : new BitSet();
+                }
+                case "birthmonth": {
+                    int[] range = intRange(value, 1, 12);
+                    return union(index.byBirthMonth, range[0], range[1]);
+                }
+                case "birthday": {
+                    int[] range = intRange(value, 1, 31);
+                    return union(index.byBirthDay, range[0], range[1]);
+                }
+                case "cohort": {
+                    String[] bounds = bounds(value);
+                    int from = monthIndex(yearMonth(bounds[0]));
+                    int to = monthIndex(yearMonth(bounds[1]));
+                    return index.scan(index.cohorts, from, to);
+                }
+                case "donatedwithin": {
+                    int days = intRange(value, 0, Integer.MAX_VALUE)[0];
+                    long from = today.toEpochDay() - days;
+                    return index.scan(index.lastDonationDays, (int) Math.max(from, NONE + 1L), Integer.MAX_VALUE);
+                }
+                default:
+                    throw invalid("término desconocido '" + key + "'");
+            }
+        }
+
+        private static String[] bounds(String value) {
+            int dots = value.indexOf("..");
+            return dots < 0
+                    ? new String[] { value, value }
+                    : new String[] { value.substring(0, dots), value.substring(dots + 2) };
+        }
+
+        private static int[] intRange(String value, int min, int max) {
+            String[] bounds = bounds(value);
+            try {
+                int from = Integer.parseInt(bounds[0]);
+                int to = Integer.parseInt(bounds[1]);
+                if (from < min || to > max || from > to) {
+                    throw invalid("rango fuera de límites '" + value + "'");
+                }
+                return new int[] { from, to };
+            } catch (NumberFormatException e) {
+                throw invalid("número inválido '" + value + "'");
+            }
+        }
+
+        private static YearMonth yearMonth(String value) {
+            try {
+                return YearMonth.parse(value);
+            } catch (DateTimeParseException e) {
+                throw invalid("mes inválido '" + value + "', se espera AAAA-MM");
+            }
+        }
+    }
+
+    /**
+     * Recursive descent parser; NOT binds tighter than AND, which binds
+     * tighter than OR.
+     */
+    private static final class Parser {
+
+        private final List<String> tokens = new ArrayList<>();
+        private int position;
+
+        Parser(String expression) {
+            if (expression == null || expression.isBlank()) {
+                throw invalid("la expresión está vacía");
+            }
+            for (String part : expression.replace("(", " ( ").replace(")", " ) ").trim().split("\\s+")) {
+                tokens.add(part);
+            }
+        }
+
+        Node parse() {
+            Node node = or();
+            if (position < tokens.size()) {
+                throw invalid("se esperaba AND u OR antes de '" + tokens.get(position) + "'");
+            }
+            return node;
+        }
+
+        private Node or() {
+            Node node = and();
+            while (accept("OR")) {
+                node = new Or(node, and());
+            }
+            return node;
+        }
+
+        private Node and() {
+            Node node = unary();
+            while (accept("AND")) {
+                node = new And(node, unary());
+            }
+            return node;
+        }
+
+        private Node unary() {
+            if (accept("NOT")) {
+                return new Not(unary());
+            }
+            if (accept("(")) {
+                Node node = or();
+                if (!accept(")")) {
+                    throw invalid("falta ')'");
+                }
+                return node;
+            }
+            if (position >= tokens.size()) {
+                throw invalid("la expresión termina de forma inesperada");
+            }
+            String token = tokens.get(position++);
+            int colon = token.indexOf(':');
+            String key = (colon < 0 ? token : token.substring(0, colon)).toLowerCase(Locale.ROOT);
+            String value = colon < 0 ? "" : token.substring(colon + 1);
+            boolean bare = key.equals("all") || key.equals("donor");
+            if (bare != (colon < 0) || (!bare && value.isEmpty())) {
+                throw invalid("término inválido '" + token + "'");
+            }
+            return new Term(key, value);
+        }
+
+        private boolean accept(String token) {
+            if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(token)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static IllegalArgumentException invalid(String detail) {
+        return new IllegalArgumentException("Expresión de segmento inválida: " + detail);
+    }
+}
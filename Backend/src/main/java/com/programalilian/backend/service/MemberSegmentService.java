@@ -0,0 +1,81 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.User;
+import com.programalilian.backend.dto.SegmentResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for campaign audience segmentation.
+ * Evaluates segment expressions over in-memory bitmap indexes of member
+ * plan, birthday, signup month and last donation.
+ */
+public interface MemberSegmentService {
+
+    /**
+     * Order of the startup load among ApplicationReadyEvent listeners.
+     * Listeners that evaluate segments at startup must be ordered after it.
+     */
+    int LOAD_ORDER = 0;
+
+    /**
+     * Rebuilds the segment indexes from the users and donor summaries tables.
+     */
+    void reload();
+
+    /**
+     * Tells whether the indexes have been loaded at least once. Until then
+     * segments cannot be evaluated.
+     *
+     * @return true once the first load has finished
+     */
+    boolean isLoaded();
+
+    /**
+     * Adds or refreshes a saved member. When called inside a transaction the
+     * member is only indexed after a successful commit.
+     *
+     * @param user The persisted member
+     */
+    void index(User user);
+
+    /**
+     * Changes the indexed plan of a member after commit.
+     *
+     * @param userId Member ID
+     * @param plan   New subscription plan
+     */
+    void updatePlan(Long userId, String plan);
+
+    /**
+     * Records a donation against the member with the same email, if any,
+     * after commit.
+     *
+     * @param email     Donor email
+     * @param donatedAt Donation timestamp
+     */
+    void recordDonation(String email, LocalDateTime donatedAt);
+
+    /**
+     * Evaluates a segment expression such as
+     * {@code plan:mensual AND birthMonth:10 AND NOT donatedWithin:90}.
+     *
+     * @param expression Segment expression
+     * @param limit      Maximum number of member ids to return
+     * @return Matching member count and ids
+     * @throws IllegalArgumentException if the expression is invalid
+     * @throws IllegalStateException    if the indexes are not loaded yet
+     */
+    SegmentResult evaluate(String expression, int limit);
+
+    /**
+     * Returns the ids of every member in a segment.
+     *
+     * @param expression Segment expression
+     * @return Matching member ids
+     * @throws IllegalArgumentException if the expression is invalid
+     * @throws IllegalStateException    if the indexes are not loaded yet
+     */
+    List<Long> memberIds(String expression);
+}
@@ -0,0 +1,151 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.DonorSummary;
+import com.programalilian.backend.domain.User;
+import com.programalilian.backend.dto.MemberSegmentRow;
+import com.programalilian.backend.dto.SegmentResult;
+import com.programalilian.backend.repository.DonorSummaryRepository;
+import com.programalilian.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of MemberSegmentService backed by a MemberSegmentIndex.
+ * Loads all members and donor summaries once at startup and applies changes
+ * as they commit.
+ *
+ * A reload builds a new index and swaps it in, so segments keep being served
+ * from the previous one meanwhile. Changes committed during the reload are
+ * applied to both indexes; replaying them is safe because every change sets
+ * a value or moves the last donation forward.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MemberSegmentServiceImpl implements MemberSegmentService {
+
+    private final UserRepository userRepository;
+    private final DonorSummaryRepository donorSummaryRepository;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile MemberSegmentIndex index = new MemberSegmentIndex();
+    private volatile boolean loaded;
+    private List<Consumer<MemberSegmentIndex>> changesDuringReload;
+
+    @Override
+    @Order(LOAD_ORDER)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reload() {
+        reloadLock.lock();
+        try {
+            long start = System.nanoTime();
+            synchronized (this) {
+                changesDuringReload = new ArrayList<>();
+            }
+            MemberSegmentIndex fresh = new MemberSegmentIndex();
+            try {
+                try (Stream<MemberSegmentRow> members = userRepository.streamAllSegmentRows()) {
+                    members.forEach(fresh::put);
+                }
+                try (Stream<DonorSummary> summaries = donorSummaryRepository.streamAll()) {
+                    summaries.forEach(s -> fresh.recordDonation(s.getEmail(), s.getLastDonationAt()));
+                }
+                synchronized (this) {
+                    changesDuringReload.forEach(change -> change.accept(fresh));
+                    index = fresh;
+                    loaded = true;
+                }
+            } finally {
+                synchronized (this) {
+                    changesDuringReload = null;
+                }
+            }
+            log.info("Loaded {} members into segment index in {} ms",
+                    fresh.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    @Override
+    public void index(User user) {
+        MemberSegmentRow row = new MemberSegmentRow(user.getId(), User.canonicalEmail(user.getEmail()),
+                user.getSubscriptionPlan(), user.getBirthDate(), user.getCreatedAt(), user.getLastPaymentAt());
+        afterCommit(() -> apply(i -> i.put(row)));
+    }
+
+    @Override
+    public void updatePlan(Long userId, String plan) {
+        afterCommit(() -> apply(i -> i.updatePlan(userId, plan)));
+    }
+
+    @Override
+    public void recordDonation(String email, LocalDateTime donatedAt) {
+        String canonical = User.canonicalEmail(email);
+        afterCommit(() -> apply(i -> i.recordDonation(canonical, donatedAt)));
+    }
+
+    @Override
+    public SegmentResult evaluate(String expression, int limit) {
+        long start = System.nanoTime();
+        MemberSegmentIndex.Result result = loadedIndex().evaluate(expression, LocalDate.now(), limit);
+        return new SegmentResult(expression, result.count(), result.memberIds(),
+                result.count() > result.memberIds().size(), (System.nanoTime() - start) / 1_000);
+    }
+
+    @Override
+    public List<Long> memberIds(String expression) {
+        return loadedIndex().evaluate(expression, LocalDate.now(), Integer.MAX_VALUE).memberIds();
+    }
+
+    private MemberSegmentIndex loadedIndex() {
+        if (!loaded) {
+            throw new IllegalStateException("Los segmentos todavía se están cargando");
+        }
+        return index;
+    }
+
+    /**
+     * Applies a change to the current index and, while a reload is running,
+     * records it for the index being built.
+     */
+    private synchronized void apply(Consumer<MemberSegmentIndex> change) {
+        change.accept(index);
+        if (changesDuringReload != null) {
+            changesDuringReload.add(change);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.dto.ReconciliationReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+
+/**
+ * Service interface for reconciling provider settlement files against
+ * recorded donations.
+ */
+public interface ReconciliationService {
+
+    /**
+     * Sort-merges a settlement CSV against donations ordered by transaction ID.
+     * Neither side is fully loaded into memory; large files are sorted in
+     * temporary runs on disk.
+     *
+     * @param settlementCsv Provider CSV with a header row
+     * @param idColumn      Header of the transaction ID column
+     * @param amountColumn  Header of the amount column
+     * @param dateColumn    Header of the date column, read only when a day range is given
+     * @param from          First day to compare, on both sides (nullable)
+     * @param to            Last day to compare, on both sides (nullable)
+     * @return Report of missing, extra and amount-mismatched transactions
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the header lacks the given columns
+     */
+    ReconciliationReport reconcile(InputStream settlementCsv, String idColumn, String amountColumn,
+            String dateColumn, LocalDate from, LocalDate to) throws IOException;
+}
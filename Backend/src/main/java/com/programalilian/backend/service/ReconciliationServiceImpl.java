@@ -0,0 +1,459 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.dto.ReconciliationReport;
+import com.programalilian.backend.dto.ReconciliationReport.Entry;
+import com.programalilian.backend.dto.ReconciliationReport.Mismatch;
+import com.programalilian.backend.repository.DonationRepository;
+import com.programalilian.backend.repository.DonationRepository.TransactionAmount;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of ReconciliationService.
+ *
+ * Provider rows are read in chunks; each chunk is sorted and, when the file
+ * has more than one chunk, spilled to a temporary run file. The runs are then
+ * k-way merged and walked in lockstep with the donations stream, so memory is
+ * bounded by the chunk size whatever the size of either side. Both sides are
+ * ordered by binary comparison of the transaction ID, which is the collation
+ * of the transactionId column, so the database reads it from the unique index.
+ * The provider file is sorted before the read-only transaction is opened, so
+ * no connection is held while it is parsed.
+ */
+@Service
+public class ReconciliationServiceImpl implements ReconciliationService {
+
+    private static final int MAX_DETAILS = 1000;
+    private static final DateTimeFormatter DAY_MONTH_YEAR = DateTimeFormatter.ofPattern("dd/MM/uuuu");
+    private static final Comparator<ProviderRow> BY_ID = Comparator.comparing(ProviderRow::id);
+
+    private final DonationRepository donationRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+    private final Character decimalSeparator;
+
+    public ReconciliationServiceImpl(DonationRepository donationRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.reconciliation.chunk-size:200000}") int chunkSize,
+            @Value("${app.reconciliation.decimal-separator:}") String decimalSeparator) {
+        this.donationRepository = donationRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkSize = chunkSize;
+        this.decimalSeparator = decimalSeparator.isBlank() ? null : decimalSeparator.trim().charAt(0);
+    }
+
+    @Override
+    public ReconciliationReport reconcile(InputStream settlementCsv, String idColumn, String amountColumn,
+            String dateColumn, LocalDate from, LocalDate to) throws IOException {
+        List<Path> runFiles = new ArrayList<>();
+        try {
+            ProviderRows provider = sortProviderRows(settlementCsv, idColumn, amountColumn, dateColumn, from, to,
+                    runFiles);
+            LocalDateTime start = from != null ? from.atStartOfDay() : null;
+            LocalDateTime end = to != null ? to.plusDays(1).atStartOfDay() : null;
+            try (provider) {
+                return readOnlyTransaction.execute(status -> {
+                    try (Stream<TransactionAmount> donations =
+                            donationRepository.streamOrderedByTransactionId(start, end)) {
+                        return merge(provider, donations.iterator());
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        } finally {
+            for (Path run : runFiles) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    /**
+     * Walks both sorted sides once and collects the differences.
+     */
+    private ReconciliationReport merge(ProviderRows provider, Iterator<TransactionAmount> donations) {
+        Report report = new Report();
+        ProviderRow p = provider.nextGrouped();
+        TransactionAmount d = donations.hasNext() ? donations.next() : null;
+
+        while (p != null || d != null) {
+            int cmp = p == null ? 1 : d == null ? -1 : p.id().compareTo(d.getTransactionId());
+            if (cmp < 0) {
+                report.missing(p);
+                p = provider.nextGrouped();
+            } else if (cmp > 0) {
+                report.extra(d);
+                d = donations.hasNext() ? donations.next() : null;
+            } else {
+                report.compare(p, d);
+                p = provider.nextGrouped();
+                d = donations.hasNext() ? donations.next() : null;
+            }
+        }
+        report.providerRows = provider.rowsRead;
+        return report.build();
+    }
+
+    /**
+     * Reads the CSV into sorted chunks; spills each chunk to disk unless the
+     * whole file fits in a single chunk. When a day range is given, rows dated
+     * outside it are skipped.
+     */
+    private ProviderRows sortProviderRows(InputStream input, String idColumn, String amountColumn,
+            String dateColumn, LocalDate from, LocalDate to, List<Path> runFiles) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("El archivo de liquidación está vacío");
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        char separator = header.indexOf(';') >= 0 && header.indexOf(',') < 0 ? ';' : ',';
+        String[] columns = splitCsvLine(header, separator);
+        int idIndex = indexOf(columns, idColumn);
+        int amountIndex = indexOf(columns, amountColumn);
+        boolean filterDates = from != null || to != null;
+        int dateIndex = filterDates ? indexOf(columns, dateColumn) : -1;
+        int lastIndex = Math.max(Math.max(idIndex, amountIndex), dateIndex);
+
+        ProviderRow[] chunk = new ProviderRow[chunkSize];
+        int filled = 0;
+        long rowsRead = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] fields = splitCsvLine(line, separator);
+            if (fields.length <= lastIndex || fields[idIndex].isBlank()) {
+                continue;
+            }
+            if (filterDates) {
+                LocalDate day = parseDay(fields[dateIndex]);
+                if ((from != null && day.isBefore(from)) || (to != null && day.isAfter(to))) {
+                    continue;
+                }
+            }
+            chunk[filled++] = new ProviderRow(fields[idIndex].trim(), parseCents(fields[amountIndex], decimalSeparator));
+            rowsRead++;
+            if (filled == chunkSize) {
+                runFiles.add(writeRun(chunk, filled));
+                filled = 0;
+            }
+        }
+
+        Arrays.sort(chunk, 0, filled, BY_ID);
+        List<RunCursor> cursors = new ArrayList<>();
+        if (filled > 0) {
+            cursors.add(new MemoryRun(Arrays.copyOf(chunk, filled)));
+        }
+        for (Path run : runFiles) {
+            cursors.add(new FileRun(Files.newBufferedReader(run, StandardCharsets.UTF_8)));
+        }
+        return new ProviderRows(cursors, rowsRead);
+    }
+
+    private Path writeRun(ProviderRow[] chunk, int filled) throws IOException {
+        Arrays.sort(chunk, 0, filled, BY_ID);
+        Path run = Files.createTempFile("settlement-run-", ".tsv");
+        try (BufferedWriter writer = Files.newBufferedWriter(run, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < filled; i++) {
+                writer.write(chunk[i].id());
+                writer.write('\t');
+                writer.write(Long.toString(chunk[i].cents()));
+                writer.write('\n');
+                chunk[i] = null;
+            }
+        }
+        return run;
+    }
+
+    private static int indexOf(String[] columns, String name) {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].trim().equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Columna no encontrada en el archivo: " + name);
+    }
+
+    /**
+     * Parses an amount such as "1500", "1500.50", "1500,50", "1,500.50" or
+     * "1.500,50" into cents. With a configured decimal separator the other
+     * one groups thousands. Otherwise the last separator is the decimal one,
+     * unless it is the only kind and repeats ("1.500.000"), in which case it
+     * groups thousands; a single separator followed by three digits ("1,500")
+     * could be either and is rejected.
+     *
+     * @param raw              Amount as written in the settlement file
+     * @param decimalSeparator Configured decimal separator, null to infer it
+     */
+    static long parseCents(String raw, Character decimalSeparator) {
+        String value = raw.trim().replace(" ", "");
+        char decimal = decimalSeparator != null ? decimalSeparator : inferDecimalSeparator(value);
+        StringBuilder number = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == decimal) {
+                number.append('.');
+            } else if (c != ',' && c != '.') {
+                number.append(c);
+            }
+        }
+        return DonationColumnStore.toCents(new BigDecimal(number.toString()));
+    }
+
+    /**
+     * @return The decimal separator of the amount, or 0 when it has none
+     */
+    private static char inferDecimalSeparator(String value) {
+        int comma = value.lastIndexOf(',');
+        int dot = value.lastIndexOf('.');
+        if (comma >= 0 && dot >= 0) {
+            return comma > dot ? ',' : '.';
+        }
+        int at = Math.max(comma, dot);
+        if (at < 0 || value.indexOf(value.charAt(at)) != at) {
+            return 0;
+        }
+        if (value.length() - at - 1 == 3) {
+            throw new IllegalArgumentException("Importe ambiguo en el archivo: " + value
+                    + ". Configure app.reconciliation.decimal-separator");
+        }
+        return value.charAt(at);
+    }
+
+    /**
+     * Parses the day of a provider row, written as an ISO date or timestamp
+     * ("2024-01-05", "2024-01-05T10:23:45.000-03:00") or as "05/01/2024".
+     */
+    static LocalDate parseDay(String raw) {
+        String value = raw.trim();
+        try {
+            if (value.length() >= 10 && value.charAt(4) == '-') {
+                return LocalDate.parse(value.substring(0, 10));
+            }
+            if (value.length() >= 10 && value.charAt(2) == '/') {
+                return LocalDate.parse(value.substring(0, 10), DAY_MONTH_YEAR);
+            }
+        } catch (DateTimeParseException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Fecha inválida en el archivo: " + value);
+    }
+
+    /**
+     * Splits a CSV line, honouring double-quoted fields.
+     */
+    static String[] splitCsvLine(String line, char separator) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    private record ProviderRow(String id, long cents) {
+    }
+
+    /**
+     * A sorted source of provider rows: an in-memory chunk or a run file.
+     */
+    private interface RunCursor extends Closeable {
+        ProviderRow next() throws IOException;
+    }
+
+    private static final class MemoryRun implements RunCursor {
+        private final ProviderRow[] rows;
+        private int position;
+
+        MemoryRun(ProviderRow[] rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public ProviderRow next() {
+            return position < rows.length ? rows[position++] : null;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class FileRun implements RunCursor {
+        private final BufferedReader reader;
+
+        FileRun(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ProviderRow next() throws IOException {
+            String line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            int tab = line.lastIndexOf('\t');
+            return new ProviderRow(line.substring(0, tab), Long.parseLong(line.substring(tab + 1)));
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * K-way merge over the sorted runs. Consecutive rows with the same ID
+     * (for example a payment and its refund) are summed into one row.
+     */
+    private static final class ProviderRows implements Closeable {
+        private final List<RunCursor> cursors;
+        private final PriorityQueue<Head> heads =
+                new PriorityQueue<>(Comparator.comparing((Head h) -> h.row.id()));
+        private final long rowsRead;
+
+        ProviderRows(List<RunCursor> cursors, long rowsRead) throws IOException {
+            this.cursors = cursors;
+            this.rowsRead = rowsRead;
+            for (RunCursor cursor : cursors) {
+                advance(cursor);
+            }
+        }
+
+        ProviderRow nextGrouped() {
+            try {
+                Head head = heads.poll();
+                if (head == null) {
+                    return null;
+                }
+                String id = head.row.id();
+                long cents = head.row.cents();
+                advance(head.cursor);
+                while (!heads.isEmpty() && heads.peek().row.id().equals(id)) {
+                    Head same = heads.poll();
+                    cents += same.row.cents();
+                    advance(same.cursor);
+                }
+                return new ProviderRow(id, cents);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void advance(RunCursor cursor) throws IOException {
+            ProviderRow row = cursor.next();
+            if (row != null) {
+                heads.add(new Head(row, cursor));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (RunCursor cursor : cursors) {
+                cursor.close();
+            }
+        }
+
+        private record Head(ProviderRow row, RunCursor cursor) {
+        }
+    }
+
+    /**
+     * Accumulates counts and capped detail lists while merging.
+     */
+    private static final class Report {
+        private long providerRows;
+        private long donationRows;
+        private long matched;
+        private long missingCount;
+        private long extraCount;
+        private long mismatchCount;
+        private final List<Entry> missing = new ArrayList<>();
+        private final List<Entry> extra = new ArrayList<>();
+        private final List<Mismatch> mismatched = new ArrayList<>();
+
+        void missing(ProviderRow row) {
+            missingCount++;
+            if (missing.size() < MAX_DETAILS) {
+                missing.add(new Entry(row.id(), row.cents()));
+            }
+        }
+
+        void extra(TransactionAmount donation) {
+            donationRows++;
+            extraCount++;
+            if (extra.size() < MAX_DETAILS) {
+                extra.add(new Entry(donation.getTransactionId(), DonationColumnStore.toCents(donation.getAmount())));
+            }
+        }
+
+        void compare(ProviderRow row, TransactionAmount donation) {
+            donationRows++;
+            long donationCents = DonationColumnStore.toCents(donation.getAmount());
+            if (row.cents() == donationCents) {
+                matched++;
+                return;
+            }
+            mismatchCount++;
+            if (mismatched.size() < MAX_DETAILS) {
+                mismatched.add(new Mismatch(row.id(), row.cents(), donationCents));
+            }
+        }
+
+        ReconciliationReport build() {
+            boolean truncated = missingCount > missing.size() || extraCount > extra.size()
+                    || mismatchCount > mismatched.size();
+            return new ReconciliationReport(providerRows, donationRows, matched, missingCount, extraCount,
+                    mismatchCount, missing, extra, mismatched, truncated);
+        }
+    }
+}
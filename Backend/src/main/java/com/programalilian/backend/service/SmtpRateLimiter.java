@@ -0,0 +1,86 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.config.TokenBucketRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The SMTP provider's sending quota, shared by every sender.
+ *
+ * The email outbox and bulk campaigns go out through the same provider, so
+ * both take their tokens from this one bucket and together never exceed
+ * {@code app.mail.max-per-minute}. The burst lets one SMTP connection send a
+ * whole batch back to back.
+ *
+ * Campaigns wait for tokens while the outbox only polls, so a campaign would
+ * otherwise take every token as it refills. Campaigns are therefore also
+ * held to their own bucket, leaving {@code app.mail.outbox-reserve} of the
+ * quota for welcome emails, receipts and retries.
+ */
+@Component
+public class SmtpRateLimiter {
+
+    private static final String KEY = "smtp";
+
+    private final TokenBucketRateLimiter limiter;
+    private final TokenBucketRateLimiter campaignLimiter;
+
+    public SmtpRateLimiter(@Value("${app.mail.max-per-minute:100}") int maxPerMinute,
+            @Value("${app.mail.burst:50}") int burst,
+            @Value("${app.mail.outbox-reserve:0.2}") double outboxReserve) {
+        this.limiter = new TokenBucketRateLimiter(maxPerMinute, burst, 1);
+        int campaignPerMinute = (int) Math.max(1, Math.round(maxPerMinute * (1 - outboxReserve)));
+        this.campaignLimiter = new TokenBucketRateLimiter(campaignPerMinute, burst, 1);
+    }
+
+    /**
+     * Takes as many of the requested tokens as are available now, without
+     * waiting. Used by the outbox.
+     *
+     * @param permits Messages about to be sent
+     * @return Number of messages that may be sent now
+     */
+    public int tryAcquire(int permits) {
+        int granted = 0;
+        while (granted < permits && limiter.tryAcquire(KEY, System.nanoTime()) == 0) {
+            granted++;
+        }
+        return granted;
+    }
+
+    /**
+     * Returns tokens that were taken but not used, for example when fewer
+     * messages were due than requested.
+     *
+     * @param permits Unused tokens
+     */
+    public void release(int permits) {
+        limiter.release(KEY, permits);
+    }
+
+    /**
+     * Blocks until one token per message has been granted from both the
+     * campaign share and the shared quota. Used by campaigns.
+     *
+     * @param permits Messages about to be sent
+     * @throws IllegalStateException if the thread is interrupted while waiting
+     */
+    public void acquire(int permits) {
+        for (int i = 0; i < permits; i++) {
+            await(campaignLimiter);
+            await(limiter);
+        }
+    }
+
+    private static void await(TokenBucketRateLimiter bucket) {
+        long waitNanos;
+        while ((waitNanos = bucket.tryAcquire(KEY, System.nanoTime())) > 0) {
+            try {
+                Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Envío de emails interrumpido", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.dto.BulkIngestionResult;
+import com.programalilian.backend.dto.SubscriptionPaymentEvent;
+
+import java.util.List;
+
+/**
+ * Service interface for recording subscription payments in bulk.
+ * Used when a billing cycle produces a burst of renewal notifications.
+ */
+public interface SubscriptionIngestionService {
+
+    /**
+     * Records a SUBSCRIPTION donation for every event whose subscription
+     * belongs to a member, skipping already recorded transactions.
+     * Events are processed in chunks, each in its own transaction; a chunk
+     * that cannot be committed is counted as failed and the rest still run.
+     *
+     * @param events Payment events
+     * @return Counts of recorded, duplicate, unmatched and failed events
+     */
+    BulkIngestionResult ingest(List<SubscriptionPaymentEvent> events);
+}
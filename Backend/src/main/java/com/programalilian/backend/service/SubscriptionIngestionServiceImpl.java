@@ -0,0 +1,221 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.Donation;
+import com.programalilian.backend.domain.Donation.DonationType;
+import com.programalilian.backend.domain.User;
+import com.programalilian.backend.dto.BulkIngestionResult;
+import com.programalilian.backend.dto.SubscriptionPaymentEvent;
+import com.programalilian.backend.repository.DonationRepository;
+import com.programalilian.backend.repository.DonorSummaryRepository;
+import com.programalilian.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of SubscriptionIngestionService.
+ *
+ * Per chunk: one IN query resolves subscriptions to members, one IN query
+ * finds already recorded transactions, and donations, member payment dates
+ * and donor summaries are written with JDBC batches. Donations use IDENTITY
+ * ids, which disables Hibernate insert batching, hence plain JDBC here.
+ * Each chunk commits on its own; a chunk that loses a race with a concurrent
+ * batch over the same transaction ID is retried, and reported as failed if it
+ * keeps failing, so the counts of committed chunks are always returned.
+ */
+@Slf4j
+@Service
+public class SubscriptionIngestionServiceImpl implements SubscriptionIngestionService {
+
+    private static final int MAX_REPORTED_UNKNOWN = 1000;
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+    private static final String INSERT_DONATION_SQL = "INSERT INTO donations "
+            + "(donor_name, email, amount, transaction_id, type, created_at, updated_at) "
+            + "VALUES (:donorName, :email, :amount, :transactionId, :type, :createdAt, :updatedAt)";
+
+    private static final String UPDATE_LAST_PAYMENT_SQL = "UPDATE users SET last_payment_at = :paidAt, "
+            + "updated_at = :updatedAt WHERE id = :id AND (last_payment_at IS NULL OR last_payment_at < :paidAt)";
+
+    private final UserRepository userRepository;
+    private final MemberCache memberCache;
+    private final MemberSegmentService memberSegmentService;
+    private final DonationRepository donationRepository;
+    private final DonationAnalyticsService donationAnalyticsService;
+    private final DonationTimeSeriesService donationTimeSeriesService;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public SubscriptionIngestionServiceImpl(UserRepository userRepository,
+            MemberCache memberCache,
+            MemberSegmentService memberSegmentService,
+            DonationRepository donationRepository,
+            DonationAnalyticsService donationAnalyticsService,
+            DonationTimeSeriesService donationTimeSeriesService,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.ingestion.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.memberCache = memberCache;
+        this.memberSegmentService = memberSegmentService;
+        this.donationRepository = donationRepository;
+        this.donationAnalyticsService = donationAnalyticsService;
+        this.donationTimeSeriesService = donationTimeSeriesService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public BulkIngestionResult ingest(List<SubscriptionPaymentEvent> events) {
+        Set<String> seenTransactions = new HashSet<>();
+        int recorded = 0;
+        int duplicates = 0;
+        int unknown = 0;
+        int failed = 0;
+        List<String> unknownIds = new ArrayList<>();
+
+        for (int start = 0; start < events.size(); start += chunkSize) {
+            List<SubscriptionPaymentEvent> chunk = new ArrayList<>();
+            for (SubscriptionPaymentEvent event : events.subList(start, Math.min(start + chunkSize, events.size()))) {
+                if (seenTransactions.add(event.transactionId())) {
+                    chunk.add(event);
+                } else {
+                    duplicates++;
+                }
+            }
+            ChunkResult result = ingestChunkWithRetry(chunk);
+            recorded += result.recorded();
+            duplicates += result.duplicates();
+            failed += result.failed();
+            unknown += result.unknownIds().size();
+            for (String id : result.unknownIds()) {
+                if (unknownIds.size() < MAX_REPORTED_UNKNOWN) {
+                    unknownIds.add(id);
+                }
+            }
+        }
+        return new BulkIngestionResult(events.size(), recorded, duplicates, unknown, failed, unknownIds);
+    }
+
+    /**
+     * Runs a chunk in its own transaction. When a concurrent batch commits one
+     * of its transaction IDs after the existence check, the insert hits the
+     * unique constraint and the chunk rolls back; the retry then sees that
+     * payment as already recorded.
+     */
+    private ChunkResult ingestChunkWithRetry(List<SubscriptionPaymentEvent> chunk) {
+        for (int attempt = 1;; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> ingestChunk(chunk));
+            } catch (DuplicateKeyException e) {
+                if (attempt == MAX_CHUNK_ATTEMPTS) {
+                    log.warn("Subscription payment chunk of {} events failed after {} attempts: {}",
+                            chunk.size(), attempt, e.getMostSpecificCause().getMessage());
+                    return new ChunkResult(0, 0, chunk.size(), List.of());
+                }
+            }
+        }
+    }
+
+    private ChunkResult ingestChunk(List<SubscriptionPaymentEvent> chunk) {
+        if (chunk.isEmpty()) {
+            return new ChunkResult(0, 0, 0, List.of());
+        }
+        Set<String> subscriptionIds = chunk.stream()
+                .map(SubscriptionPaymentEvent::subscriptionId)
+                .collect(Collectors.toSet());
+        Map<String, User> members = userRepository.findBySubscriptionIdIn(subscriptionIds).stream()
+                .collect(Collectors.toMap(User::getSubscriptionId, Function.identity(), (a, b) -> a));
+        Set<String> existing = donationRepository.findExistingTransactionIds(
+                chunk.stream().map(SubscriptionPaymentEvent::transactionId).toList());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SqlParameterSource> donationRows = new ArrayList<>();
+        List<SqlParameterSource> summaryRows = new ArrayList<>();
+        Map<Long, LocalDateTime> lastPaymentByUser = new HashMap<>();
+        List<Donation> recorded = new ArrayList<>();
+        List<String> unknownIds = new ArrayList<>();
+        int duplicates = 0;
+
+        for (SubscriptionPaymentEvent event : chunk) {
+            if (existing.contains(event.transactionId())) {
+                duplicates++;
+                continue;
+            }
+            User member = members.get(event.subscriptionId());
+            if (member == null) {
+                unknownIds.add(event.subscriptionId());
+                continue;
+            }
+            LocalDateTime paidAt = event.paidAt() != null ? event.paidAt() : now;
+            donationRows.add(new MapSqlParameterSource()
+                    .addValue("donorName", member.getFullName())
+                    .addValue("email", User.canonicalEmail(member.getEmail()))
+                    .addValue("amount", event.amount())
+                    .addValue("transactionId", event.transactionId())
+                    .addValue("type", DonationType.SUBSCRIPTION.name())
+                    .addValue("createdAt", paidAt)
+                    .addValue("updatedAt", now));
+            summaryRows.add(new MapSqlParameterSource()
+                    .addValue("email", User.canonicalEmail(member.getEmail()))
+                    .addValue("amount", event.amount())
+                    .addValue("createdAt", paidAt));
+            lastPaymentByUser.merge(member.getId(), paidAt, (a, b) -> a.isAfter(b) ? a : b);
+            recorded.add(Donation.builder()
+                    .donorName(member.getFullName())
+                    .email(User.canonicalEmail(member.getEmail()))
+                    .amount(event.amount())
+                    .transactionId(event.transactionId())
+                    .type(DonationType.SUBSCRIPTION)
+                    .createdAt(paidAt)
+                    .updatedAt(now)
+                    .build());
+        }
+
+        if (!donationRows.isEmpty()) {
+            // Generated ids let the analytics store tell these rows apart during a reload
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(INSERT_DONATION_SQL, donationRows.toArray(new SqlParameterSource[0]), keys,
+                    new String[] { "id" });
+            for (int i = 0; i < recorded.size(); i++) {
+                recorded.get(i).setId(((Number) keys.getKeyList().get(i).values().iterator().next()).longValue());
+            }
+            jdbcTemplate.batchUpdate(DonorSummaryRepository.ADD_DONATION_SQL,
+                    summaryRows.toArray(new SqlParameterSource[0]));
+            jdbcTemplate.batchUpdate(UPDATE_LAST_PAYMENT_SQL, lastPaymentByUser.entrySet().stream()
+                    .map(e -> new MapSqlParameterSource()
+                            .addValue("id", e.getKey())
+                            .addValue("paidAt", e.getValue())
+                            .addValue("updatedAt", now))
+                    .toArray(SqlParameterSource[]::new));
+            memberCache.evictAll(lastPaymentByUser.keySet());
+            recorded.forEach(donationAnalyticsService::record);
+            recorded.stream().map(d -> d.getCreatedAt().toLocalDate()).distinct()
+                    .forEach(donationTimeSeriesService::evictDay);
+            recorded.forEach(d -> memberSegmentService.recordDonation(d.getEmail(), d.getCreatedAt()));
+        }
+        return new ChunkResult(recorded.size(), duplicates, 0, unknownIds);
+    }
+
+    private record ChunkResult(int recorded, int duplicates, int failed, List<String> unknownIds) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.dto.SubscriptionStatusUpdate;
+import com.programalilian.backend.dto.SubscriptionSyncResult;
+
+import java.util.List;
+
+/**
+ * Service interface for reconciling member subscriptions with MercadoPago.
+ */
+public interface SubscriptionSyncService {
+
+    /**
+     * Applies the reported status (and plan, when given) to the member holding
+     * each subscription. Only rows whose values differ are written. When a
+     * subscription appears more than once, the last entry wins. Updates are
+     * processed in chunks, each in its own transaction.
+     *
+     * @param updates Reported subscription statuses
+     * @return Counts of updated, unchanged and unmatched subscriptions
+     */
+    SubscriptionSyncResult sync(List<SubscriptionStatusUpdate> updates);
+}
@@ -0,0 +1,128 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.User;
+import com.programalilian.backend.dto.SubscriptionStatusUpdate;
+import com.programalilian.backend.dto.SubscriptionSyncResult;
+import com.programalilian.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of SubscriptionSyncService.
+ *
+ * Per chunk: one IN query loads the current subscription of each member and
+ * only the rows that actually change are written, with one JDBC batch.
+ */
+@Service
+public class SubscriptionSyncServiceImpl implements SubscriptionSyncService {
+
+    private static final int MAX_REPORTED_UNKNOWN = 1000;
+
+    private static final String UPDATE_SUBSCRIPTION_SQL = "UPDATE users SET subscription_status = :status, "
+            + "subscription_plan = :plan, updated_at = :updatedAt WHERE id = :id";
+
+    private final UserRepository userRepository;
+    private final MemberCache memberCache;
+    private final MemberSegmentService memberSegmentService;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public SubscriptionSyncServiceImpl(UserRepository userRepository,
+            MemberCache memberCache,
+            MemberSegmentService memberSegmentService,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.ingestion.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.memberCache = memberCache;
+        this.memberSegmentService = memberSegmentService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public SubscriptionSyncResult sync(List<SubscriptionStatusUpdate> updates) {
+        Map<String, SubscriptionStatusUpdate> latest = new LinkedHashMap<>();
+        for (SubscriptionStatusUpdate update : updates) {
+            latest.put(update.subscriptionId(), update);
+        }
+        List<SubscriptionStatusUpdate> distinct = new ArrayList<>(latest.values());
+
+        int updated = 0;
+        int unchanged = 0;
+        List<String> unknownIds = new ArrayList<>();
+        int unknown = 0;
+        for (int start = 0; start < distinct.size(); start += chunkSize) {
+            List<SubscriptionStatusUpdate> chunk = distinct.subList(start, Math.min(start + chunkSize, distinct.size()));
+            ChunkResult result = transactionTemplate.execute(status -> syncChunk(chunk));
+            updated += result.updated();
+            unchanged += result.unchanged();
+            unknown += result.unknownIds().size();
+            for (String id : result.unknownIds()) {
+                if (unknownIds.size() < MAX_REPORTED_UNKNOWN) {
+                    unknownIds.add(id);
+                }
+            }
+        }
+        return new SubscriptionSyncResult(updates.size(), updated, unchanged, unknown, unknownIds);
+    }
+
+    private ChunkResult syncChunk(List<SubscriptionStatusUpdate> chunk) {
+        Map<String, User> members = userRepository.findBySubscriptionIdIn(
+                chunk.stream().map(SubscriptionStatusUpdate::subscriptionId).toList()).stream()
+                .collect(Collectors.toMap(User::getSubscriptionId, Function.identity(), (a, b) -> a));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SqlParameterSource> rows = new ArrayList<>();
+        List<Long> changedIds = new ArrayList<>();
+        List<String> unknownIds = new ArrayList<>();
+        int unchanged = 0;
+        for (SubscriptionStatusUpdate update : chunk) {
+            User member = members.get(update.subscriptionId());
+            if (member == null) {
+                unknownIds.add(update.subscriptionId());
+                continue;
+            }
+            String status = update.status().trim().toLowerCase(Locale.ROOT);
+            String plan = update.planType() != null ? update.planType() : member.getSubscriptionPlan();
+            if (status.equals(member.getSubscriptionStatus()) && Objects.equals(plan, member.getSubscriptionPlan())) {
+                unchanged++;
+                continue;
+            }
+            changedIds.add(member.getId());
+            if (!Objects.equals(plan, member.getSubscriptionPlan())) {
+                memberSegmentService.updatePlan(member.getId(), plan);
+            }
+            rows.add(new MapSqlParameterSource()
+                    .addValue("id", member.getId())
+                    .addValue("status", status)
+                    .addValue("plan", plan)
+                    .addValue("updatedAt", now));
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SUBSCRIPTION_SQL, rows.toArray(new SqlParameterSource[0]));
+            memberCache.evictAll(changedIds);
+        }
+        return new ChunkResult(rows.size(), unchanged, unknownIds);
+    }
+
+    private record ChunkResult(int updated, int unchanged, List<String> unknownIds) {
+    }
+}
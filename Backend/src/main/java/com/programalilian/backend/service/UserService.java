@@ -12,7 +12,8 @@ public interface UserService {
 
     /**
      * Creates a new member with the provided information.
-     * Validates data, checks uniqueness, and saves the member.
+     * Saves the member with a single insert; the unique canonical email
+     * rejects duplicates. Post-registration work runs after commit.
      *
      * @param request The member creation request
      * @return The created member entity
@@ -22,7 +23,7 @@ public interface UserService {
     User createMember(CreateMemberRequest request);
 
     /**
-     * Finds a member by their email address.
+     * Finds a member by their email address, ignoring case and surrounding spaces.
      *
      * @param email The email to search for
      * @return The member if found, otherwise empty
@@ -38,8 +39,22 @@ public interface UserService {
      */
     void updatePaymentSubscription(Long userId, String subscriptionId);
 
+    /**
+     * Sets the subscription ID and, when given, the plan of a member with a
+     * single UPDATE statement.
+     *
+     * @param userId         The member ID
+     * @param subscriptionId The MercadoPago subscription identifier
+     * @param planType       Plan type (nullable to keep the current plan)
+     * @throws IllegalArgumentException if user not found
+     */
+    void updateSubscription(Long userId, String subscriptionId, String planType);
+
     /**
      * Finds a member by their ID.
+     * The member may be served from the member cache, so it is a detached
+     * copy rather than a managed entity: changes to it are only stored by
+     * passing it to {@link #save(User)}, which merges it.
      *
      * @param id The member ID
      * @return The member if found, otherwise empty
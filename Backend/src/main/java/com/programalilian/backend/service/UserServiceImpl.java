@@ -4,10 +4,13 @@ import com.programalilian.backend.domain.User;
 import com.programalilian.backend.dto.CreateMemberRequest;
 import com.programalilian.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -20,36 +23,54 @@ import java.util.Optional;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final EmailOutboxService emailOutboxService;
+    private final MemberSearchService memberSearchService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MemberCache memberCache;
+    private final MemberSegmentService memberSegmentService;
 
     @Override
     @Transactional
     public User createMember(CreateMemberRequest request) {
-        // Check email uniqueness
-        if (userRepository.existsByEmail(request.email())) {
-            throw new IllegalStateException("El email ya está registrado");
-        }
-
         // Get current timestamp
         LocalDateTime now = LocalDateTime.now();
 
         // Create user entity with timestamps
         User user = User.builder()
                 .fullName(request.fullName())
-                .email(request.email())
+                .email(request.email().trim())
                 .phone(request.phone())
                 .birthDate(request.birthDate())
                 .createdAt(now)
                 .updatedAt(now)
                 .build();
 
-        // Save and return
-        return userRepository.save(user);
+        // A single insert; the unique canonical email rejects duplicates,
+        // including concurrent double submits
+        User saved;
+        try {
+            saved = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateEmail(e)) {
+                throw new IllegalStateException("El email ya está registrado");
+            }
+            throw e;
+        }
+
+        // Forget any cached "not found" for this id
+        memberCache.evict(saved.getId());
+
+        // Queue the welcome email in the same transaction so it survives a crash
+        // after commit; search and segment indexing run asynchronously after commit
+        emailOutboxService.enqueueWelcomeEmail(saved);
+        eventPublisher.publishEvent(new MemberRegisteredEvent(saved));
+        return saved;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
-        return userRepository.findByEmail(email);
+        return userRepository.findByEmailCanonical(User.canonicalEmail(email));
     }
 
     @Override
@@ -63,18 +84,41 @@ public class UserServiceImpl implements UserService {
         user.setUpdatedAt(LocalDateTime.now()); // Update timestamp
 
         userRepository.save(user);
+        memberCache.evict(userId);
+    }
+
+    @Override
+    @Transactional
+    public void updateSubscription(Long userId, String subscriptionId, String planType) {
+        int updated = userRepository.updateSubscription(userId, subscriptionId, planType, LocalDateTime.now());
+        if (updated == 0) {
+            throw new IllegalArgumentException("Usuario no encontrado: " + userId);
+        }
+        memberCache.evict(userId);
+        if (planType != null) {
+            memberSegmentService.updatePlan(userId, planType);
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<User> findById(Long id) {
-        return userRepository.findById(id);
+        return memberCache.findById(id, () -> userRepository.findById(id));
     }
 
     @Override
     @Transactional
     public User save(User user) {
         user.setUpdatedAt(LocalDateTime.now());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        memberCache.evict(saved.getId());
+        memberSearchService.index(saved);
+        memberSegmentService.index(saved);
+        return saved;
+    }
+
+    private static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        return message.contains("uk_users_email_canonical");
     }
 }
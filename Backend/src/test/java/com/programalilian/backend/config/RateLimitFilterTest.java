@@ -0,0 +1,163 @@
+package com.programalilian.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the rate limiting filter and its token bucket limiter.
+ */
+class RateLimitFilterTest {
+
+    private MeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(meterRegistry, true, List.of("partner-key"), 1000, 60, 2, 60, 1, 600, 100, 60, 1,
+                60, 3);
+    }
+
+    @Test
+    void shouldThrottleAfterBurstWithRetryAfter() throws Exception {
+        // When
+        MockHttpServletResponse first = post("/api/donations", "10.0.0.1");
+        MockHttpServletResponse second = post("/api/donations", "10.0.0.1");
+        MockHttpServletResponse third = post("/api/donations", "10.0.0.1");
+
+        // Then
+        assertEquals(200, first.getStatus());
+        assertEquals(200, second.getStatus());
+        assertEquals(429, third.getStatus());
+        assertEquals("1", third.getHeader("Retry-After"));
+        assertEquals(1.0, meterRegistry.get("http.requests.throttled").tag("route", "donations").counter().count());
+    }
+
+    @Test
+    void shouldKeepSeparateBucketsPerClientAndRoute() throws Exception {
+        // Given
+        post("/api/members", "10.0.0.1");
+
+        // When & Then
+        assertEquals(429, post("/api/members", "10.0.0.1").getStatus());
+        assertEquals(200, post("/api/members", "10.0.0.2").getStatus());
+        assertEquals(200, post("/api/donations", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void shouldNotLimitReads() throws Exception {
+        // Given
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/members");
+
+        // When & Then
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(get, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    @Test
+    void shouldShareOneBulkBucketAndDefaultLimitOtherPosts() throws Exception {
+        // Given
+        post("/api/donations/subscriptions/bulk", "10.0.0.1");
+
+        // When & Then
+        assertEquals(429, post("/api/members/subscriptions/sync", "10.0.0.1").getStatus());
+        assertEquals(429, post("/api/admin/members/import", "10.0.0.1").getStatus());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, post("/api/admin/campaigns", "10.0.0.1").getStatus());
+        }
+        assertEquals(429, post("/api/admin/content", "10.0.0.1").getStatus());
+        assertEquals(2.0, meterRegistry.get("http.requests.throttled").tag("route", "bulk").counter().count());
+        assertEquals(1.0, meterRegistry.get("http.requests.throttled").tag("route", "default").counter().count());
+    }
+
+    @Test
+    void shouldKeyOnRemoteAddressIgnoringForwardedFor() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/members");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("X-Forwarded-For", "1.2.3.4");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // When & Then
+        assertEquals(429, post("/api/members", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void shouldIgnoreUnknownApiKeysAndTrailingSlashes() throws Exception {
+        // Given
+        post("/api/members", "10.0.0.1", "random-1");
+
+        // When & Then
+        assertEquals(429, post("/api/members/", "10.0.0.1", "random-2").getStatus());
+        assertEquals(429, post("/api/members//", "10.0.0.1", null).getStatus());
+        assertEquals(200, post("/api/members", "10.0.0.1", "partner-key").getStatus());
+    }
+
+    @Test
+    void shouldNormalizeOnlyWhenNeeded() {
+        // Given
+        String normalized = "/api/donations/webhook/TXN_1";
+
+        // When & Then
+        assertSame(normalized, RateLimitFilter.normalize(normalized));
+        assertEquals("/api/donations/webhook/TXN_1", RateLimitFilter.normalize("//api//donations/webhook/TXN_1/"));
+        assertEquals("/api/members", RateLimitFilter.normalize("/api/members;jsessionid=abc"));
+        assertEquals("/", RateLimitFilter.normalize("//"));
+    }
+
+    @Test
+    void shouldEvictBucketsInsteadOfSharingOneWhenFull() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(60, 1, 2);
+        long now = 0;
+        limiter.tryAcquire("a", now);
+        limiter.tryAcquire("b", now);
+
+        // When & Then
+        assertEquals(0, limiter.tryAcquire("c", now));
+        assertEquals(0, limiter.tryAcquire("d", now));
+        assertTrue(limiter.tryAcquire("d", now) > 0);
+        assertEquals(2, limiter.trackedClients());
+    }
+
+    @Test
+    void shouldEvictOnlyRefilledBuckets() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(60, 1, 10);
+        long now = 0;
+        limiter.tryAcquire("a", now);
+
+        // When & Then
+        assertTrue(limiter.tryAcquire("a", now) > 0);
+        assertEquals(0, limiter.evictIdle(now));
+        assertEquals(1, limiter.evictIdle(now + 1_000_000_000L));
+        assertEquals(0, limiter.trackedClients());
+    }
+
+    private MockHttpServletResponse post(String uri, String remoteAddr) throws Exception {
+        return post(uri, remoteAddr, null);
+    }
+
+    private MockHttpServletResponse post(String uri, String remoteAddr, String apiKey) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setRemoteAddr(remoteAddr);
+        if (apiKey != null) {
+            request.addHeader(RateLimitFilter.API_KEY_HEADER, apiKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
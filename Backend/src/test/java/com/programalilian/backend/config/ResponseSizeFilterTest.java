@@ -0,0 +1,85 @@
+package com.programalilian.backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the content response size filter.
+ */
+class ResponseSizeFilterTest {
+
+    private MeterRegistry meterRegistry;
+    private ResponseSizeFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ResponseSizeFilter(meterRegistry);
+    }
+
+    @Test
+    void shouldRecordBytesWrittenThroughStreamAndWriter() throws Exception {
+        // Given
+        MockHttpServletRequest image = get("/api/content/image/7", "/api/content/image/{contentId}");
+        MockHttpServletRequest list = get("/api/content/published", "/api/content/published");
+
+        // When
+        MockHttpServletResponse imageResponse = new MockHttpServletResponse();
+        filter.doFilter(image, imageResponse, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.getOutputStream().write(new byte[1500]);
+            }
+        }));
+        MockHttpServletResponse listResponse = new MockHttpServletResponse();
+        filter.doFilter(list, listResponse, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setCharacterEncoding("UTF-8");
+                resp.getWriter().write("[{\"title\":\"Año\"}]");
+            }
+        }));
+
+        // Then
+        assertEquals(1500, imageResponse.getContentAsByteArray().length);
+        assertEquals(1500.0, summary("/api/content/image/{contentId}").totalAmount());
+        assertEquals(18.0, summary("/api/content/published").totalAmount());
+        assertEquals("[{\"title\":\"Año\"}]", listResponse.getContentAsString());
+    }
+
+    @Test
+    void shouldIgnoreOtherPathsAndMethods() throws Exception {
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/members"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/content/published"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        // Then
+        assertNull(meterRegistry.find("http.server.response.bytes").summary());
+    }
+
+    private DistributionSummary summary(String uri) {
+        return meterRegistry.get("http.server.response.bytes").tag("uri", uri).summary();
+    }
+
+    private static MockHttpServletRequest get(String path, String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+}
@@ -0,0 +1,144 @@
+package com.programalilian.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for per-request SQL tracking over an in-memory H2 database.
+ */
+class SqlTrackingFilterTest {
+
+    private MeterRegistry meterRegistry;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sqltracking;DB_CLOSE_DELAY=-1");
+        meterRegistry = new SimpleMeterRegistry();
+        jdbcTemplate = new JdbcTemplate(new SqlTrackingDataSource(h2));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS item");
+        jdbcTemplate.execute("CREATE TABLE item (id INT PRIMARY KEY, name VARCHAR(20))");
+        for (int i = 1; i <= 5; i++) {
+            jdbcTemplate.update("INSERT INTO item VALUES (?, ?)", i, "item " + i);
+        }
+    }
+
+    @Test
+    void shouldReportStatementsRowsAndRepeatsAsHeaders() throws Exception {
+        // When
+        MockHttpServletResponse response = run(filter(true, 3), "/api/items", jdbc -> {
+            jdbc.queryForList("SELECT id FROM item", Integer.class);
+            for (int id = 1; id <= 3; id++) {
+                jdbc.queryForObject("SELECT name FROM item WHERE id = ?", String.class, id);
+            }
+        });
+
+        // Then
+        assertEquals("4", response.getHeader(SqlTrackingFilter.STATEMENTS_HEADER));
+        assertEquals("8", response.getHeader(SqlTrackingFilter.ROWS_HEADER));
+        assertEquals("3", response.getHeader(SqlTrackingFilter.REPEATED_HEADER));
+        assertEquals("ok", response.getContentAsString());
+        assertEquals(4.0, meterRegistry.get("http.server.requests.sql.statements")
+                .tag("uri", "/api/items").summary().totalAmount());
+        assertEquals(1.0, meterRegistry.get("http.server.requests.sql.repeated").counter().count());
+    }
+
+    @Test
+    void shouldReportBinaryColumnBytesRead() throws Exception {
+        // Given
+        jdbcTemplate.execute("DROP TABLE IF EXISTS picture");
+        jdbcTemplate.execute("CREATE TABLE picture (id INT PRIMARY KEY, data VARBINARY(100))");
+        jdbcTemplate.update("INSERT INTO picture VALUES (?, ?)", 1, new byte[40]);
+
+        // When
+        MockHttpServletResponse response = run(filter(true, 3), "/api/pictures", jdbc -> {
+            jdbc.queryForObject("SELECT data FROM picture WHERE id = 1", byte[].class);
+            jdbc.queryForObject("SELECT data IS NOT NULL FROM picture WHERE id = 1", Boolean.class);
+        });
+
+        // Then
+        assertEquals("40", response.getHeader(SqlTrackingFilter.BINARY_BYTES_HEADER));
+    }
+
+    @Test
+    void shouldRecordMetricsWithoutHeadersOrRepeatsBelowThreshold() throws Exception {
+        // When
+        MockHttpServletResponse response = run(filter(false, 10), "/api/items",
+                jdbc -> jdbc.queryForList("SELECT name FROM item WHERE id < 3", String.class));
+
+        // Then
+        assertNull(response.getHeader(SqlTrackingFilter.STATEMENTS_HEADER));
+        assertEquals(2.0, meterRegistry.get("http.server.requests.sql.rows").summary().totalAmount());
+        assertNull(meterRegistry.find("http.server.requests.sql.repeated").counter());
+    }
+
+    @Test
+    void shouldNotCountStatementsOutsideRequests() {
+        // When
+        jdbcTemplate.queryForList("SELECT id FROM item", Integer.class);
+
+        // Then
+        assertNull(RequestSqlStatistics.current());
+        assertNull(meterRegistry.find("http.server.requests.sql.statements").summary());
+        assertFalse(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT id FROM item")) {
+                return Proxy.isProxyClass(statement.getClass());
+            }
+        }));
+    }
+
+    @Test
+    void shouldNotBufferStreamingPaths() throws Exception {
+        // When
+        MockHttpServletResponse response = run(filter(true, 3), "/api/export",
+                jdbc -> jdbc.queryForList("SELECT id FROM item", Integer.class));
+
+        // Then
+        assertNull(response.getHeader(SqlTrackingFilter.STATEMENTS_HEADER));
+        assertEquals("ok", response.getContentAsString());
+        assertEquals(1.0, meterRegistry.get("http.server.requests.sql.statements")
+                .tag("uri", "/api/export").summary().totalAmount());
+    }
+
+    private SqlTrackingFilter filter(boolean responseHeaders, int nPlusOneThreshold) {
+        return new SqlTrackingFilter(meterRegistry, true, responseHeaders, 25, Duration.ofSeconds(1),
+                nPlusOneThreshold, List.of("/api/export"));
+    }
+
+    private MockHttpServletResponse run(SqlTrackingFilter filter, String pattern, Consumer<JdbcTemplate> work)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                work.accept(jdbcTemplate);
+                resp.getWriter().write("ok");
+            }
+        }));
+        return response;
+    }
+}
@@ -0,0 +1,225 @@
+package com.programalilian.backend.config;
+
+import com.programalilian.backend.ProgramaLilianApplication;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares throughput and latency of platform-thread and virtual-thread
+ * request handling under a blocking-heavy mix of member reads, searches and
+ * registrations.
+ *
+ * The in-memory H2 database answers without network round trips, so a filter
+ * adds a fixed sleep per request to stand in for remote MySQL and SMTP
+ * latency. Tomcat is capped at 32 platform threads in both modes; with
+ * virtual threads the cap no longer applies. Skipped unless run explicitly:
+ *
+ * <pre>
+ * mvn test -Pjava21 -Djacoco.skip=true -Dbenchmark=true -Dtest=VirtualThreadBenchmarkTest
+ * </pre>
+ *
+ * On Java 17 only the platform-thread mode runs.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadBenchmarkTest {
+
+    private static final int CLIENTS = 256;
+    private static final int SEED_MEMBERS = 200;
+    private static final long IO_LATENCY_MILLIS = 20;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    @Test
+    void shouldCompareThreadModesUnderBlockingLoad() throws Exception {
+        List<Result> results = new ArrayList<>();
+        results.add(run(false));
+        if (Runtime.version().feature() >= 21) {
+            results.add(run(true));
+        } else {
+            System.out.println("Java " + Runtime.version().feature() + ": virtual-thread mode skipped");
+        }
+
+        System.out.printf("%n%-10s %10s %8s %12s %10s %10s%n", "mode", "requests", "errors", "req/s", "p50 ms", "p99 ms");
+        for (Result result : results) {
+            System.out.printf("%-10s %10d %8d %12.1f %10.1f %10.1f%n", result.mode(), result.requests(),
+                    result.errors(), result.throughput(), result.p50Millis(), result.p99Millis());
+            assertEquals(0, result.errors(), result.mode() + " mode returned errors");
+        }
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                ProgramaLilianApplication.class, BlockingLatencyConfig.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=32",
+                        "--app.rate-limit.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--GOOGLE_CLIENT_ID=benchmark",
+                        "--GOOGLE_CLIENT_SECRET=benchmark")) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+            try {
+                // The client keeps its default executor: the load threads block in send()
+                HttpClient http = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .build();
+                for (int i = 0; i < SEED_MEMBERS; i++) {
+                    send(http, baseUrl, 9);
+                }
+                load(http, baseUrl, clients, WARMUP);
+                long start = System.nanoTime();
+                List<long[]> latencies = load(http, baseUrl, clients, MEASUREMENT);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                return Result.of(virtualThreads ? "virtual" : "platform", latencies, seconds);
+            } finally {
+                clients.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Runs every client in a closed loop until the duration elapses.
+     *
+     * @return Per client, latencies in nanoseconds with failures as negative values
+     */
+    private List<long[]> load(HttpClient http, String baseUrl, ExecutorService clients, Duration duration)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            int client = c;
+            futures.add(clients.submit(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                for (int i = client; System.nanoTime() < deadline; i++) {
+                    long begin = System.nanoTime();
+                    boolean ok = send(http, baseUrl, i % 10);
+                    long elapsed = System.nanoTime() - begin;
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = ok ? elapsed : -elapsed;
+                }
+                return Arrays.copyOf(samples, count);
+            }));
+        }
+        List<long[]> latencies = new ArrayList<>();
+        for (Future<long[]> future : futures) {
+            latencies.add(future.get());
+        }
+        return latencies;
+    }
+
+    /**
+     * One request of the mix: 50% member page, 20% member by id,
+     * 20% search, 10% registration.
+     */
+    private boolean send(HttpClient http, String baseUrl, int slot) {
+        HttpRequest request;
+        if (slot < 5) {
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/admin/members?size=20&page=" + (slot % 3)))
+                    .GET().build();
+        } else if (slot < 7) {
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/members/" + (1 + slot * 17 % SEED_MEMBERS)))
+                    .GET().build();
+        } else if (slot < 9) {
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/admin/members/search?q=socio"))
+                    .GET().build();
+        } else {
+            long n = emailSequence.incrementAndGet();
+            String body = "{\"fullName\":\"Socio " + n + "\",\"email\":\"socio" + n + "@example.com\"}";
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/members"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+        try {
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() < 500;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record Result(String mode, long requests, long errors, double throughput,
+            double p50Millis, double p99Millis) {
+
+        static Result of(String mode, List<long[]> perClient, double seconds) {
+            long[] all = perClient.stream().flatMapToLong(Arrays::stream).toArray();
+            long errors = Arrays.stream(all).filter(v -> v < 0).count();
+            long[] sorted = Arrays.stream(all).map(Math::abs).sorted().toArray();
+            return new Result(mode, all.length, errors, all.length / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99));
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    /**
+     * Adds a fixed blocking delay to every request, standing in for the
+     * database and SMTP round trips that in-memory H2 does not have.
+     */
+    @TestConfiguration
+    static class BlockingLatencyConfig {
+
+        @Bean
+        FilterRegistrationBean<OncePerRequestFilter> blockingLatencyFilter() {
+            FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(
+                    new OncePerRequestFilter() {
+                        @Override
+                        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                FilterChain chain) throws ServletException, IOException {
+                            try {
+                                Thread.sleep(IO_LATENCY_MILLIS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            chain.doFilter(request, response);
+                        }
+                    });
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+    }
+}
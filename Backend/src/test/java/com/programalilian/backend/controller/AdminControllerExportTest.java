@@ -0,0 +1,119 @@
+package com.programalilian.backend.controller;
+
+import com.programalilian.backend.repository.DonationRepository;
+import com.programalilian.backend.repository.UserRepository;
+import com.programalilian.backend.service.AdminListingService;
+import com.programalilian.backend.service.DonationAnalyticsService;
+import com.programalilian.backend.service.DonationExportService;
+import com.programalilian.backend.service.DonationTimeSeriesService;
+import com.programalilian.backend.service.EmailCampaignService;
+import com.programalilian.backend.service.MemberImportService;
+import com.programalilian.backend.service.MemberSearchService;
+import com.programalilian.backend.service.MemberSegmentService;
+import com.programalilian.backend.service.ReconciliationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for the donation export endpoint.
+ * Verifies gzip output and that only this request gets the long async timeout.
+ */
+@ExtendWith(MockitoExtension.class)
+class AdminControllerExportTest {
+
+    private static final Duration EXPORT_TIMEOUT = Duration.ofMinutes(30);
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private DonationRepository donationRepository;
+    @Mock
+    private DonationAnalyticsService donationAnalyticsService;
+    @Mock
+    private DonationExportService donationExportService;
+    @Mock
+    private ReconciliationService reconciliationService;
+    @Mock
+    private DonationTimeSeriesService donationTimeSeriesService;
+    @Mock
+    private AdminListingService adminListingService;
+    @Mock
+    private MemberSearchService memberSearchService;
+    @Mock
+    private MemberImportService memberImportService;
+    @Mock
+    private MemberSegmentService memberSegmentService;
+    @Mock
+    private EmailCampaignService emailCampaignService;
+
+    @InjectMocks
+    private AdminController adminController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(adminController, "exportTimeout", EXPORT_TIMEOUT);
+        mockMvc = MockMvcBuilders.standaloneSetup(adminController).build();
+    }
+
+    @Test
+    void shouldStreamGzippedExportWithItsOwnTimeout() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(4);
+            out.write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(donationExportService).export(eq(DonationExportService.Format.CSV), isNull(), isNull(), isNull(),
+                any(OutputStream.class));
+
+        // When
+        MvcResult started = mockMvc.perform(get("/api/admin/donations/export").param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        long timeout = started.getRequest().getAsyncContext().getTimeout();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"donations.csv.gz\""))
+                .andReturn();
+
+        // Then
+        assertEquals(EXPORT_TIMEOUT.toMillis(), timeout);
+        byte[] body = result.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals("id\n1\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() throws Exception {
+        // When / Then
+        mockMvc.perform(get("/api/admin/donations/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,159 @@
+package com.programalilian.backend.controller;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Performance regression budgets for the REST endpoints, checked on MySQL.
+ *
+ * Each request is measured with the X-SQL-* headers of SqlTrackingFilter
+ * (statements executed, rows read and binary column bytes read) and the size
+ * of the response body, so a new N+1, a findAll() or image bytes hydrated or
+ * serialized for a list fail the build.
+ * Skipped when Docker is not available.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.sql-tracking.response-headers=true",
+        "app.rate-limit.enabled=false",
+        "spring.security.oauth2.client.registration.google.client-id=test",
+        "spring.security.oauth2.client.registration.google.client-secret=test" })
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointBudgetTest {
+
+    private static final int IMAGE_BYTES = 50_000;
+    private static final String[] LIST_SECTIONS = { "events", "talks", "social-posts" };
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.MySQLDialect");
+    }
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    private long contentId;
+    private long memberId;
+
+    @BeforeAll
+    void seed() {
+        // Given: homepage content with images, members and donations from 10 donors
+        byte[] image = new byte[IMAGE_BYTES];
+        new Random(42).nextBytes(image);
+        String imageData = Base64.getEncoder().encodeToString(image);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < 14; i++) {
+            String section = i == 0 ? "hero" : i == 1 ? "about" : LIST_SECTIONS[i % LIST_SECTIONS.length];
+            Map<String, Object> content = Map.of("section", section, "title", "Contenido " + i,
+                    "content", "Texto de la publicación. ".repeat(10), "imageData", imageData,
+                    "imageType", "image/jpeg", "published", true, "createdAt", now.minusHours(i).toString());
+            contentId = id(rest.postForEntity("/api/admin/content", content, Map.class));
+        }
+        for (int i = 0; i < 30; i++) {
+            Map<String, Object> member = Map.of("fullName", "Socio " + i, "email", "socio" + i + "@example.com");
+            memberId = id(rest.postForEntity("/api/members", member, Map.class));
+        }
+        for (int i = 0; i < 60; i++) {
+            String url = "/api/donations?donorName=Donante&email=donor" + (i % 10) + "@example.com&amount="
+                    + (10 + i) + "&transactionId=TXN_BUDGET_" + i;
+            assertEquals(201, rest.postForEntity(url, null, String.class).getStatusCode().value());
+        }
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @CsvSource({
+            // method, path,                                   statements, rows, db bytes, bytes
+            "GET,  /api/content/published,                            1,   14,      0,   12000",
+            "GET,  /api/content/section/events,                       1,    4,      0,    4000",
+            "GET,  /api/content/single/hero,                          1,    1,      0,    1000",
+            "GET,  /api/content/upcoming,                             1,   12,      0,    8000",
+            "GET,  /api/content/image/{content},                      1,    1,  50000,   50000",
+            "GET,  /api/admin/content,                                1,   14,      0,   12000",
+            "GET,  /api/admin/content/{content},                      1,    1,  50000,    1000",
+            "GET,  /api/members/{member},                             1,    1,      0,    1000",
+            "GET,  /api/admin/donations/history?email=donor1@example.com, 2,    8,      0,    3000",
+            "GET,  /api/admin/members,                                2,   31,      0,   12000",
+            "GET,  /api/admin/members/recent,                         1,   30,      0,    8000",
+            "GET,  /api/admin/members/search?q=socio,                 1,   20,      0,    8000",
+            "GET,  /api/admin/stats,                                  4,    4,      0,     500",
+            "GET,  /api/admin/donations,                              2,   51,      0,   15000",
+            "GET,  /api/admin/donations/timeseries,                   1,    5,      0,    3000",
+            "GET,  /api/admin/donations/analytics,                    0,    0,      0,    3000",
+            "GET,  /api/admin/donations/analytics/top-donors,         0,    0,      0,    3000",
+            "PUT,  /api/members/{member}/subscription?subscriptionId=SUB_BUDGET&planType=monthly, 2, 1, 0, 500",
+            "POST, /api/donations?amount=25&transactionId=TXN_BUDGET_NEW&email=donor1@example.com, 5, 1, 0, 1000"
+    })
+    void shouldStayWithinBudget(String method, String path, int maxStatements, int maxRows, int maxBinaryBytes,
+            int maxBytes) {
+        // When
+        String url = path.replace("{content}", Long.toString(contentId)).replace("{member}", Long.toString(memberId));
+        ResponseEntity<byte[]> response = rest.exchange(url, HttpMethod.valueOf(method), null, byte[].class);
+
+        // Then
+        assertTrue(response.getStatusCode().is2xxSuccessful(), () -> "Status " + response.getStatusCode());
+        int statements = header(response, "X-SQL-Statements");
+        int rows = header(response, "X-SQL-Rows");
+        int binaryBytes = header(response, "X-SQL-Binary-Bytes");
+        int bytes = response.getBody() != null ? response.getBody().length : 0;
+        assertAll(
+                () -> assertTrue(statements <= maxStatements,
+                        () -> statements + " statements, budget " + maxStatements),
+                () -> assertTrue(rows <= maxRows, () -> rows + " rows, budget " + maxRows),
+                () -> assertTrue(binaryBytes <= maxBinaryBytes,
+                        () -> binaryBytes + " binary bytes read, budget " + maxBinaryBytes),
+                () -> assertTrue(bytes <= maxBytes, () -> bytes + " bytes, budget " + maxBytes));
+    }
+
+    @Test
+    void shouldListPublishedContentInOneStatementWithoutImageBytes() {
+        // When
+        ResponseEntity<String> response = rest.getForEntity("/api/content/published", String.class);
+
+        // Then
+        assertEquals(1, header(response, "X-SQL-Statements"));
+        assertEquals(0, header(response, "X-SQL-Binary-Bytes"));
+        assertFalse(response.getBody().contains("\"imageData\""));
+        assertTrue(response.getBody().contains("\"hasImage\":true"));
+        assertTrue(response.getBody().length() < IMAGE_BYTES);
+    }
+
+    private static int header(ResponseEntity<?> response, String name) {
+        String value = response.getHeaders().getFirst(name);
+        assertNotNull(value, () -> name + " header missing");
+        return Integer.parseInt(value);
+    }
+
+    private static long id(ResponseEntity<Map> response) {
+        assertTrue(response.getStatusCode().is2xxSuccessful(), () -> "Seeding failed: " + response.getStatusCode());
+        return ((Number) response.getBody().get("id")).longValue();
+    }
+}
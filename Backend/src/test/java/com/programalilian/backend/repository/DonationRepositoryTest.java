@@ -2,17 +2,22 @@ package com.programalilian.backend.repository;
 
 import com.programalilian.backend.domain.Donation;
 import com.programalilian.backend.domain.Donation.DonationType;
+import com.programalilian.backend.dto.DailyDonationTotal;
+import com.programalilian.backend.dto.DonationListItem;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -257,4 +262,139 @@ class DonationRepositoryTest {
                 // Then
                 assertEquals(BigDecimal.ZERO, total);
         }
+
+        @Test
+        void shouldPageDonorHistoryWithKeysetCursor() {
+                // Given
+                String testEmail = "keyset@example.com";
+                LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+                for (int i = 0; i < 5; i++) {
+                        donationRepository.save(Donation.builder()
+                                        .amount(BigDecimal.valueOf(10 + i))
+                                        .transactionId("TXN_KEYSET_" + i)
+                                        .email(testEmail)
+                                        .type(DonationType.ONE_TIME)
+                                        .createdAt(base.plusDays(i / 2))
+                                        .updatedAt(base.plusDays(i / 2))
+                                        .build());
+                }
+
+                // When
+                List<Donation> firstPage = donationRepository.findRecentByEmail(testEmail, PageRequest.of(0, 2));
+                Donation last = firstPage.get(1);
+                List<Donation> secondPage = donationRepository.findHistoryBefore(testEmail, last.getCreatedAt(),
+                                last.getId(), PageRequest.of(0, 10));
+
+                // Then
+                assertEquals(2, firstPage.size());
+                assertEquals(3, secondPage.size());
+                assertEquals("TXN_KEYSET_4", firstPage.get(0).getTransactionId());
+                assertEquals("TXN_KEYSET_3", firstPage.get(1).getTransactionId());
+                assertEquals("TXN_KEYSET_2", secondPage.get(0).getTransactionId());
+                assertEquals("TXN_KEYSET_0", secondPage.get(2).getTransactionId());
+        }
+
+        @Test
+        void shouldSumDonationsByDay() {
+                // Given
+                LocalDateTime day = LocalDateTime.of(2024, 6, 1, 9, 0);
+                String[] ids = { "TXN_DAY_1", "TXN_DAY_2", "TXN_DAY_3" };
+                LocalDateTime[] times = { day, day.plusHours(5), day.plusDays(2) };
+                for (int i = 0; i < ids.length; i++) {
+                        donationRepository.save(Donation.builder()
+                                        .amount(BigDecimal.valueOf(10 * (i + 1)))
+                                        .transactionId(ids[i])
+                                        .type(DonationType.ONE_TIME)
+                                        .createdAt(times[i])
+                                        .updatedAt(times[i])
+                                        .build());
+                }
+
+                // When
+                List<DailyDonationTotal> totals = donationRepository.sumByDay(day.minusDays(1), day.plusDays(5));
+
+                // Then
+                assertEquals(2, totals.size());
+                assertEquals(day.toLocalDate(), totals.get(0).day());
+                assertEquals(2, totals.get(0).count());
+                assertEquals(0, BigDecimal.valueOf(30).compareTo(totals.get(0).total()));
+                assertEquals(1, totals.get(1).count());
+        }
+
+        @Test
+        void shouldPageFilteredDonationsSortedByAmount() {
+                // Given
+                LocalDateTime base = LocalDateTime.of(2024, 3, 1, 12, 0);
+                for (int i = 0; i < 6; i++) {
+                        donationRepository.save(Donation.builder()
+                                        .amount(BigDecimal.valueOf(100 * (i + 1)))
+                                        .transactionId("TXN_PAGE_" + i)
+                                        .type(i % 2 == 0 ? DonationType.ONE_TIME : DonationType.SUBSCRIPTION)
+                                        .createdAt(base.plusDays(i))
+                                        .updatedAt(base.plusDays(i))
+                                        .build());
+                }
+
+                // When
+                Page<DonationListItem> page = donationRepository.findDonationPage(DonationType.ONE_TIME,
+                                null, null, BigDecimal.valueOf(200), null,
+                                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "amount")));
+
+                // Then
+                assertEquals(2, page.getTotalElements());
+                assertEquals(1, page.getContent().size());
+                assertEquals("TXN_PAGE_4", page.getContent().get(0).transactionId());
+        }
+
+        @Test
+        void shouldSliceDonationsAfterKeysetCursor() {
+                // Given
+                LocalDateTime base = LocalDateTime.of(2024, 4, 1, 12, 0);
+                for (int i = 0; i < 4; i++) {
+                        donationRepository.save(Donation.builder()
+                                        .amount(BigDecimal.TEN)
+                                        .transactionId("TXN_SLICE_" + i)
+                                        .type(DonationType.ONE_TIME)
+                                        .createdAt(base.plusDays(i / 2))
+                                        .updatedAt(base.plusDays(i / 2))
+                                        .build());
+                }
+
+                // When
+                List<DonationListItem> first = donationRepository.findDonationSlice(null, null, null, null, null,
+                                null, null, PageRequest.of(0, 3));
+                DonationListItem last = first.get(2);
+                List<DonationListItem> rest = donationRepository.findDonationSlice(null, null, null, null, null,
+                                last.createdAt(), last.id(), PageRequest.of(0, 3));
+
+                // Then
+                assertEquals(List.of("TXN_SLICE_3", "TXN_SLICE_2", "TXN_SLICE_1"),
+                                first.stream().map(DonationListItem::transactionId).toList());
+                assertEquals(List.of("TXN_SLICE_0"), rest.stream().map(DonationListItem::transactionId).toList());
+        }
+
+        @Test
+        void shouldStreamTransactionIdsInBinaryOrder() {
+                // Given
+                LocalDateTime day = LocalDateTime.of(2024, 5, 1, 12, 0);
+                for (String transactionId : List.of("txn_b", "TXN_B", "txn_a", "TXN_A10", "TXN_A9")) {
+                        donationRepository.save(Donation.builder()
+                                        .amount(BigDecimal.TEN)
+                                        .transactionId(transactionId)
+                                        .type(DonationType.ONE_TIME)
+                                        .createdAt(day)
+                                        .updatedAt(day)
+                                        .build());
+                }
+
+                // When
+                List<String> ids;
+                try (Stream<DonationRepository.TransactionAmount> rows = donationRepository
+                                .streamOrderedByTransactionId(day, day.plusDays(1))) {
+                        ids = rows.map(DonationRepository.TransactionAmount::getTransactionId).toList();
+                }
+
+                // Then
+                assertEquals(List.of("TXN_A10", "TXN_A9", "TXN_B", "txn_a", "txn_b"), ids);
+        }
 }
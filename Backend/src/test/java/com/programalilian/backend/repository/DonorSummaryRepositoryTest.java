@@ -0,0 +1,50 @@
+package com.programalilian.backend.repository;
+
+import com.programalilian.backend.domain.DonorSummary;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for DonorSummaryRepository using H2 in-memory database.
+ * Tests the upsert that maintains lifetime totals per donor. Uses the
+ * configured MySQL-mode H2 URL since the upsert is MySQL syntax.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class DonorSummaryRepositoryTest {
+
+    @Autowired
+    private DonorSummaryRepository donorSummaryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void shouldCreateAndAccumulateDonorSummary() {
+        // Given
+        LocalDateTime first = LocalDateTime.of(2024, 1, 10, 12, 0);
+        LocalDateTime second = LocalDateTime.of(2024, 3, 5, 9, 30);
+
+        // When
+        donorSummaryRepository.addDonation("ana@example.com", new BigDecimal("100.00"), second);
+        donorSummaryRepository.addDonation("ana@example.com", new BigDecimal("50.50"), first);
+        entityManager.clear();
+
+        // Then
+        DonorSummary summary = donorSummaryRepository.findById("ana@example.com").orElseThrow();
+        assertEquals(2, summary.getDonationCount());
+        assertEquals(0, new BigDecimal("150.50").compareTo(summary.getTotalAmount()));
+        assertEquals(first, summary.getFirstDonationAt());
+        assertEquals(second, summary.getLastDonationAt());
+    }
+}
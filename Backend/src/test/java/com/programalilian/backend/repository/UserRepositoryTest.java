@@ -4,9 +4,11 @@ import com.programalilian.backend.domain.User;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -177,4 +179,29 @@ class UserRepositoryTest {
         assertNotNull(saved.getUpdatedAt());
         assertEquals(user, retrieved); // Should be equal via lombok equals
     }
+
+    @Test
+    void shouldRejectEmailDifferingOnlyInCase() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        userRepository.saveAndFlush(User.builder()
+                .fullName("Original")
+                .email("Socio@Example.com")
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        User duplicate = User.builder()
+                .fullName("Duplicate")
+                .email(" socio@example.com")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+        // When
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> userRepository.saveAndFlush(duplicate));
+
+        // Then
+        assertTrue(exception.getMostSpecificCause().getMessage().toLowerCase().contains("uk_users_email_canonical"));
+    }
 }
@@ -0,0 +1,81 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.Donation;
+import com.programalilian.backend.domain.Donation.DonationType;
+import com.programalilian.backend.dto.DonationFact;
+import com.programalilian.backend.repository.DonationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the analytics service reload.
+ * Verifies that donations committed while the store is rebuilt are kept once.
+ */
+@ExtendWith(MockitoExtension.class)
+class DonationAnalyticsServiceTest {
+
+    private static final LocalDateTime PAID_AT = LocalDateTime.of(2024, 5, 1, 10, 0);
+
+    @Mock
+    private DonationRepository donationRepository;
+
+    @InjectMocks
+    private DonationAnalyticsServiceImpl analyticsService;
+
+    @Test
+    void shouldKeepDonationsCommittedDuringReloadExactlyOnce() {
+        // Given - while the load streams donation 1, donations 1 and 2 commit
+        Donation alreadyLoaded = donation(1L, "10.00");
+        Donation committedLater = donation(2L, "25.00");
+        when(donationRepository.streamAllFacts()).thenReturn(Stream.of(fact(1L, "10.00")).peek(fact -> {
+            analyticsService.record(alreadyLoaded);
+            analyticsService.record(committedLater);
+        }));
+
+        // When
+        analyticsService.reload();
+
+        // Then
+        assertEquals(2, analyticsService.summarize(null, null).count());
+        assertEquals(3500, analyticsService.summarize(null, null).totalCents());
+    }
+
+    @Test
+    void shouldServePreviousStoreUntilReloadFinishes() {
+        // Given
+        analyticsService.record(donation(1L, "10.00"));
+        when(donationRepository.streamAllFacts()).thenReturn(Stream.of(fact(1L, "10.00"), fact(2L, "20.00"))
+                .peek(fact -> assertEquals(1, analyticsService.summarize(null, null).count())));
+
+        // When
+        analyticsService.reload();
+
+        // Then
+        assertEquals(2, analyticsService.summarize(null, null).count());
+    }
+
+    private static Donation donation(Long id, String amount) {
+        return Donation.builder()
+                .id(id)
+                .amount(new BigDecimal(amount))
+                .transactionId("TXN_" + id)
+                .type(DonationType.ONE_TIME)
+                .createdAt(PAID_AT)
+                .updatedAt(PAID_AT)
+                .build();
+    }
+
+    private static DonationFact fact(Long id, String amount) {
+        return new DonationFact(id, new BigDecimal(amount), PAID_AT, DonationType.ONE_TIME, null);
+    }
+}
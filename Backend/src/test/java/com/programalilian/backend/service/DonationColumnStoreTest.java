@@ -0,0 +1,124 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.Donation.DonationType;
+import com.programalilian.backend.dto.DonationAnalyticsSummary;
+import com.programalilian.backend.dto.DonationAnalyticsSummary.TopDonor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the in-memory donation column store.
+ * Verifies range totals, percentiles, weekday counts and top donors.
+ */
+class DonationColumnStoreTest {
+
+    private DonationColumnStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new DonationColumnStore();
+        // 2024-01-01 was a Monday
+        store.append(LocalDate.of(2024, 1, 1), BigDecimal.valueOf(100.00), DonationType.ONE_TIME, "ana@example.com");
+        store.append(LocalDate.of(2024, 1, 2), BigDecimal.valueOf(50.50), DonationType.SUBSCRIPTION, "Ana@Example.com");
+        store.append(LocalDate.of(2024, 1, 3), BigDecimal.valueOf(10.00), DonationType.ONE_TIME, null);
+        store.append(LocalDate.of(2024, 2, 1), BigDecimal.valueOf(500.00), DonationType.ONE_TIME, "luis@example.com");
+    }
+
+    @Test
+    void shouldSummarizeDateRangeInCents() {
+        // When
+        DonationAnalyticsSummary summary = store.summarize(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        // Then
+        assertEquals(3, summary.count());
+        assertEquals(16050, summary.totalCents());
+        assertEquals(5050, summary.medianCents());
+        assertEquals(10000, summary.p90Cents());
+        assertEquals(2, summary.oneTimeCount());
+        assertEquals(1, summary.subscriptionCount());
+        assertArrayEquals(new long[] { 1, 1, 1, 0, 0, 0, 0 }, summary.countsByWeekday());
+    }
+
+    @Test
+    void shouldKeepRowsSortedWhenOlderDonationArrives() {
+        // Given
+        store.append(LocalDate.of(2023, 12, 31), BigDecimal.valueOf(1.00), DonationType.ONE_TIME, null);
+
+        // When
+        DonationAnalyticsSummary all = store.summarize(null, null);
+        DonationAnalyticsSummary december = store.summarize(LocalDate.of(2023, 12, 1), LocalDate.of(2023, 12, 31));
+
+        // Then
+        assertEquals(5, all.count());
+        assertEquals(66150, all.totalCents());
+        assertEquals(1, december.count());
+        assertEquals(100, december.totalCents());
+    }
+
+    @Test
+    void shouldMatchSortedPercentilesForRowsAppendedOutOfOrder() {
+        // Given - 2000 donations over 60 days, appended in random day order
+        DonationColumnStore shuffled = new DonationColumnStore();
+        Random random = new Random(7);
+        LocalDate first = LocalDate.of(2024, 3, 1);
+        long[] march = new long[2000];
+        int inMarch = 0;
+        long[] byWeekday = new long[7];
+        for (int i = 0; i < 2000; i++) {
+            LocalDate day = first.plusDays(random.nextInt(60));
+            long amountCents = 100 + random.nextInt(20) * 250L;
+            shuffled.append(day, BigDecimal.valueOf(amountCents, 2),
+                    i % 3 == 0 ? DonationType.SUBSCRIPTION : DonationType.ONE_TIME, null);
+            if (day.getMonthValue() == 3) {
+                march[inMarch++] = amountCents;
+                byWeekday[day.getDayOfWeek().ordinal()]++;
+            }
+        }
+        long[] expected = Arrays.copyOf(march, inMarch);
+        Arrays.sort(expected);
+
+        // When
+        DonationAnalyticsSummary summary = shuffled.summarize(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+
+        // Then
+        assertEquals(inMarch, summary.count());
+        assertEquals(Arrays.stream(expected).sum(), summary.totalCents());
+        assertEquals(expected[(int) Math.ceil(0.5 * inMarch) - 1], summary.medianCents());
+        assertEquals(expected[(int) Math.ceil(0.9 * inMarch) - 1], summary.p90Cents());
+        assertArrayEquals(byWeekday, summary.countsByWeekday());
+        assertEquals(shuffled.summarize(null, null).oneTimeCount(), 2000 - 667);
+    }
+
+    @Test
+    void shouldReturnEmptySummaryForRangeWithoutDonations() {
+        // When
+        DonationAnalyticsSummary summary = store.summarize(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+
+        // Then
+        assertEquals(0, summary.count());
+        assertEquals(0, summary.totalCents());
+        assertEquals(0, summary.medianCents());
+    }
+
+    @Test
+    void shouldRankTopDonorsByNormalizedEmail() {
+        // When
+        List<TopDonor> donors = store.topDonors(null, null, 2);
+
+        // Then
+        assertEquals(2, donors.size());
+        assertEquals("luis@example.com", donors.get(0).email());
+        assertEquals(50000, donors.get(0).totalCents());
+        assertEquals("ana@example.com", donors.get(1).email());
+        assertEquals(15050, donors.get(1).totalCents());
+        assertEquals(2, donors.get(1).count());
+    }
+}
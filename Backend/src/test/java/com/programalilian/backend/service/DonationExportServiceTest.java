@@ -0,0 +1,198 @@
+package com.programalilian.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.programalilian.backend.domain.Donation;
+import com.programalilian.backend.domain.Donation.DonationType;
+import com.programalilian.backend.repository.DonationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the streamed donation export on H2 (MySQL mode).
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ DonationExportServiceImpl.class, JacksonAutoConfiguration.class })
+class DonationExportServiceTest {
+
+    private static final String HEADER = "id,createdAt,type,amount,transactionId,donorName,email";
+
+    @Autowired
+    private DonationExportService donationExportService;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Donation first;
+    private Donation second;
+    private Donation third;
+
+    @BeforeEach
+    void setUp() {
+        first = donationRepository.save(donation("TXN_1", "Pérez, Juan", DonationType.ONE_TIME,
+                LocalDateTime.of(2024, 5, 1, 10, 0)));
+        second = donationRepository.save(donation("TXN_2", "Ana \"La\" Gómez", DonationType.SUBSCRIPTION,
+                LocalDateTime.of(2024, 5, 2, 23, 59)));
+        third = donationRepository.save(donation("TXN_3", "Luis", DonationType.ONE_TIME,
+                LocalDateTime.of(2024, 5, 3, 0, 0)));
+    }
+
+    @Test
+    void shouldQuoteCsvFieldsOnlyWhenNeeded() throws IOException {
+        // Given
+        StringWriter writer = new StringWriter();
+
+        // When
+        DonationExportServiceImpl.writeCsvField(writer, "simple");
+        writer.write('|');
+        DonationExportServiceImpl.writeCsvField(writer, "a,b");
+        writer.write('|');
+        DonationExportServiceImpl.writeCsvField(writer, "dice \"hola\"");
+        writer.write('|');
+        DonationExportServiceImpl.writeCsvField(writer, "línea\r\nnueva");
+        writer.write('|');
+        DonationExportServiceImpl.writeCsvField(writer, null);
+
+        // Then
+        assertEquals("simple|\"a,b\"|\"dice \"\"hola\"\"\"|\"línea\r\nnueva\"|", writer.toString());
+    }
+
+    @Test
+    void shouldNeutralizeSpreadsheetFormulas() throws IOException {
+        // Given
+        StringWriter writer = new StringWriter();
+
+        // When
+        DonationExportServiceImpl.writeCsvField(writer, "=HYPERLINK(\"http://x\")");
+        writer.write('|');
+        DonationExportServiceImpl.writeCsvField(writer, "+1");
+        writer.write('|');
+        DonationExportServiceImpl.writeCsvField(writer, "-2+3");
+        writer.write('|');
+        DonationExportServiceImpl.writeCsvField(writer, "@SUM(A1)");
+        writer.write('|');
+        DonationExportServiceImpl.writeCsvField(writer, "\tcmd");
+        writer.write('|');
+        DonationExportServiceImpl.writeCsvField(writer, "\rcmd");
+        writer.write('|');
+        DonationExportServiceImpl.writeCsvField(writer, "Ana=Luis");
+
+        // Then
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\")\"|'+1|'-2+3|'@SUM(A1)|'\tcmd|\"'\rcmd\"|Ana=Luis",
+                writer.toString());
+    }
+
+    @Test
+    void shouldExportCsvWithHeaderAndEscapedRows() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long count = donationExportService.export(DonationExportService.Format.CSV, null, null, null, out);
+
+        // Then
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, count);
+        assertEquals(List.of(HEADER,
+                first.getId() + ",2024-05-01T10:00,ONE_TIME,25.00,TXN_1,\"Pérez, Juan\",txn_1@example.com",
+                second.getId() + ",2024-05-02T23:59,SUBSCRIPTION,25.00,TXN_2,\"Ana \"\"La\"\" Gómez\",txn_2@example.com",
+                third.getId() + ",2024-05-03T00:00,ONE_TIME,25.00,TXN_3,Luis,txn_3@example.com"), lines);
+    }
+
+    @Test
+    void shouldExportOneJsonObjectPerLine() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long count = donationExportService.export(DonationExportService.Format.NDJSON, null, null, null, out);
+
+        // Then
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, count);
+        assertEquals(3, lines.size());
+        JsonNode row = objectMapper.readTree(lines.get(1));
+        assertEquals(second.getId().longValue(), row.get("id").asLong());
+        assertEquals("SUBSCRIPTION", row.get("type").asText());
+        assertTrue(lines.get(1).contains("\"amount\":25.00"));
+        assertEquals("Ana \"La\" Gómez", row.get("donorName").asText());
+        assertEquals("2024-05-02T23:59", row.get("createdAt").asText());
+    }
+
+    @Test
+    void shouldFilterByInclusiveDaysAndType() throws IOException {
+        // Given
+        ByteArrayOutputStream byDays = new ByteArrayOutputStream();
+        ByteArrayOutputStream byType = new ByteArrayOutputStream();
+
+        // When
+        long dayCount = donationExportService.export(DonationExportService.Format.CSV,
+                LocalDate.of(2024, 5, 2), LocalDate.of(2024, 5, 2), null, byDays);
+        long typeCount = donationExportService.export(DonationExportService.Format.CSV,
+                null, null, DonationType.ONE_TIME, byType);
+
+        // Then
+        assertEquals(1, dayCount);
+        assertTrue(byDays.toString(StandardCharsets.UTF_8).contains("TXN_2"));
+        assertEquals(2, typeCount);
+        String typed = byType.toString(StandardCharsets.UTF_8);
+        assertTrue(typed.contains("TXN_1") && typed.contains("TXN_3"));
+        assertFalse(typed.contains("TXN_2"));
+    }
+
+    @Test
+    void shouldExportThroughGzip() throws IOException {
+        // Given
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        // When
+        GZIPOutputStream gzip = new GZIPOutputStream(compressed);
+        donationExportService.export(DonationExportService.Format.CSV, null, null, null, gzip);
+        gzip.finish();
+
+        // Then
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            List<String> lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            assertEquals(4, lines.size());
+            assertEquals(HEADER, lines.get(0));
+        }
+    }
+
+    private static Donation donation(String transactionId, String donorName, DonationType type,
+            LocalDateTime createdAt) {
+        return Donation.builder()
+                .transactionId(transactionId)
+                .donorName(donorName)
+                .email(transactionId.toLowerCase() + "@example.com")
+                .amount(new BigDecimal("25.00"))
+                .type(type)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.Donation;
+import com.programalilian.backend.domain.Donation.DonationType;
+import com.programalilian.backend.dto.DonorHistoryPage;
+import com.programalilian.backend.repository.DonationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for donor history on H2, whose string comparison is
+ * case-sensitive, unlike the MySQL column collation.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ DonationServiceImpl.class, SimpleMeterRegistry.class })
+class DonationServiceTest {
+
+    @Autowired
+    private DonationService donationService;
+
+    @Autowired
+    private DonationServiceImpl donationServiceImpl;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @MockBean
+    private DonationAnalyticsService donationAnalyticsService;
+
+    @MockBean
+    private EmailOutboxService emailOutboxService;
+
+    @MockBean
+    private MemberSegmentService memberSegmentService;
+
+    @Test
+    void shouldFindHistoryAndSummaryWhateverTheEmailCase() {
+        // Given
+        donationService.processOneTimeDonation("Ana", " Ana.Perez@Example.com ", new BigDecimal("10.00"), "TXN_1");
+        donationService.processOneTimeDonation("Ana", "ana.perez@example.com", new BigDecimal("15.00"), "TXN_2");
+
+        // When
+        DonorHistoryPage history = donationService.getDonorHistory("ANA.PEREZ@example.com", null, 10);
+
+        // Then
+        assertEquals("ana.perez@example.com", history.email());
+        assertEquals(2, history.donations().size());
+        assertEquals(2, history.lifetimeCount());
+        assertEquals(0, new BigDecimal("25.00").compareTo(history.lifetimeTotal()));
+    }
+
+    @Test
+    void shouldCanonicalizeExistingEmailsBeforeBackfillingSummaries() {
+        // Given - donations recorded before emails were stored canonical
+        LocalDateTime now = LocalDateTime.now();
+        for (String transactionId : new String[] { "TXN_OLD_1", "TXN_OLD_2" }) {
+            donationRepository.saveAndFlush(Donation.builder()
+                    .email(" Luis@Example.com")
+                    .amount(new BigDecimal("20.00"))
+                    .transactionId(transactionId)
+                    .type(DonationType.ONE_TIME)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+
+        // When
+        donationServiceImpl.backfillDonorSummaries();
+        DonorHistoryPage history = donationService.getDonorHistory("luis@example.com", null, 10);
+
+        // Then
+        assertEquals(2, history.donations().size());
+        assertEquals(2, history.lifetimeCount());
+        assertEquals(0, donationRepository.canonicalizeEmails());
+    }
+}
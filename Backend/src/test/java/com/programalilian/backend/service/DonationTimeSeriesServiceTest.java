@@ -0,0 +1,90 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.dto.DailyDonationTotal;
+import com.programalilian.backend.dto.DonationTimeSeries;
+import com.programalilian.backend.repository.DonationRepository;
+import com.programalilian.backend.service.DonationTimeSeriesService.Granularity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the donation time series.
+ * Verifies bucket folding and that closed days are only queried once, until
+ * a late donation evicts them.
+ */
+@ExtendWith(MockitoExtension.class)
+class DonationTimeSeriesServiceTest {
+
+    @Mock
+    private DonationRepository donationRepository;
+
+    @InjectMocks
+    private DonationTimeSeriesServiceImpl timeSeriesService;
+
+    @Test
+    void shouldFoldDaysIntoWeeksIncludingEmptyBuckets() {
+        // Given - 2024-01-01 is a Monday
+        when(donationRepository.sumByDay(any(), any())).thenReturn(List.of(
+                new DailyDonationTotal(LocalDate.of(2024, 1, 2), 2, new BigDecimal("150.00")),
+                new DailyDonationTotal(LocalDate.of(2024, 1, 7), 1, new BigDecimal("20.00")),
+                new DailyDonationTotal(LocalDate.of(2024, 1, 16), 1, new BigDecimal("5.00"))));
+
+        // When
+        DonationTimeSeries series = timeSeriesService.getTimeSeries(Granularity.WEEK,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 21));
+
+        // Then
+        assertEquals("week", series.granularity());
+        assertEquals(3, series.points().size());
+        assertEquals(3, series.points().get(0).count());
+        assertEquals(0, new BigDecimal("170.00").compareTo(series.points().get(0).total()));
+        assertEquals(LocalDate.of(2024, 1, 15), series.points().get(2).start());
+        assertEquals(1, series.points().get(2).count());
+    }
+
+    @Test
+    void shouldOnlyQueryOpenDayOnceClosedDaysAreCached() {
+        // Given
+        LocalDate today = LocalDate.now();
+        when(donationRepository.sumByDay(any(), any())).thenReturn(List.of());
+        timeSeriesService.getTimeSeries(Granularity.DAY, today.minusDays(364), today);
+
+        // When
+        DonationTimeSeries series = timeSeriesService.getTimeSeries(Granularity.DAY, today.minusDays(364), today);
+
+        // Then
+        assertEquals(365, series.points().size());
+        verify(donationRepository, times(2)).sumByDay(any(), any());
+        verify(donationRepository).sumByDay(today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+    }
+
+    @Test
+    void shouldQueryClosedDayAgainAfterLateDonationEvictsIt() {
+        // Given
+        LocalDate today = LocalDate.now();
+        LocalDate lastWeek = today.minusDays(7);
+        when(donationRepository.sumByDay(any(), any()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(new DailyDonationTotal(lastWeek, 1, new BigDecimal("30.00"))));
+        timeSeriesService.getTimeSeries(Granularity.DAY, lastWeek, lastWeek);
+
+        // When
+        timeSeriesService.evictDay(lastWeek);
+        DonationTimeSeries series = timeSeriesService.getTimeSeries(Granularity.DAY, lastWeek, lastWeek);
+
+        // Then
+        assertEquals(1, series.points().get(0).count());
+        verify(donationRepository, times(2)).sumByDay(lastWeek.atStartOfDay(), lastWeek.plusDays(1).atStartOfDay());
+    }
+}
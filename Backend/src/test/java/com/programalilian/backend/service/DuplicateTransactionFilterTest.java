@@ -0,0 +1,76 @@
+package com.programalilian.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the webhook duplicate notification filter.
+ * Verifies suppression per status, metrics and bounded exact entries.
+ */
+class DuplicateTransactionFilterTest {
+
+    private MeterRegistry meterRegistry;
+    private DuplicateTransactionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new DuplicateTransactionFilter(meterRegistry, Duration.ofHours(24), 1000, 0.01, 100);
+    }
+
+    @Test
+    void shouldSuppressProcessedNotificationAndCountIt() {
+        // Given
+        filter.markProcessed("TXN_1", "approved");
+
+        // When & Then
+        assertTrue(filter.isKnownDuplicate("TXN_1", "approved"));
+        assertFalse(filter.isKnownDuplicate("TXN_2", "approved"));
+        assertEquals(1.0, meterRegistry.get("donations.dedupe.suppressed").tag("source", "webhook")
+                .counter().count());
+    }
+
+    @Test
+    void shouldLetStatusChangesThrough() {
+        // Given
+        filter.markProcessed("TXN_1", "approved");
+
+        // When & Then
+        assertFalse(filter.isKnownDuplicate("TXN_1", "rejected"));
+        assertFalse(filter.isKnownDuplicate("TXN_1", "refunded"));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedBeyondExactCapacity() {
+        // Given
+        for (int i = 0; i < 100; i++) {
+            filter.markProcessed("TXN_" + i, "approved");
+        }
+        assertTrue(filter.isKnownDuplicate("TXN_0", "approved"));
+
+        // When
+        for (int i = 100; i < 150; i++) {
+            filter.markProcessed("TXN_" + i, "approved");
+        }
+
+        // Then
+        assertTrue(filter.isKnownDuplicate("TXN_0", "approved"));
+        assertFalse(filter.isKnownDuplicate("TXN_1", "approved"));
+        assertTrue(filter.isKnownDuplicate("TXN_149", "approved"));
+    }
+
+    @Test
+    void shouldIgnoreNullTransactionId() {
+        // When
+        filter.markProcessed(null, "approved");
+
+        // Then
+        assertFalse(filter.isKnownDuplicate(null, "approved"));
+    }
+}
@@ -0,0 +1,196 @@
+package com.programalilian.backend.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.programalilian.backend.config.AsyncConfig;
+import com.programalilian.backend.domain.EmailCampaign;
+import com.programalilian.backend.domain.EmailCampaign.Status;
+import com.programalilian.backend.domain.User;
+import com.programalilian.backend.dto.CreateCampaignRequest;
+import com.programalilian.backend.repository.EmailCampaignRepository;
+import com.programalilian.backend.repository.UserRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for email campaigns against a local GreenMail SMTP server.
+ * Executors run inline and pages hold two recipients, so a campaign spans
+ * several checkpoints.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ EmailCampaignServiceImpl.class, SmtpRateLimiter.class, EmailCampaignServiceTest.CampaignConfig.class })
+@TestPropertySource(properties = { "app.campaign.page-size=2", "app.campaign.batch-size=1" })
+class EmailCampaignServiceTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailCampaignService emailCampaignService;
+
+    @Autowired
+    private EmailCampaignRepository emailCampaignRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private MemberSegmentService memberSegmentService;
+
+    @MockBean
+    private EmailOutboxService emailOutboxService;
+
+    @Test
+    void shouldSendPersonalizedEmailToEveryMember() throws Exception {
+        // Given
+        member("Ana Pérez", "ana@example.com");
+        member("Luis Gómez", "luis@example.com");
+        member("Eva Díaz", "eva@example.com");
+        EmailCampaign campaign = emailCampaignService.create(
+                new CreateCampaignRequest("Novedades para {{firstName}}", "Hola {{fullName}}", null));
+
+        // When
+        emailCampaignService.start(campaign.getId());
+
+        // Then
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(3, received.length);
+        assertEquals("Novedades para Ana", received[0].getSubject());
+        EmailCampaign finished = emailCampaignRepository.findById(campaign.getId()).orElseThrow();
+        assertEquals(Status.COMPLETED, finished.getStatus());
+        assertEquals(3, finished.getSent());
+        assertEquals(0, finished.getDeferred());
+        assertNotNull(finished.getCompletedAt());
+    }
+
+    @Test
+    void shouldResumeAfterCheckpointAndOnlyReachSegment() {
+        // Given
+        User ana = member("Ana", "ana@example.com");
+        User luis = member("Luis", "luis@example.com");
+        User eva = member("Eva", "eva@example.com");
+        when(memberSegmentService.isLoaded()).thenReturn(true);
+        when(memberSegmentService.memberIds("plan:mensual")).thenReturn(List.of(eva.getId(), ana.getId(), luis.getId()));
+        EmailCampaign campaign = emailCampaignService.create(
+                new CreateCampaignRequest("Hola", "Hola {{firstName}}", "plan:mensual"));
+        campaign.setStatus(Status.FAILED);
+        campaign.setLastMemberId(ana.getId());
+        campaign.setSent(1);
+        emailCampaignRepository.save(campaign);
+
+        // When
+        emailCampaignService.start(campaign.getId());
+
+        // Then
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        EmailCampaign finished = emailCampaignRepository.findById(campaign.getId()).orElseThrow();
+        assertEquals(Status.COMPLETED, finished.getStatus());
+        assertEquals(3, finished.getSent());
+        assertEquals(eva.getId(), finished.getLastMemberId());
+    }
+
+    @Test
+    void shouldNotStartSegmentCampaignBeforeSegmentsAreLoaded() {
+        // Given
+        member("Ana", "ana@example.com");
+        EmailCampaign campaign = emailCampaignService.create(
+                new CreateCampaignRequest("Hola", "Hola {{firstName}}", "plan:mensual"));
+        when(memberSegmentService.isLoaded()).thenReturn(false);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> emailCampaignService.start(campaign.getId()));
+        assertEquals(0, greenMail.getReceivedMessages().length);
+        assertEquals(Status.DRAFT, emailCampaignRepository.findById(campaign.getId()).orElseThrow().getStatus());
+        verify(memberSegmentService, never()).memberIds(any());
+    }
+
+    @Test
+    void shouldNotStartOrResendCampaignThatIsNoLongerStartable() {
+        // Given
+        member("Ana", "ana@example.com");
+        EmailCampaign campaign = emailCampaignService.create(new CreateCampaignRequest("Hola", "Hola", null));
+        emailCampaignService.start(campaign.getId());
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> emailCampaignService.start(campaign.getId()));
+        assertThrows(IllegalStateException.class, () -> emailCampaignService.cancel(campaign.getId()));
+        assertEquals(1, greenMail.getReceivedMessages().length);
+        assertEquals(Status.COMPLETED, emailCampaignRepository.findById(campaign.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void shouldDeferRejectedMessagesToOutbox() {
+        // Given
+        member("Ana", "ana@example.com");
+        EmailCampaign campaign = emailCampaignService.create(new CreateCampaignRequest("Hola", "Hola", null));
+        greenMail.stop();
+
+        // When
+        emailCampaignService.start(campaign.getId());
+
+        // Then
+        EmailCampaign finished = emailCampaignRepository.findById(campaign.getId()).orElseThrow();
+        assertEquals(Status.COMPLETED, finished.getStatus());
+        assertEquals(0, finished.getSent());
+        assertEquals(1, finished.getDeferred());
+        verify(emailOutboxService).enqueue("ana@example.com", "Hola", "Hola");
+    }
+
+    @Test
+    void shouldRejectUnknownTemplateVariable() {
+        assertThrows(IllegalArgumentException.class, () -> emailCampaignService.create(
+                new CreateCampaignRequest("Hola", "Hola {{apellido}}", null)));
+    }
+
+    private User member(String fullName, String email) {
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 0, 0);
+        return userRepository.saveAndFlush(User.builder()
+                .fullName(fullName)
+                .email(email)
+                .createdAt(created)
+                .updatedAt(created)
+                .build());
+    }
+
+    @TestConfiguration
+    static class CampaignConfig {
+
+        @Bean
+        JavaMailSender javaMailSender() {
+            JavaMailSenderImpl sender = new JavaMailSenderImpl();
+            sender.setHost("localhost");
+            sender.setPort(ServerSetupTest.SMTP.getPort());
+            return sender;
+        }
+
+        @Bean(name = AsyncConfig.CAMPAIGN_RUNNER_EXECUTOR)
+        TaskExecutor campaignRunnerExecutor() {
+            return new SyncTaskExecutor();
+        }
+
+        @Bean(name = AsyncConfig.CAMPAIGN_SENDER_EXECUTOR)
+        TaskExecutor campaignSenderExecutor() {
+            return new SyncTaskExecutor();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.programalilian.backend.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.programalilian.backend.domain.EmailOutbox;
+import com.programalilian.backend.domain.EmailOutbox.Status;
+import com.programalilian.backend.repository.EmailOutboxRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the email outbox against a local GreenMail SMTP server.
+ * Verifies batched delivery, rescheduling when SMTP is unavailable and
+ * reclaiming entries whose lease expired.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ EmailOutboxServiceImpl.class, SmtpRateLimiter.class, EmailOutboxServiceTest.MailConfig.class })
+class EmailOutboxServiceTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Test
+    void shouldDeliverPendingEmailsInOneBatch() throws Exception {
+        // Given
+        emailOutboxService.enqueue("ana@example.com", "Hola Ana", "Cuerpo 1");
+        emailOutboxService.enqueue("luis@example.com", "Hola Luis", "Cuerpo 2");
+
+        // When
+        int sent = emailOutboxService.processBatch();
+
+        // Then
+        assertEquals(2, sent);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("Hola Ana", received[0].getSubject());
+
+        List<EmailOutbox> entries = emailOutboxRepository.findAll();
+        assertTrue(entries.stream().allMatch(e -> e.getStatus() == Status.SENT && e.getSentAt() != null));
+        assertEquals(0, emailOutboxRepository.countByStatus(Status.PENDING));
+    }
+
+    @Test
+    void shouldRescheduleWithBackoffWhenSmtpIsDown() {
+        // Given
+        emailOutboxService.enqueue("ana@example.com", "Hola Ana", "Cuerpo");
+        greenMail.stop();
+
+        // When
+        int sent = emailOutboxService.processBatch();
+
+        // Then
+        assertEquals(0, sent);
+        EmailOutbox entry = emailOutboxRepository.findAll().get(0);
+        assertEquals(Status.PENDING, entry.getStatus());
+        assertEquals(1, entry.getAttempts());
+        assertNotNull(entry.getLastError());
+        assertTrue(entry.getNextAttemptAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void shouldReclaimInFlightEntriesOnlyOnceTheirLeaseExpires() {
+        // Given - one entry claimed by a sender that stopped, one still leased
+        LocalDateTime now = LocalDateTime.now();
+        inFlight("ana@example.com", now.minusMinutes(1));
+        inFlight("luis@example.com", now.plusMinutes(5));
+
+        // When
+        int sent = emailOutboxService.processBatch();
+
+        // Then
+        assertEquals(1, sent);
+        assertEquals(1, greenMail.getReceivedMessages().length);
+        assertEquals(1, emailOutboxRepository.countByStatus(Status.SENT));
+        assertEquals(1, emailOutboxRepository.countByStatus(Status.IN_FLIGHT));
+    }
+
+    private void inFlight(String recipient, LocalDateTime leaseUntil) {
+        emailOutboxRepository.save(EmailOutbox.builder()
+                .recipient(recipient)
+                .subject("Hola")
+                .body("Cuerpo")
+                .status(Status.IN_FLIGHT)
+                .attempts(0)
+                .nextAttemptAt(leaseUntil)
+                .createdAt(leaseUntil.minusMinutes(5))
+                .build());
+    }
+
+    @TestConfiguration
+    static class MailConfig {
+
+        @Bean
+        JavaMailSender javaMailSender() {
+            JavaMailSenderImpl sender = new JavaMailSenderImpl();
+            sender.setHost("localhost");
+            sender.setPort(ServerSetupTest.SMTP.getPort());
+            return sender;
+        }
+    }
+}
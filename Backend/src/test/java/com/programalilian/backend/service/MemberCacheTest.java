@@ -0,0 +1,122 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the read-through member lookup cache.
+ * Verifies copies, negative caching, eviction races and size bounds.
+ */
+class MemberCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MemberCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new MemberCache(meterRegistry, true, 2, Duration.ofMinutes(5), Duration.ofSeconds(30));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromOneLoad() {
+        // Given
+        cache.findById(1L, loader(member(1L, "ana@example.com")));
+
+        // When
+        Optional<User> cached = cache.findById(1L, loader(null));
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals("ana@example.com", cached.orElseThrow().getEmail());
+        assertEquals(1.0, meterRegistry.get("members.cache.requests").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void shouldReturnCopiesThatDoNotChangeTheCache() {
+        // Given
+        cache.findById(1L, loader(member(1L, "ana@example.com")));
+
+        // When
+        cache.findById(1L, loader(null)).orElseThrow().setFullName("Cambiado");
+
+        // Then
+        assertEquals("Ana", cache.findById(1L, loader(null)).orElseThrow().getFullName());
+    }
+
+    @Test
+    void shouldCacheMissesUntilEvicted() {
+        // Given
+        cache.findById(5L, loader(null));
+
+        // When
+        Optional<User> cachedMiss = cache.findById(5L, loader(member(5L, "nuevo@example.com")));
+        cache.evict(5L);
+        Optional<User> afterEvict = cache.findById(5L, loader(member(5L, "nuevo@example.com")));
+
+        // Then
+        assertTrue(cachedMiss.isEmpty());
+        assertEquals(5L, afterEvict.orElseThrow().getId());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldNotStoreLoadThatRacedWithEviction() {
+        // When - the member is updated and evicted while its old row is being read
+        Optional<User> stale = cache.findById(1L, () -> {
+            loads.incrementAndGet();
+            cache.evict(1L);
+            return Optional.of(member(1L, "vieja@example.com"));
+        });
+        Optional<User> fresh = cache.findById(1L, loader(member(1L, "nueva@example.com")));
+
+        // Then
+        assertEquals("vieja@example.com", stale.orElseThrow().getEmail());
+        assertEquals("nueva@example.com", fresh.orElseThrow().getEmail());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedBeyondMaxSize() {
+        // Given
+        cache.findById(1L, loader(member(1L, "ana@example.com")));
+        cache.findById(2L, loader(member(2L, "luis@example.com")));
+        cache.findById(1L, loader(null));
+
+        // When
+        cache.findById(3L, loader(member(3L, "eva@example.com")));
+
+        // Then
+        assertEquals(2, cache.size());
+        assertEquals(1L, cache.findById(1L, loader(null)).orElseThrow().getId());
+        assertEquals(3, loads.get());
+        assertTrue(cache.findById(2L, loader(null)).isEmpty());
+        assertEquals(4, loads.get());
+    }
+
+    private Supplier<Optional<User>> loader(User result) {
+        return () -> {
+            loads.incrementAndGet();
+            return Optional.ofNullable(result);
+        };
+    }
+
+    private static User member(Long id, String email) {
+        return User.builder()
+                .id(id)
+                .fullName("Ana")
+                .email(email)
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.MemberImport;
+import com.programalilian.backend.domain.MemberImport.Status;
+import com.programalilian.backend.domain.User;
+import com.programalilian.backend.dto.MemberImportReport;
+import com.programalilian.backend.repository.MemberImportRepository;
+import com.programalilian.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Integration tests for bulk member CSV import on H2.
+ * Uses a small chunk size so the file spans several checkpoints.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ MemberImportServiceImpl.class, MemberImportServiceTest.ValidationConfig.class })
+@TestPropertySource(properties = "app.member-import.chunk-size=2")
+class MemberImportServiceTest {
+
+    private static final String CSV = """
+            fullName;email;phone;birthDate
+            María González;maria@example.com;+541123456789;15/05/1980
+            Luis Martínez;LUIS@example.com;;1975-03-02
+            Sin Email;;;
+            Repetida;Maria@Example.com;;
+            Ana Pérez;ana@example.com;;31/02/1990
+            Existente;existente@example.com;;
+            """;
+
+    @Autowired
+    private MemberImportService memberImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MemberImportRepository memberImportRepository;
+
+    @MockBean
+    private MemberSearchService memberSearchService;
+
+    @MockBean
+    private MemberCache memberCache;
+
+    @MockBean
+    private MemberSegmentService memberSegmentService;
+
+    @Test
+    void shouldImportValidRowsAndReportRejectedOnes() throws Exception {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        userRepository.save(User.builder()
+                .fullName("Existente")
+                .email("existente@example.com")
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+
+        // When
+        MemberImportReport report = memberImportService.importCsv(csv(CSV), "socios.csv", null);
+
+        // Then
+        assertEquals(Status.COMPLETED, report.status());
+        assertEquals(6, report.rowsProcessed());
+        assertEquals(2, report.imported());
+        assertEquals(2, report.duplicates());
+        assertEquals(2, report.invalid());
+        assertEquals(4, report.errors().size());
+        assertEquals(3, report.errors().get(0).row());
+        assertEquals("Fecha de nacimiento inválida", report.errors().get(2).message());
+        assertEquals("El email ya está registrado", report.errors().get(3).message());
+
+        User maria = userRepository.findByEmail("maria@example.com").orElseThrow();
+        assertEquals(LocalDate.of(1980, 5, 15), maria.getBirthDate());
+        assertNull(userRepository.findByEmail("LUIS@example.com").orElseThrow().getPhone());
+        verify(memberSearchService, times(2)).index(any(User.class));
+        verify(memberSegmentService, times(2)).index(any(User.class));
+        verify(memberSearchService, never()).reload();
+        verify(memberSegmentService, never()).reload();
+    }
+
+    @Test
+    void shouldResumeAfterLastCommittedRow() throws Exception {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        MemberImport failed = memberImportRepository.save(MemberImport.builder()
+                .filename("socios.csv")
+                .status(Status.FAILED)
+                .rowsProcessed(2)
+                .imported(2)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+
+        // When
+        MemberImportReport report = memberImportService.importCsv(csv(CSV), "socios.csv", failed.getId());
+
+        // Then
+        assertEquals(2, report.resumedAfterRow());
+        assertEquals(Status.COMPLETED, report.status());
+        assertEquals(4, report.imported());
+        assertTrue(userRepository.findByEmail("maria@example.com").isEmpty());
+        assertTrue(userRepository.findByEmail("existente@example.com").isPresent());
+    }
+
+    @Test
+    void shouldRejectFileWithoutRequiredColumns() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class,
+                () -> memberImportService.importCsv(csv("nombre,correo\nAna,ana@example.com\n"), "x.csv", null));
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TestConfiguration
+    static class ValidationConfig {
+
+        @Bean
+        LocalValidatorFactoryBean validator() {
+            return new LocalValidatorFactoryBean();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.dto.MemberListItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the in-memory member search index.
+ * Verifies prefix, substring and fuzzy matches and updates.
+ */
+class MemberSearchIndexTest {
+
+    private MemberSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MemberSearchIndex();
+        index.put(member(1L, "María González", "maria.gonzalez@example.com"));
+        index.put(member(2L, "Luis Martínez", "lmartinez@example.com"));
+        index.put(member(3L, "Ana Pérez", "ana@correo.com"));
+    }
+
+    @Test
+    void shouldMatchWordPrefixIgnoringCaseAndAccents() {
+        // When
+        List<MemberListItem> results = index.search("Gonza", 10);
+
+        // Then
+        assertEquals(1, results.size());
+        assertEquals(1L, results.get(0).id());
+    }
+
+    @Test
+    void shouldRankWordPrefixBeforeSubstring() {
+        // When
+        List<MemberListItem> results = index.search("mart", 10);
+
+        // Then
+        assertEquals(List.of(2L), results.stream().map(MemberListItem::id).toList());
+        assertEquals(2L, index.search("artin", 10).get(0).id());
+    }
+
+    @Test
+    void shouldUseTokenPrefixForShortQueries() {
+        // When
+        List<MemberListItem> results = index.search("an", 10);
+
+        // Then
+        assertEquals(List.of(3L), results.stream().map(MemberListItem::id).toList());
+    }
+
+    @Test
+    void shouldKeepOnlyTheBestHitsUpToTheLimit() {
+        // Given
+        index.put(member(4L, "Ángel Ruiz", "angel@example.com"));
+        index.put(member(5L, "Zoe Andrade", "zandrade@example.com"));
+        index.put(member(6L, "Andrés Zapata", "azapata@example.com"));
+
+        // When
+        List<MemberListItem> shortQuery = index.search("an", 2);
+        List<MemberListItem> longQuery = index.search("andr", 1);
+
+        // Then
+        assertEquals(List.of(3L, 5L), shortQuery.stream().map(MemberListItem::id).toList());
+        assertEquals(List.of(6L), longQuery.stream().map(MemberListItem::id).toList());
+    }
+
+    @Test
+    void shouldTolerateTypos() {
+        // When
+        List<MemberListItem> results = index.search("gonzales", 10);
+
+        // Then
+        assertFalse(results.isEmpty());
+        assertEquals(1L, results.get(0).id());
+    }
+
+    @Test
+    void shouldReplaceUpdatedMember() {
+        // Given
+        index.put(member(3L, "Ana Pérez Gómez", "ana.gomez@mail.org"));
+
+        // When
+        List<MemberListItem> byOldEmail = index.search("correo", 10);
+        List<MemberListItem> byNewName = index.search("gomez", 10);
+
+        // Then
+        assertTrue(byOldEmail.isEmpty());
+        assertEquals(1, byNewName.size());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void shouldReclaimRetiredSlotsAfterRepeatedUpdates() {
+        // When
+        for (int i = 0; i < 100; i++) {
+            index.put(member(2L, "Luis Martínez " + i, "lmartinez" + i + "@example.com"));
+        }
+
+        // Then
+        assertTrue(index.slots() <= 4, () -> index.slots() + " slots");
+        assertEquals(3, index.size());
+        List<MemberListItem> updated = index.search("lmartinez9", 10);
+        assertEquals(1, updated.size());
+        assertEquals("Luis Martínez 99", updated.get(0).fullName());
+        assertEquals(List.of(1L), index.search("gonzalez", 10).stream().map(MemberListItem::id).toList());
+    }
+
+    @Test
+    void shouldNotMatchAcrossNameAndEmail() {
+        // Given
+        index.put(member(4L, "Inés López Marín", "ines@example.com"));
+        index.put(member(5L, "Rosa Gómez", "mar@example.com"));
+
+        // When
+        List<MemberListItem> results = index.search("ez mar", 10);
+
+        // Then
+        assertEquals(List.of(4L), results.stream().map(MemberListItem::id).toList());
+    }
+
+    private static MemberListItem member(Long id, String fullName, String email) {
+        return new MemberListItem(id, fullName, email, null, null, null, LocalDateTime.of(2024, 1, 1, 0, 0));
+    }
+}
@@ -0,0 +1,103 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.dto.MemberSegmentRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the in-memory member segment index.
+ * Verifies attribute terms, boolean operators and incremental updates.
+ */
+class MemberSegmentIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 10, 15);
+
+    private MemberSegmentIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MemberSegmentIndex();
+        index.put(member(1L, "ana@example.com", "Mensual", LocalDate.of(1980, 10, 3),
+                LocalDateTime.of(2024, 1, 10, 9, 0), LocalDateTime.of(2024, 3, 1, 12, 0)));
+        index.put(member(2L, "luis@example.com", "Mensual", LocalDate.of(1975, 10, 20),
+                LocalDateTime.of(2024, 2, 5, 9, 0), LocalDateTime.of(2024, 10, 1, 12, 0)));
+        index.put(member(3L, "eva@example.com", "Anual", LocalDate.of(1990, 10, 8),
+                LocalDateTime.of(2024, 6, 1, 9, 0), null));
+        index.put(member(4L, "juan@example.com", null, null,
+                LocalDateTime.of(2023, 12, 1, 9, 0), null));
+    }
+
+    @Test
+    void shouldCombineTermsWithAndOrNot() {
+        // When
+        MemberSegmentIndex.Result lapsedMonthly = index.evaluate(
+                "plan:mensual AND birthMonth:10 AND NOT donatedWithin:90", TODAY, 10);
+        MemberSegmentIndex.Result anyPlanOrOld = index.evaluate(
+                "(plan:anual OR cohort:2023-01..2023-12) and not donor", TODAY, 10);
+
+        // Then
+        assertEquals(List.of(1L), lapsedMonthly.memberIds());
+        assertEquals(List.of(3L, 4L), anyPlanOrOld.memberIds());
+    }
+
+    @Test
+    void shouldMatchRangesAndMembersWithoutPlan() {
+        // When
+        MemberSegmentIndex.Result earlyBirthdays = index.evaluate("birthDay:1..10", TODAY, 10);
+        MemberSegmentIndex.Result noPlan = index.evaluate("plan:none", TODAY, 10);
+
+        // Then
+        assertEquals(List.of(1L, 3L), earlyBirthdays.memberIds());
+        assertEquals(List.of(4L), noPlan.memberIds());
+    }
+
+    @Test
+    void shouldApplyDonationsAndPlanChangesIncrementally() {
+        // Given
+        index.recordDonation("eva@example.com", LocalDateTime.of(2024, 10, 10, 8, 0));
+        index.recordDonation("ana@example.com", LocalDateTime.of(2023, 1, 1, 8, 0));
+        index.updatePlan(2L, "Anual");
+
+        // When
+        MemberSegmentIndex.Result recent = index.evaluate("donatedWithin:30", TODAY, 10);
+        MemberSegmentIndex.Result monthly = index.evaluate("plan:MENSUAL", TODAY, 10);
+
+        // Then
+        assertEquals(List.of(2L, 3L), recent.memberIds());
+        assertEquals(List.of(1L), monthly.memberIds());
+    }
+
+    @Test
+    void shouldReplaceAttributesWhenMemberIsIndexedAgain() {
+        // Given
+        index.put(member(3L, "eva@example.com", "Mensual", LocalDate.of(1990, 4, 8),
+                LocalDateTime.of(2024, 6, 1, 9, 0), null));
+
+        // When
+        MemberSegmentIndex.Result october = index.evaluate("birthMonth:10", TODAY, 1);
+
+        // Then
+        assertEquals(2, october.count());
+        assertEquals(List.of(1L), october.memberIds());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void shouldRejectInvalidExpressions() {
+        assertThrows(IllegalArgumentException.class, () -> index.evaluate("plan:mensual AND", TODAY, 10));
+        assertThrows(IllegalArgumentException.class, () -> index.evaluate("(plan:mensual", TODAY, 10));
+        assertThrows(IllegalArgumentException.class, () -> index.evaluate("birthMonth:13", TODAY, 10));
+        assertThrows(IllegalArgumentException.class, () -> index.evaluate("color:rojo", TODAY, 10));
+    }
+
+    private static MemberSegmentRow member(Long id, String email, String plan, LocalDate birthDate,
+            LocalDateTime createdAt, LocalDateTime lastPaymentAt) {
+        return new MemberSegmentRow(id, email, plan, birthDate, createdAt, lastPaymentAt);
+    }
+}
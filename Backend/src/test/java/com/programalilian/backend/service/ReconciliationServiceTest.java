@@ -0,0 +1,185 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.dto.ReconciliationReport;
+import com.programalilian.backend.repository.DonationRepository;
+import com.programalilian.backend.repository.DonationRepository.TransactionAmount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for settlement reconciliation.
+ * Uses a tiny chunk size so the external sort spills runs to disk.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReconciliationServiceTest {
+
+    @Mock
+    private DonationRepository donationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReconciliationServiceImpl reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        reconciliationService = new ReconciliationServiceImpl(donationRepository, transactionManager, 2, "");
+    }
+
+    @Test
+    void shouldReportMissingExtraAndMismatchedTransactions() throws Exception {
+        // Given
+        String csv = "DATE;SOURCE_ID;TRANSACTION_AMOUNT\n"
+                + "2024-01-05;TXN_D;40,00\n"
+                + "2024-01-01;TXN_A;100,00\n"
+                + "2024-01-03;TXN_C;30,00\n"
+                + "2024-01-02;TXN_B;25,00\n"
+                + "2024-01-06;TXN_C;-5,00\n";
+        when(donationRepository.streamOrderedByTransactionId(any(), any())).thenReturn(Stream.of(
+                donation("TXN_A", "100.00"),
+                donation("TXN_B", "20.00"),
+                donation("TXN_C", "25.00"),
+                donation("TXN_E", "10.00")));
+
+        // When
+        ReconciliationReport report = reconciliationService.reconcile(input(csv), "SOURCE_ID",
+                "TRANSACTION_AMOUNT", "DATE", null, null);
+
+        // Then
+        assertEquals(5, report.providerRows());
+        assertEquals(4, report.donationRows());
+        assertEquals(2, report.matched());
+        assertEquals(1, report.missingCount());
+        assertEquals("TXN_D", report.missing().get(0).transactionId());
+        assertEquals(1, report.extraCount());
+        assertEquals("TXN_E", report.extra().get(0).transactionId());
+        assertEquals(1, report.mismatchCount());
+        assertEquals("TXN_B", report.mismatched().get(0).transactionId());
+        assertEquals(2500, report.mismatched().get(0).providerAmountCents());
+        assertEquals(2000, report.mismatched().get(0).donationAmountCents());
+        assertFalse(report.truncated());
+    }
+
+    @Test
+    void shouldRejectFileWithoutExpectedColumns() {
+        // Given
+        String csv = "id,monto\nTXN_A,100\n";
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> reconciliationService.reconcile(input(csv), "SOURCE_ID", "TRANSACTION_AMOUNT", "DATE",
+                        null, null));
+        assertEquals("Columna no encontrada en el archivo: SOURCE_ID", exception.getMessage());
+    }
+
+    @Test
+    void shouldSkipProviderRowsOutsideTheDayRange() throws Exception {
+        // Given
+        String csv = "TRANSACTION_DATE,SOURCE_ID,TRANSACTION_AMOUNT\n"
+                + "2023-12-31T23:10:00.000-03:00,TXN_OLD,10.00\n"
+                + "2024-01-01T09:00:00.000-03:00,TXN_A,100.00\n"
+                + "02/01/2024,TXN_B,25.00\n"
+                + "2024-01-03,TXN_NEW,10.00\n";
+        when(donationRepository.streamOrderedByTransactionId(any(), any())).thenReturn(Stream.of(
+                donation("TXN_A", "100.00"),
+                donation("TXN_B", "25.00")));
+
+        // When
+        ReconciliationReport report = reconciliationService.reconcile(input(csv), "SOURCE_ID",
+                "TRANSACTION_AMOUNT", "TRANSACTION_DATE", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2));
+
+        // Then
+        assertEquals(2, report.providerRows());
+        assertEquals(2, report.matched());
+        assertEquals(0, report.missingCount());
+        assertEquals(0, report.extraCount());
+    }
+
+    @Test
+    void shouldMergeInBinaryTransactionIdOrder() throws Exception {
+        // Given - donations in binary transaction ID order, as the database returns them
+        String csv = "SOURCE_ID,TRANSACTION_AMOUNT\n"
+                + "txna,40.00\n"
+                + "TXN_1,10.00\n"
+                + "TXN2,20.00\n"
+                + "TXN-3,30.00\n";
+        when(donationRepository.streamOrderedByTransactionId(any(), any())).thenReturn(Stream.of(
+                donation("TXN-3", "30.00"),
+                donation("TXN2", "20.00"),
+                donation("TXN_1", "10.00"),
+                donation("txna", "40.00")));
+
+        // When
+        ReconciliationReport report = reconciliationService.reconcile(input(csv), "SOURCE_ID",
+                "TRANSACTION_AMOUNT", "DATE", null, null);
+
+        // Then
+        assertEquals(4, report.matched());
+        assertEquals(0, report.missingCount());
+        assertEquals(0, report.extraCount());
+    }
+
+    @Test
+    void shouldParseAmountsWithEitherDecimalSeparator() {
+        // When / Then
+        assertEquals(150000, ReconciliationServiceImpl.parseCents("1500", null));
+        assertEquals(150050, ReconciliationServiceImpl.parseCents("1500.50", null));
+        assertEquals(150050, ReconciliationServiceImpl.parseCents("1500,50", null));
+        assertEquals(150050, ReconciliationServiceImpl.parseCents("1,500.50", null));
+        assertEquals(150050, ReconciliationServiceImpl.parseCents("1.500,50", null));
+        assertEquals(150000000, ReconciliationServiceImpl.parseCents("1.500.000", null));
+        assertEquals(-500, ReconciliationServiceImpl.parseCents(" -5,00 ", null));
+    }
+
+    @Test
+    void shouldRejectAmbiguousAmountsUnlessTheSeparatorIsConfigured() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> ReconciliationServiceImpl.parseCents("1,500", null));
+        assertThrows(IllegalArgumentException.class, () -> ReconciliationServiceImpl.parseCents("1.500", null));
+        assertEquals(150000, ReconciliationServiceImpl.parseCents("1,500", '.'));
+        assertEquals(150, ReconciliationServiceImpl.parseCents("1,500", ','));
+        assertEquals(150000, ReconciliationServiceImpl.parseCents("1.500", ','));
+    }
+
+    @Test
+    void shouldSplitQuotedCsvFields() {
+        // When
+        String[] fields = ReconciliationServiceImpl.splitCsvLine("\"TXN,1\",\"say \"\"hi\"\"\",3", ',');
+
+        // Then
+        assertArrayEquals(new String[] { "TXN,1", "say \"hi\"", "3" }, fields);
+    }
+
+    private static InputStream input(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static TransactionAmount donation(String transactionId, String amount) {
+        return new TransactionAmount() {
+            @Override
+            public String getTransactionId() {
+                return transactionId;
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return new BigDecimal(amount);
+            }
+        };
+    }
+}
@@ -0,0 +1,170 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.Donation;
+import com.programalilian.backend.domain.Donation.DonationType;
+import com.programalilian.backend.domain.User;
+import com.programalilian.backend.dto.BulkIngestionResult;
+import com.programalilian.backend.dto.SubscriptionPaymentEvent;
+import com.programalilian.backend.repository.DonationRepository;
+import com.programalilian.backend.repository.DonorSummaryRepository;
+import com.programalilian.backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Integration tests for bulk subscription payment ingestion on H2 (MySQL mode).
+ * Uses a small chunk size so the batch spans several transactions.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(SubscriptionIngestionServiceImpl.class)
+@TestPropertySource(properties = "app.ingestion.chunk-size=2")
+class SubscriptionIngestionServiceTest {
+
+    @Autowired
+    private SubscriptionIngestionService subscriptionIngestionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @SpyBean
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private DonorSummaryRepository donorSummaryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private DonationAnalyticsService donationAnalyticsService;
+
+    @MockBean
+    private DonationTimeSeriesService donationTimeSeriesService;
+
+    @MockBean
+    private MemberCache memberCache;
+
+    @MockBean
+    private MemberSegmentService memberSegmentService;
+
+    @Test
+    void shouldRecordKnownSubscriptionsAndSkipDuplicatesAndUnknown() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        User member = userRepository.save(User.builder()
+                .fullName("Ana Pérez")
+                .email("Ana@Example.com")
+                .subscriptionId("SUB_1")
+                .subscriptionPlan("Mensual")
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        donationRepository.save(Donation.builder()
+                .amount(new BigDecimal("1500.00"))
+                .transactionId("TXN_OLD")
+                .type(DonationType.SUBSCRIPTION)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        entityManager.flush();
+
+        LocalDateTime paidAt = LocalDateTime.of(2024, 5, 1, 10, 0);
+        List<SubscriptionPaymentEvent> events = List.of(
+                new SubscriptionPaymentEvent("SUB_1", "TXN_1", new BigDecimal("1500.00"), paidAt),
+                new SubscriptionPaymentEvent("SUB_1", "TXN_OLD", new BigDecimal("1500.00"), paidAt),
+                new SubscriptionPaymentEvent("SUB_UNKNOWN", "TXN_2", new BigDecimal("1500.00"), paidAt),
+                new SubscriptionPaymentEvent("SUB_1", "TXN_1", new BigDecimal("1500.00"), paidAt),
+                new SubscriptionPaymentEvent("SUB_1", "TXN_3", new BigDecimal("1500.00"), paidAt.plusMonths(1)));
+
+        // When
+        BulkIngestionResult result = subscriptionIngestionService.ingest(events);
+        entityManager.clear();
+
+        // Then
+        assertEquals(5, result.received());
+        assertEquals(2, result.recorded());
+        assertEquals(2, result.duplicates());
+        assertEquals(0, result.failed());
+        assertEquals(List.of("SUB_UNKNOWN"), result.unknownSubscriptionIds());
+
+        Donation recorded = donationRepository.findByTransactionId("TXN_3").orElseThrow();
+        assertEquals(DonationType.SUBSCRIPTION, recorded.getType());
+        assertEquals("Ana Pérez", recorded.getDonorName());
+        assertEquals(paidAt.plusMonths(1), userRepository.findById(member.getId()).orElseThrow().getLastPaymentAt());
+        assertEquals(2, donorSummaryRepository.findById("ana@example.com").orElseThrow().getDonationCount());
+        verify(donationAnalyticsService, times(2)).record(argThat(d -> d.getId() != null
+                && d.getId().equals(donationRepository.findByTransactionId(d.getTransactionId()).orElseThrow().getId())));
+        verify(donationTimeSeriesService).evictDay(paidAt.toLocalDate());
+        verify(donationTimeSeriesService).evictDay(paidAt.plusMonths(1).toLocalDate());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldRetryChunkThatLostARaceAndKeepCommittedCounts() {
+        // Given - the existence check misses a payment another batch committed meanwhile
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime paidAt = LocalDateTime.of(2024, 6, 1, 10, 0);
+        userRepository.save(User.builder()
+                .fullName("Luis Gómez")
+                .email("luis@example.com")
+                .subscriptionId("SUB_RACE")
+                .subscriptionPlan("Mensual")
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        donationRepository.save(Donation.builder()
+                .amount(new BigDecimal("1500.00"))
+                .transactionId("TXN_RACE")
+                .type(DonationType.SUBSCRIPTION)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        doReturn(Set.of()).doReturn(Set.of("TXN_RACE")).doReturn(Set.of())
+                .when(donationRepository).findExistingTransactionIds(any());
+        List<SubscriptionPaymentEvent> events = List.of(
+                new SubscriptionPaymentEvent("SUB_RACE", "TXN_FIRST", new BigDecimal("1500.00"), paidAt),
+                new SubscriptionPaymentEvent("SUB_RACE", "TXN_RACE", new BigDecimal("1500.00"), paidAt),
+                new SubscriptionPaymentEvent("SUB_RACE", "TXN_LAST", new BigDecimal("1500.00"), paidAt));
+
+        try {
+            // When
+            BulkIngestionResult result = subscriptionIngestionService.ingest(events);
+
+            // Then
+            assertEquals(2, result.recorded());
+            assertEquals(1, result.duplicates());
+            assertEquals(0, result.failed());
+            assertTrue(donationRepository.findByTransactionId("TXN_FIRST").isPresent());
+            assertTrue(donationRepository.findByTransactionId("TXN_LAST").isPresent());
+            assertEquals(2, donorSummaryRepository.findById("luis@example.com").orElseThrow().getDonationCount());
+        } finally {
+            donationRepository.deleteAll();
+            donorSummaryRepository.deleteAll();
+            userRepository.deleteAll();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.programalilian.backend.service;
+
+import com.programalilian.backend.domain.User;
+import com.programalilian.backend.dto.SubscriptionStatusUpdate;
+import com.programalilian.backend.dto.SubscriptionSyncResult;
+import com.programalilian.backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for subscription status sync and the single-statement
+ * subscription update on H2. Uses a small chunk size so the batch spans
+ * several transactions.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(SubscriptionSyncServiceImpl.class)
+@TestPropertySource(properties = "app.ingestion.chunk-size=2")
+class SubscriptionSyncServiceTest {
+
+    @Autowired
+    private SubscriptionSyncService subscriptionSyncService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private MemberCache memberCache;
+
+    @MockBean
+    private MemberSegmentService memberSegmentService;
+
+    @Test
+    void shouldUpdateOnlyChangedSubscriptions() {
+        // Given
+        User ana = member("ana@example.com", "SUB_ANA", "Mensual", "authorized");
+        User luis = member("luis@example.com", "SUB_LUIS", "Anual", "authorized");
+        User eva = member("eva@example.com", "SUB_EVA", "Mensual", "authorized");
+
+        // When
+        SubscriptionSyncResult result = subscriptionSyncService.sync(List.of(
+                new SubscriptionStatusUpdate("SUB_ANA", "CANCELLED", null),
+                new SubscriptionStatusUpdate("SUB_LUIS", "authorized", null),
+                new SubscriptionStatusUpdate("SUB_EVA", "authorized", "Trimestral"),
+                new SubscriptionStatusUpdate("SUB_NONE", "paused", null)));
+        entityManager.clear();
+
+        // Then
+        assertEquals(4, result.received());
+        assertEquals(2, result.updated());
+        assertEquals(1, result.unchanged());
+        assertEquals(List.of("SUB_NONE"), result.unknownSubscriptionIds());
+        assertEquals("cancelled", userRepository.findById(ana.getId()).orElseThrow().getSubscriptionStatus());
+        assertEquals("Mensual", userRepository.findById(ana.getId()).orElseThrow().getSubscriptionPlan());
+        assertEquals("Trimestral", userRepository.findById(eva.getId()).orElseThrow().getSubscriptionPlan());
+        assertEquals(luis.getUpdatedAt(), userRepository.findById(luis.getId()).orElseThrow().getUpdatedAt());
+    }
+
+    @Test
+    void shouldUpdateSubscriptionWithSingleStatement() {
+        // Given
+        User ana = member("ana@example.com", null, "Mensual", null);
+
+        // When
+        int updated = userRepository.updateSubscription(ana.getId(), "SUB_NEW", null, LocalDateTime.now());
+        int missing = userRepository.updateSubscription(-1L, "SUB_X", "Anual", LocalDateTime.now());
+        entityManager.clear();
+
+        // Then
+        assertEquals(1, updated);
+        assertEquals(0, missing);
+        User reloaded = userRepository.findById(ana.getId()).orElseThrow();
+        assertEquals("SUB_NEW", reloaded.getSubscriptionId());
+        assertEquals("Mensual", reloaded.getSubscriptionPlan());
+    }
+
+    private User member(String email, String subscriptionId, String plan, String status) {
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 0, 0);
+        return userRepository.saveAndFlush(User.builder()
+                .fullName(email)
+                .email(email)
+                .subscriptionId(subscriptionId)
+                .subscriptionPlan(plan)
+                .subscriptionStatus(status)
+                .createdAt(created)
+                .updatedAt(created)
+                .build());
+    }
+}
@@ -3,17 +3,23 @@ package com.programalilian.backend.service;
 import com.programalilian.backend.domain.User;
 import com.programalilian.backend.dto.CreateMemberRequest;
 import com.programalilian.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -26,6 +32,22 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private EmailOutboxService emailOutboxService;
+
+    @Mock
+    private MemberSearchService memberSearchService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private MemberSegmentService memberSegmentService;
+
+    @Spy
+    private MemberCache memberCache = new MemberCache(new SimpleMeterRegistry(), true, 100,
+            Duration.ofMinutes(5), Duration.ofSeconds(30));
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -43,8 +65,7 @@ class UserServiceTest {
                 .build();
         savedUser.setId(1L);
 
-        when(userRepository.existsByEmail("maria@example.com")).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(savedUser);
 
         // When
         User result = userService.createMember(request);
@@ -54,7 +75,10 @@ class UserServiceTest {
         assertEquals("María González", result.getFullName());
         assertEquals("maria@example.com", result.getEmail());
         assertEquals(1L, result.getId());
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(userRepository, never()).existsByEmail(any());
+        verify(emailOutboxService).enqueueWelcomeEmail(savedUser);
+        verify(eventPublisher).publishEvent(new MemberRegisteredEvent(savedUser));
     }
 
     @Test
@@ -63,14 +87,16 @@ class UserServiceTest {
         CreateMemberRequest request = new CreateMemberRequest(
                 "María González", "existing@example.com", null, null);
 
-        when(userRepository.existsByEmail("existing@example.com")).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "Duplicate entry 'existing@example.com' for key 'users.uk_users_email_canonical'"));
 
         // When & Then
         IllegalStateException exception = assertThrows(IllegalStateException.class,
                 () -> userService.createMember(request));
 
         assertEquals("El email ya está registrado", exception.getMessage());
-        verify(userRepository, never()).save(any(User.class));
+        verify(emailOutboxService, never()).enqueueWelcomeEmail(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -82,7 +108,7 @@ class UserServiceTest {
                 .email(email)
                 .build();
 
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+        when(userRepository.findByEmailCanonical(email)).thenReturn(Optional.of(user));
 
         // When
         Optional<User> result = userService.findByEmail(email);
@@ -98,7 +124,7 @@ class UserServiceTest {
         // Given
         String email = "notfound@example.com";
 
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+        when(userRepository.findByEmailCanonical(email)).thenReturn(Optional.empty());
 
         // When
         Optional<User> result = userService.findByEmail(email);
@@ -143,4 +169,16 @@ class UserServiceTest {
         assertEquals("Usuario no encontrado: 999", exception.getMessage());
         verify(userRepository, never()).save(any(User.class));
     }
+
+    @Test
+    void shouldThrowExceptionWhenSingleStatementSubscriptionUpdateMatchesNoUser() {
+        // Given
+        when(userRepository.updateSubscription(eq(99L), eq("MP_SUB_99"), eq("Anual"), any())).thenReturn(0);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.updateSubscription(99L, "MP_SUB_99", "Anual"));
+        verify(userRepository, never()).findById(any());
+        verify(userRepository, never()).save(any(User.class));
+    }
 }
@@ -46,7 +46,7 @@ interface ContentItem {
   buttonUrl1?: string;
   buttonText2?: string;
   buttonUrl2?: string;
-  imageData?: string;
+  hasImage?: boolean;
   imageType?: string;
   date?: string;
   published: boolean;
@@ -279,7 +279,7 @@ export default function ContentManagementPage() {
                           <Badge variant="outline">
                             {getSectionLabel(content.section)}
                           </Badge>
-                          {content.imageData && (
+                          {content.hasImage && (
                             <Badge variant="outline" className="text-green-600">
                               <CheckCircle className="h-3 w-3 mr-1" />
                               Con imagen
@@ -422,7 +422,7 @@ export default function ContentManagementPage() {
                 </div>
               )}
 
-              {selectedContent.imageData && (
+              {selectedContent.hasImage && (
                 <div>
                   <Label className="text-sm font-medium">Imagen</Label>
                   <div className="mt-2">
@@ -20,23 +20,58 @@ interface Donation {
   updatedAt: string;
 }
 
+interface DonationSummary {
+  count: number;
+  totalCents: number;
+  oneTimeCount: number;
+  subscriptionCount: number;
+}
+
+const PAGE_SIZE = 50;
+
+const isoDate = (date: Date) => date.toISOString().slice(0, 10);
+
 export default function DonationsAdminPage() {
   const { toast } = useToast();
   const [donations, setDonations] = useState<Donation[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [summary, setSummary] = useState<DonationSummary | null>(null);
+  const [weekCount, setWeekCount] = useState(0);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState<string | null>(null);
   const [searchTerm, setSearchTerm] = useState('');
   const [filterType, setFilterType] = useState<string>('all');
-  const [currentPage, setCurrentPage] = useState(1);
-  const donationsPerPage = 15;
+
+  // Keyset paging: the server skips the total count and returns X-Next-Cursor while more rows follow
+  const fetchPage = async (cursor: string) => {
+    const params = new URLSearchParams({ cursor, size: String(PAGE_SIZE) });
+    if (filterType !== 'all') params.set('type', filterType);
+    const response = await fetch(`${API_BASE_URL}/api/admin/donations?${params}`);
+    if (!response.ok) throw new Error('Error al cargar donaciones');
+    const data: Donation[] = await response.json();
+    return { data, next: response.headers.get('X-Next-Cursor') };
+  };
+
+  // Headline figures cover every donation, so they come from the analytics endpoint
+  const fetchSummary = async () => {
+    const weekAgo = new Date();
+    weekAgo.setDate(weekAgo.getDate() - 7);
+    const [all, week] = await Promise.all([
+      fetch(`${API_BASE_URL}/api/admin/donations/analytics`),
+      fetch(`${API_BASE_URL}/api/admin/donations/analytics?from=${isoDate(weekAgo)}`),
+    ]);
+    if (!all.ok || !week.ok) throw new Error('Error al cargar estadísticas');
+    setSummary(await all.json());
+    setWeekCount((await week.json()).count);
+  };
 
   const fetchDonations = async () => {
     try {
       setLoading(true);
-      const response = await fetch(`${API_BASE_URL}/api/admin/donations`);
-      if (!response.ok) throw new Error('Error al cargar donaciones');
-      const data = await response.json();
+      const [{ data, next }] = await Promise.all([fetchPage(''), fetchSummary()]);
       setDonations(data);
+      setNextCursor(next);
       setError(null);
     } catch (err) {
       console.error('Error fetching donations:', err);
@@ -51,37 +86,37 @@ export default function DonationsAdminPage() {
     }
   };
 
+  const loadMore = async () => {
+    if (!nextCursor) return;
+    try {
+      setLoadingMore(true);
+      const { data, next } = await fetchPage(nextCursor);
+      setDonations(prev => [...prev, ...data]);
+      setNextCursor(next);
+    } catch (err) {
+      console.error('Error fetching donations:', err);
+      toast({
+        title: "Error",
+        description: "No se pudieron cargar más donaciones",
+        variant: "destructive",
+      });
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   useEffect(() => {
     fetchDonations();
-  }, []);
-
-  const filteredDonations = donations.filter(donation => {
-    const matchesSearch =
-      donation.donorName?.toLowerCase().includes(searchTerm.toLowerCase()) ||
-      donation.email?.toLowerCase().includes(searchTerm.toLowerCase()) ||
-      donation.transactionId?.toLowerCase().includes(searchTerm.toLowerCase()) ||
-      donation.amount.toString().includes(searchTerm);
-
-    const matchesType = filterType === 'all' || donation.type === filterType;
-
-    return matchesSearch && matchesType;
-  });
+  }, [filterType]);
 
-  const totalPages = Math.ceil(filteredDonations.length / donationsPerPage);
-  const paginatedDonations = filteredDonations.slice(
-    (currentPage - 1) * donationsPerPage,
-    currentPage * donationsPerPage
+  // The text search only narrows the donations already loaded
+  const filteredDonations = donations.filter(donation =>
+    donation.donorName?.toLowerCase().includes(searchTerm.toLowerCase()) ||
+    donation.email?.toLowerCase().includes(searchTerm.toLowerCase()) ||
+    donation.transactionId?.toLowerCase().includes(searchTerm.toLowerCase()) ||
+    donation.amount.toString().includes(searchTerm)
   );
 
-  const totalAmount = donations.reduce((sum, donation) => sum + donation.amount, 0);
-  const oneTimeDonations = donations.filter(d => d.type === 'ONE_TIME');
-  const subscriptionDonations = donations.filter(d => d.type === 'SUBSCRIPTION');
-  const recentDonations = donations.filter(d => {
-    const weekAgo = new Date();
-    weekAgo.setDate(weekAgo.getDate() - 7);
-    return new Date(d.createdAt) > weekAgo;
-  });
-
   if (loading) {
     return (
       <div className="container mx-auto py-16 text-center">
@@ -121,7 +156,7 @@ export default function DonationsAdminPage() {
             <DollarSign className="h-4 w-4 text-muted-foreground" />
           </CardHeader>
           <CardContent>
-            <div className="text-2xl font-bold">{donations.length}</div>
+            <div className="text-2xl font-bold">{summary?.count ?? 0}</div>
             <p className="text-xs text-muted-foreground">
               Registradas en el sistema
             </p>
@@ -134,7 +169,7 @@ export default function DonationsAdminPage() {
             <TrendingUp className="h-4 w-4 text-muted-foreground" />
           </CardHeader>
           <CardContent>
-            <div className="text-2xl font-bold">${totalAmount.toFixed(2)}</div>
+            <div className="text-2xl font-bold">${((summary?.totalCents ?? 0) / 100).toFixed(2)}</div>
             <p className="text-xs text-muted-foreground">
               Recaudado en total
             </p>
@@ -147,7 +182,7 @@ export default function DonationsAdminPage() {
             <CreditCard className="h-4 w-4 text-muted-foreground" />
           </CardHeader>
           <CardContent>
-            <div className="text-2xl font-bold">{oneTimeDonations.length}</div>
+            <div className="text-2xl font-bold">{summary?.oneTimeCount ?? 0}</div>
             <p className="text-xs text-muted-foreground">
               Donaciones puntuales
             </p>
@@ -160,7 +195,7 @@ export default function DonationsAdminPage() {
             <Calendar className="h-4 w-4 text-muted-foreground" />
           </CardHeader>
           <CardContent>
-            <div className="text-2xl font-bold">{recentDonations.length}</div>
+            <div className="text-2xl font-bold">{weekCount}</div>
             <p className="text-xs text-muted-foreground">
               Donaciones recientes
             </p>
@@ -173,7 +208,7 @@ export default function DonationsAdminPage() {
         <CardHeader>
           <CardTitle>Búsqueda de Donaciones</CardTitle>
           <CardDescription>
-            Busca por nombre del donante, email, ID de transacción o monto
+            Busca por nombre del donante, email, ID de transacción o monto entre las donaciones cargadas
           </CardDescription>
         </CardHeader>
         <CardContent>
@@ -206,7 +241,7 @@ export default function DonationsAdminPage() {
       {/* Donations List */}
       <Card>
         <CardHeader>
-          <CardTitle>Lista de Donaciones ({filteredDonations.length})</CardTitle>
+          <CardTitle>Lista de Donaciones ({filteredDonations.length}{nextCursor ? '+' : ''})</CardTitle>
           <CardDescription>
             {searchTerm || filterType !== 'all'
               ? 'Resultados filtrados'
@@ -214,7 +249,7 @@ export default function DonationsAdminPage() {
           </CardDescription>
         </CardHeader>
         <CardContent>
-          {paginatedDonations.length === 0 ? (
+          {filteredDonations.length === 0 ? (
             <p className="text-muted-foreground text-center py-8">
               {searchTerm || filterType !== 'all'
                 ? 'No se encontraron donaciones que coincidan con los filtros'
@@ -223,7 +258,7 @@ export default function DonationsAdminPage() {
           ) : (
             <>
               <div className="space-y-4">
-                {paginatedDonations.map((donation) => (
+                {filteredDonations.map((donation) => (
                   <div key={donation.id} className="flex items-center justify-between p-4 border rounded-lg hover:bg-muted/50 transition-colors">
                     <div className="flex flex-col gap-1">
                       <div className="flex items-center gap-2">
@@ -262,27 +297,16 @@ export default function DonationsAdminPage() {
                 ))}
               </div>
 
-              {/* Pagination */}
-              {totalPages > 1 && (
-                <div className="flex justify-center gap-2 mt-6">
-                  <Button
-                    variant="outline"
-                    size="sm"
-                    onClick={() => setCurrentPage(prev => Math.max(prev - 1, 1))}
-                    disabled={currentPage === 1}
-                  >
-                    Anterior
-                  </Button>
-                  <span className="px-3 py-1 text-sm text-muted-foreground flex items-center">
-                    Página {currentPage} de {totalPages}
-                  </span>
+              {/* Load more */}
+              {nextCursor && (
+                <div className="flex justify-center mt-6">
                   <Button
                     variant="outline"
                     size="sm"
-                    onClick={() => setCurrentPage(prev => Math.min(prev + 1, totalPages))}
-                    disabled={currentPage === totalPages}
+                    onClick={loadMore}
+                    disabled={loadingMore}
                   >
-                    Siguiente
+                    {loadingMore ? 'Cargando...' : 'Cargar más'}
                   </Button>
                 </div>
               )}
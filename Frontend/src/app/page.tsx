@@ -23,7 +23,7 @@ interface ContentItem {
   buttonUrl1?: string;
   buttonText2?: string;
   buttonUrl2?: string;
-  imageData?: string;
+  hasImage?: boolean;
   imageType?: string;
   date?: string;
   published: boolean;
@@ -263,7 +263,7 @@ export default function Home() {
               // Render unified content from API
               upcomingContent.map((item) => (
                 <Card key={item.id} className="text-left overflow-hidden">
-                  {item.imageData && (
+                  {item.hasImage && (
                     <Image
                       src={`${API_BASE_URL}/api/content/image/${item.id}`}
                       alt={item.title || 'Publicación'}
@@ -279,7 +279,7 @@ export default function Home() {
                       }}
                     />
                   )}
-                  {!item.imageData && eventImages[0] && (
+                  {!item.hasImage && eventImages[0] && (
                     <Image src={eventImages[0].imageUrl} alt={eventImages[0].description} data-ai-hint={eventImages[0].imageHint} width={600} height={400} className="w-full h-48 object-cover"/>
                   )}
                   <CardHeader>
@@ -352,7 +352,7 @@ export default function Home() {
                 <Card key={post.id} className="overflow-hidden group">
                   <CardContent className="p-0">
                     <div className="relative">
-                      {post.imageData && (
+                      {post.hasImage && (
                         <Image
                           src={`${API_BASE_URL}/api/content/image/${post.id}`}
                           alt={post.title || 'Publicación'}
@@ -368,7 +368,7 @@ export default function Home() {
                           }}
                         />
                       )}
-                      {!post.imageData && socialImages[0] && (
+                      {!post.hasImage && socialImages[0] && (
                         <Image
                           src={socialImages[0].imageUrl}
                           alt={socialImages[0].description}
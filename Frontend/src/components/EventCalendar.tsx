@@ -68,7 +68,7 @@ interface EventData {
   content?: string;
   date?: string;
   section: string;
-  imageData?: string;
+  hasImage?: boolean;
   buttonText1?: string;
   buttonUrl1?: string;
   createdAt?: string;